@@ -33,7 +33,6 @@ import au.com.integradev.delphi.compiler.Toolchain;
 import au.com.integradev.delphi.file.DelphiFile;
 import au.com.integradev.delphi.file.DelphiFile.DelphiInputFile;
 import au.com.integradev.delphi.preprocessor.DelphiPreprocessorFactory;
-import au.com.integradev.delphi.preprocessor.directive.CompilerDirectiveParserImpl;
 import au.com.integradev.delphi.preprocessor.search.SearchPath;
 import au.com.integradev.delphi.reporting.TextRangeReplacement;
 import au.com.integradev.delphi.reporting.edits.QuickFixEditImpl;
@@ -406,10 +405,6 @@ public class CheckVerifierImpl implements CheckVerifier {
     var sensorContext = SensorContextTester.create(FileUtils.getTempDirectory());
     sensorContext.settings().setProperty(DelphiProperties.TEST_TYPE_KEY, "Test.TTestSuite");
 
-    var compilerDirectiveParser =
-        new CompilerDirectiveParserImpl(
-            Platform.WINDOWS, file.getTextBlockLineEndingModeRegistry());
-
     var checkRegistrar = mock(MasterCheckRegistrar.class);
     when(checkRegistrar.getRuleKey(check))
         .thenReturn(Optional.of(RuleKey.of("test", check.getClass().getSimpleName())));
@@ -417,7 +412,7 @@ public class CheckVerifierImpl implements CheckVerifier {
 
     var context =
         new DelphiCheckContextTester(
-            check, sensorContext, file, compilerDirectiveParser, checkRegistrar);
+            check, sensorContext, file, file.getCompilerDirectiveCache(), checkRegistrar);
 
     check.start(context);
     check.visit(file.getAst(), context);
@@ -31,6 +31,7 @@ import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.plugins.communitydelphi.api.ast.DelphiAst;
 import org.sonar.plugins.communitydelphi.api.check.DelphiCheck;
 import org.sonar.plugins.communitydelphi.api.check.DelphiCheckContext;
+import org.sonar.plugins.communitydelphi.api.directive.CompilerDirective;
 import org.sonar.plugins.communitydelphi.api.directive.CompilerDirectiveParser;
 import org.sonar.plugins.communitydelphi.api.reporting.DelphiIssueBuilder;
 import org.sonar.plugins.communitydelphi.api.reporting.QuickFix;
@@ -83,6 +84,11 @@ class DelphiCheckContextTester implements DelphiCheckContext {
     return compilerDirectiveParser;
   }
 
+  @Override
+  public List<CompilerDirective> getCompilerDirectives() {
+    return delphiFile.getCompilerDirectiveCache().getDirectives();
+  }
+
   @Override
   public TypeFactory getTypeFactory() {
     return delphiFile.getTypeFactory();
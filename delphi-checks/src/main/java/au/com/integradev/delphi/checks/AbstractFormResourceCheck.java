@@ -18,7 +18,6 @@
  */
 package au.com.integradev.delphi.checks;
 
-import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
 import org.sonar.plugins.communitydelphi.api.ast.DelphiAst;
 import org.sonar.plugins.communitydelphi.api.ast.DelphiNode;
@@ -27,7 +26,6 @@ import org.sonar.plugins.communitydelphi.api.check.DelphiCheck;
 import org.sonar.plugins.communitydelphi.api.check.DelphiCheckContext;
 import org.sonar.plugins.communitydelphi.api.directive.CompilerDirective;
 import org.sonar.plugins.communitydelphi.api.directive.ResourceDirective;
-import org.sonar.plugins.communitydelphi.api.token.DelphiToken;
 import org.sonar.plugins.communitydelphi.api.type.Type;
 
 abstract class AbstractFormResourceCheck extends DelphiCheck {
@@ -41,11 +39,7 @@ abstract class AbstractFormResourceCheck extends DelphiCheck {
 
   @Override
   public DelphiCheckContext visit(DelphiAst ast, DelphiCheckContext context) {
-    if (context.getTokens().stream()
-        .filter(DelphiToken::isCompilerDirective)
-        .map(token -> context.getCompilerDirectiveParser().parse(token))
-        .flatMap(Optional::stream)
-        .anyMatch(this::isFormResource)) {
+    if (context.getCompilerDirectives().stream().anyMatch(this::isFormResource)) {
       return context;
     }
     return super.visit(ast, context);
@@ -1,7 +1,10 @@
 grammar Delphi;
 
 options {
-  backtrack=true;
+  // Backtracking is only enabled on the decisions that LL(*) lookahead can't make, with
+  // `options { backtrack=true; }` on the rule or subrule that owns the decision.
+  // Rules that only ever match a single token opt out with `options { memoize=false; }`, since
+  // re-matching the token while backtracking is cheaper than a memo table lookup and entry.
   memoize=true;
   output=AST;
 }
@@ -134,6 +137,16 @@ package au.com.integradev.delphi.antlr;
     this.shouldSkipImplementation = shouldSkipImplementation;
   }
 
+  @Override
+  public void traceIn(String ruleName, int ruleIndex) {
+    // Rules are traced for the parser profiler, which doesn't profile the lexer.
+  }
+
+  @Override
+  public void traceOut(String ruleName, int ruleIndex) {
+    // Rules are traced for the parser profiler, which doesn't profile the lexer.
+  }
+
   @Override
   public void reportError(RecognitionException e) {
     String hdr = this.getErrorHeader(e);
@@ -315,6 +328,44 @@ package au.com.integradev.delphi.antlr;
 }
 
 @parser::members {
+  private ParserProfiler profiler;
+
+  public void setProfiler(ParserProfiler profiler) {
+    this.profiler = profiler;
+  }
+
+  @Override
+  public void traceIn(String ruleName, int ruleIndex) {
+    if (profiler != null) {
+      profiler.enterRule(ruleName, ruleIndex, state.backtracking);
+    }
+  }
+
+  @Override
+  public void traceOut(String ruleName, int ruleIndex) {
+    if (profiler != null) {
+      profiler.exitRule();
+    }
+  }
+
+  @Override
+  public boolean alreadyParsedRule(IntStream input, int ruleIndex) {
+    boolean result = super.alreadyParsedRule(input, ruleIndex);
+    if (result && profiler != null) {
+      profiler.memoHit();
+    }
+    return result;
+  }
+
+  @Override
+  public void memoize(IntStream input, int ruleIndex, int ruleStartIndex) {
+    super.memoize(input, ruleIndex, ruleStartIndex);
+    if (profiler != null) {
+      java.util.Map<Integer, Integer> memo = state.ruleMemo[ruleIndex];
+      profiler.memoized(ruleIndex, memo == null ? 0 : memo.size());
+    }
+  }
+
   private Token changeTokenType(int type) {
     return changeTokenType(type, -1);
   }
@@ -445,7 +496,8 @@ localDeclSection             : declSection+ -> ^(TkLocalDeclarations<LocalDeclar
 blockBody                    : compoundStatement
                              | assemblerStatement
                              ;
-declSection                  : labelDeclSection
+declSection                  options { backtrack=true; }
+                             : labelDeclSection
                              | constSection
                              | typeSection
                              | varSection
@@ -453,7 +505,8 @@ declSection                  : labelDeclSection
                              | exportsSection
                              | attributeList
                              ;
-interfaceDecl                : constSection
+interfaceDecl                options { backtrack=true; }
+                             : constSection
                              | typeSection
                              | varSection
                              | exportsSection
@@ -462,7 +515,7 @@ interfaceDecl                : constSection
                              ;
 labelDeclSection             : LABEL<LabelDeclarationNodeImpl>^ labelNameDeclaration (',' labelNameDeclaration)* ';'
                              ;
-constSection                 : (CONST<ConstSectionNodeImpl>^ | RESOURCESTRING<ConstSectionNodeImpl>^) constDeclaration*
+constSection                 : (CONST<ConstSectionNodeImpl>^ | RESOURCESTRING<ConstSectionNodeImpl>^) (options { backtrack=true; } : constDeclaration)*
                              // constSection was changed at some point from "constDeclaration+" to "constDeclaration*" to cater to invalid includes
                              // example: "const {$include versioninfo.inc}"
                              // Is this really the appropriate solution?
@@ -470,16 +523,16 @@ constSection                 : (CONST<ConstSectionNodeImpl>^ | RESOURCESTRING<Co
 constDeclaration             : attributeList? nameDeclaration (':' varType)? '=' constExpression portabilityDirective* ';'
                              -> ^(TkConstDeclaration<ConstDeclarationNodeImpl> nameDeclaration constExpression varType? attributeList? portabilityDirective*)
                              ;
-typeSection                  : TYPE<TypeSectionNodeImpl>^ typeDeclaration+
+typeSection                  : TYPE<TypeSectionNodeImpl>^ (options { backtrack=true; } : typeDeclaration)+
                              ;
-innerTypeSection             : TYPE<TypeSectionNodeImpl>^ typeDeclaration*
+innerTypeSection             : TYPE<TypeSectionNodeImpl>^ (options { backtrack=true; } : typeDeclaration)*
                              ;
 typeDeclaration              : attributeList? genericNameDeclaration '=' typeDecl portabilityDirective* ';'
                              -> ^(TkTypeDeclaration<TypeDeclarationNodeImpl> genericNameDeclaration typeDecl attributeList? portabilityDirective*)
                              ;
-varSection                   : (VAR<VarSectionNodeImpl>^ | THREADVAR<VarSectionNodeImpl>^) varDeclaration varDeclaration*
+varSection                   : (VAR<VarSectionNodeImpl>^ | THREADVAR<VarSectionNodeImpl>^) varDeclaration (options { backtrack=true; } : varDeclaration)*
                              ;
-varDeclaration               : attributeList? nameDeclarationList ':' varType portabilityDirective* varValueSpec? portabilityDirective* ';'
+varDeclaration               : attributeList? nameDeclarationList ':' varType (options { backtrack=true; } : portabilityDirective)* varValueSpec? portabilityDirective* ';'
                              -> ^(TkVarDeclaration<VarDeclarationNodeImpl> nameDeclarationList varType varValueSpec? attributeList?)
                              ;
 varValueSpec                 : ABSOLUTE constExpression
@@ -493,7 +546,8 @@ exportItem                   : ('(' formalParameterList ')')? (INDEX expression)
 //----------------------------------------------------------------------------
 // Types
 //----------------------------------------------------------------------------
-typeDecl                     : arrayType
+typeDecl                     options { backtrack=true; }
+                             : arrayType
                              | setType
                              | fullFileType
                              | classHelperType
@@ -513,7 +567,8 @@ typeDecl                     : arrayType
                              | enumType
                              | PACKED typeDecl^
                              ;
-varType                      : arrayType
+varType                      options { backtrack=true; }
+                             : arrayType
                              | setType
                              | fullStringType
                              | fullFileType
@@ -534,10 +589,12 @@ parameterType                : stringType
 arrayType                    :  ARRAY arrayIndices? OF arrayElementType
                              -> ^(ARRAY<ArrayTypeNodeImpl> OF arrayElementType arrayIndices? )
                              ;
-lbrack                       : '['
+lbrack                       options { memoize=false; }
+                             : '['
                              | '(.'
                              ;
-rbrack                       : ']'
+rbrack                       options { memoize=false; }
+                             : ']'
                              | '.)'
                              ;
 arrayIndices                 : lbrack (varType ','?)+ rbrack
@@ -556,20 +613,21 @@ pointerType                  : '^'<PointerTypeNodeImpl>^ varType
                              ;
 stringType                   : STRING<StringTypeNodeImpl>^
                              ;
-fullStringType               : STRING<StringTypeNodeImpl>^ (lbrack expression rbrack)?
+fullStringType               : STRING<StringTypeNodeImpl>^ (options { backtrack=true; } : lbrack expression rbrack)?
                              ;
-procedureType                : procedureOfObject
+procedureType                options { backtrack=true; }
+                             : procedureOfObject
                              | procedureReference
                              | simpleProcedureType
                              ;
-procedureOfObject            : procedureTypeHeading OF OBJECT<ProcedureOfObjectTypeNodeImpl>^ ((';')? interfaceDirective)*
+procedureOfObject            : procedureTypeHeading OF OBJECT<ProcedureOfObjectTypeNodeImpl>^ (options { backtrack=true; } : (';')? interfaceDirective)*
                              ;
 procedureReference           : REFERENCE<ProcedureReferenceTypeNodeImpl>^ TO! procedureTypeHeading
                              ;
 simpleProcedureType          : procedureTypeHeading -> ^(TkProcedureType<ProcedureTypeNodeImpl> procedureTypeHeading)
                              ;
-procedureTypeHeading         : FUNCTION<ProcedureTypeHeadingNodeImpl>^ routineParameters? routineReturnType? ((';')? interfaceDirective)*
-                             | PROCEDURE<ProcedureTypeHeadingNodeImpl>^ routineParameters? ((';')? interfaceDirective)*
+procedureTypeHeading         : FUNCTION<ProcedureTypeHeadingNodeImpl>^ (options { backtrack=true; } : routineParameters)? routineReturnType? (options { backtrack=true; } : (';')? interfaceDirective)*
+                             | PROCEDURE<ProcedureTypeHeadingNodeImpl>^ (options { backtrack=true; } : routineParameters)? (options { backtrack=true; } : (';')? interfaceDirective)*
                              ;
 typeOfType                   : TYPE<TypeOfTypeNodeImpl>^ OF typeDecl
                              ;
@@ -603,7 +661,8 @@ classReferenceType           : CLASS<ClassReferenceTypeNodeImpl>^ OF typeReferen
 classType                    : CLASS classState? classParent? (visibilitySection* END)?
                              -> ^(CLASS<ClassTypeNodeImpl> classParent? classState? (visibilitySection* END)?)
                              ;
-classState                   : SEALED
+classState                   options { memoize=false; }
+                             : SEALED
                              | ABSTRACT
                              ;
 classParent                  : '(' typeReference (',' typeReference)* ')'
@@ -611,39 +670,42 @@ classParent                  : '(' typeReference (',' typeReference)* ')'
                              ;
 visibilitySection            : visibilitySection_ -> ^(TkVisibilitySection<VisibilitySectionNodeImpl> visibilitySection_)
                              ;
-visibilitySection_           : visibility visibilitySectionItem*
-                             | visibilitySectionItem+
+visibilitySection_           : visibility (options { backtrack=true; } : visibilitySectionItem)*
+                             | (options { backtrack=true; } : visibilitySectionItem)+
                              ;
-visibilitySectionItem        : fieldSection
+visibilitySectionItem        options { backtrack=true; }
+                             : fieldSection
                              | routineInterface
                              | methodResolutionClause
                              | property
                              | constSection
                              | innerTypeSection
                              ;
-fieldSectionKey              : VAR
+fieldSectionKey              options { memoize=false; }
+                             : VAR
                              | THREADVAR
                              ;
-fieldSection                 : CLASS? fieldSectionKey fieldDecl* -> ^(TkFieldSection<FieldSectionNodeImpl> CLASS? fieldSectionKey fieldDecl*)
-                             | fieldDecl+ -> ^(TkFieldSection<FieldSectionNodeImpl> fieldDecl+)
+fieldSection                 : CLASS? fieldSectionKey (options { backtrack=true; } : fieldDecl)* -> ^(TkFieldSection<FieldSectionNodeImpl> CLASS? fieldSectionKey fieldDecl*)
+                             | (options { backtrack=true; } : fieldDecl)+ -> ^(TkFieldSection<FieldSectionNodeImpl> fieldDecl+)
                              ;
 fieldDecl                    : attributeList? nameDeclarationList ':' varType portabilityDirective* ';'?
                              -> ^(TkFieldDeclaration<FieldDeclarationNodeImpl> nameDeclarationList varType portabilityDirective* attributeList? ';'?)
                              ;
 classHelperType              : CLASS<ClassHelperTypeNodeImpl>^ HELPER classParent? FOR typeReference visibilitySection* END
                              ;
-interfaceType                : (INTERFACE<InterfaceTypeNodeImpl>^ | DISPINTERFACE<InterfaceTypeNodeImpl>^) classParent? (interfaceGuid? interfaceItems? END)?
+interfaceType                : (INTERFACE<InterfaceTypeNodeImpl>^ | DISPINTERFACE<InterfaceTypeNodeImpl>^) classParent? ((options { backtrack=true; } : interfaceGuid)? interfaceItems? END)?
                              ;
 interfaceGuid                : lbrack expression rbrack -> ^(TkGuid<InterfaceGuidNodeImpl> expression)
                              ;
 interfaceItems               : interfaceItem+ -> ^(TkVisibilitySection<VisibilitySectionNodeImpl> interfaceItem+)
                              ;
-interfaceItem                : routineInterface
+interfaceItem                options { backtrack=true; }
+                             : routineInterface
                              | property
                              ;
 objectType                   : OBJECT<ObjectTypeNodeImpl>^ classParent? visibilitySection* END // Obselete, kept for backwards compatibility with Turbo Pascal
                              ;                                                                 // See: https://www.oreilly.com/library/view/delphi-in-a/1565926595/re192.html
-recordType                   : RECORD<RecordTypeNodeImpl>^ visibilitySection* recordVariantSection? END (ALIGN constExpression)?
+recordType                   : RECORD<RecordTypeNodeImpl>^ visibilitySection* recordVariantSection? END (options { backtrack=true; } : ALIGN constExpression)?
                              ;
 recordVariantSection         : CASE<RecordVariantSectionNodeImpl>^ recordVariantTag OF recordVariant+
                              ;
@@ -727,7 +789,8 @@ routineInterface             : routineInterfaceHeading
                                     routineInterfaceHeading
                                  )
                              ;
-routineImplementation        : fullRoutineImplementation
+routineImplementation        options { backtrack=true; }
+                             : fullRoutineImplementation
                              | externalRoutine
                              | forwardRoutine
                              ;
@@ -799,7 +862,8 @@ routineDeclarationName       : (
                              ;
 routineImplementationName    : nameReference -> ^(TkRoutineName<RoutineNameNodeImpl> nameReference)
                              ;
-routineKey                   : PROCEDURE
+routineKey                   options { memoize=false; }
+                             : PROCEDURE
                              | CONSTRUCTOR
                              | DESTRUCTOR
                              | FUNCTION
@@ -816,7 +880,8 @@ formalParameterList          : formalParameter (';' formalParameter)* -> ^(TkFor
 formalParameter              : a1=attributeList? (paramSpecifier a2=attributeList?)? nameDeclarationList (':' parameterType)? ('=' expression)?
                              -> ^(TkFormalParameter<FormalParameterNodeImpl> nameDeclarationList parameterType? paramSpecifier? expression? $a1? $a2?)
                              ;
-paramSpecifier               : CONST
+paramSpecifier               options { memoize=false; }
+                             : CONST
                              | VAR
                              | OUT
                              ;
@@ -826,13 +891,13 @@ routineBody                  : block ';' -> ^(TkRoutineBody<RoutineBodyNodeImpl>
 //----------------------------------------------------------------------------
 // Attributes
 //----------------------------------------------------------------------------
-attributeList                : attributeGroup+
+attributeList                : (options { backtrack=true; } : attributeGroup)+
                              -> ^(TkAttributeList<AttributeListNodeImpl> attributeGroup+)
                              ;
 attributeGroup               : lbrack (attribute ','?)+ rbrack
                              -> ^(TkAttributeGroup<AttributeGroupNodeImpl> attribute+)
                              ;
-attribute                    : (ASSEMBLY ':')? nameReference argumentList? (':' nameReference argumentList?)*
+attribute                    : (options { backtrack=true; } : ASSEMBLY ':')? nameReference argumentList? (':' nameReference argumentList?)*
                              -> ^(TkAttribute<AttributeNodeImpl> ASSEMBLY? nameReference argumentList? (':' nameReference argumentList?)*)
                              ;
 
@@ -847,22 +912,28 @@ expression                   : relationalExpression
 // token range only contains the operator. resetBinaryExpressionTokens is needed
 // to reset the start and end tokens so that they must be recalculated
 // when retrieved (i.e., after their children have been correctly assigned).
-relationalExpression         : additiveExpression (relationalOperator^ additiveExpression)* { resetBinaryExpressionTokens(root_0); }
+relationalExpression         : additiveExpression (options { backtrack=true; } : relationalOperator^ additiveExpression)* { resetBinaryExpressionTokens(root_0); }
                              ;
-additiveExpression           : multiplicativeExpression (addOperator^ multiplicativeExpression)* { resetBinaryExpressionTokens(root_0); }
+additiveExpression           : multiplicativeExpression (options { backtrack=true; } : addOperator^ multiplicativeExpression)* { resetBinaryExpressionTokens(root_0); }
                              ;
 multiplicativeExpression     : unaryExpression (multOperator^ unaryExpression)* { resetBinaryExpressionTokens(root_0); }
                              ;
 unaryExpression              : unaryOperator^ unaryExpression
                              | primaryExpression
                              ;
+// Parenthesized expressions are left-factored out of atom, so that the parser can choose between
+// a primary expression and a nested expression by looking at the tokens after the ')', instead of
+// speculatively parsing the whole parenthesized expression as an atom first.
 primaryExpression            : atom -> ^(TkPrimaryExpression<PrimaryExpressionNodeImpl> atom)
                              | parenthesizedExpression
-                             | INHERITED (nameReference? particleItem*)? -> ^(TkPrimaryExpression<PrimaryExpressionNodeImpl> INHERITED (nameReference? particleItem*)?)
+                               (options { backtrack=true; } : (options { backtrack=true; } : particleItem)+ -> ^(TkPrimaryExpression<PrimaryExpressionNodeImpl> parenthesizedExpression particleItem+)
+                               | -> parenthesizedExpression
+                               )
+                             | INHERITED (options { backtrack=true; } : (options { backtrack=true; } : nameReference)? (options { backtrack=true; } : particleItem)*)? -> ^(TkPrimaryExpression<PrimaryExpressionNodeImpl> INHERITED (nameReference? particleItem*)?)
                              ;
 parenthesizedExpression      : '(' expression ')' -> ^(TkNestedExpression<ParenthesizedExpressionNodeImpl> '(' expression ')')
                              ;
-atom                         : particle particleItem*
+atom                         : particle (options { backtrack=true; } : particleItem)*
                              ;
 particle                     : intNum
                              | realNum
@@ -872,9 +943,8 @@ particle                     : intNum
                              | arrayConstructor
                              | STRING
                              | FILE
-                             | parenthesizedExpression particleItem+
-                             ; // parenthesizedExpressions are a special case.
-                               // If they are followed by particleItems then we want to consider them as particles so a PrimaryExpressionNode is created to wrap it.
+                             ; // parenthesizedExpressions are a special case, handled in primaryExpression.
+                               // If they are followed by particleItems then a PrimaryExpressionNode is created to wrap them.
                                // Otherwise, we flatten it to a ParenthesizedExpressionNode.
 particleItem                 : '.' extendedNameReference
                              | argumentList
@@ -889,7 +959,8 @@ argumentList                 : '('<ArgumentListNodeImpl>^ (argument (',' argumen
 argument                     : argumentName? argumentExpression
                              -> ^(TkArgument<ArgumentNodeImpl> argumentName? argumentExpression)
                              ;
-argumentName                 : ident ':='!
+argumentName                 options { backtrack=true; }
+                             : ident ':='!
                              | keywords ':=' -> ^({changeTokenType(TkIdentifier, -2)})
                              ;
 argumentExpression           : expression writeArguments?
@@ -908,25 +979,29 @@ expressionOrRangeList        : (expressionOrRange (','!)?)+
 textLiteral                  : singleLineTextLiteral -> ^(TkTextLiteral<TextLiteralNodeImpl> singleLineTextLiteral)
                              | multilineTextLiteral -> ^(TkTextLiteral<TextLiteralNodeImpl> multilineTextLiteral)
                              ;
-singleLineTextLiteral        : TkQuotedString (escapedCharacter+ TkQuotedString)* escapedCharacter*
-                             | escapedCharacter+ (TkQuotedString escapedCharacter+)* TkQuotedString?
+singleLineTextLiteral        : TkQuotedString (options { backtrack=true; } : escapedCharacter+ TkQuotedString)* (options { backtrack=true; } : escapedCharacter)*
+                             | (options { backtrack=true; } : escapedCharacter)+ (options { backtrack=true; } : TkQuotedString (options { backtrack=true; } : escapedCharacter)+)* (options { backtrack=true; } : TkQuotedString)?
                              ;
-multilineTextLiteral         : TkMultilineString
+multilineTextLiteral         options { memoize=false; }
+                             : TkMultilineString
                              ;
 escapedCharacter             : TkCharacterEscapeCode
                              | '^' (TkIdentifier | TkIntNumber | TkAnyChar) -> ^({changeTokenType(TkEscapedCharacter)})
                              ;
-nilLiteral                   : NIL<NilLiteralNodeImpl>
+nilLiteral                   options { memoize=false; }
+                             : NIL<NilLiteralNodeImpl>
                              ;
 arrayConstructor             : lbrack expressionOrRangeList? rbrack
                              -> ^(TkArrayConstructor<ArrayConstructorNodeImpl> lbrack expressionOrRangeList? rbrack)
                              ;
-addOperator                  : '+'<BinaryExpressionNodeImpl>
+addOperator                  options { memoize=false; }
+                             : '+'<BinaryExpressionNodeImpl>
                              | '-'<BinaryExpressionNodeImpl>
                              | OR<BinaryExpressionNodeImpl>
                              | XOR<BinaryExpressionNodeImpl>
                              ;
-multOperator                 : '*'<BinaryExpressionNodeImpl>
+multOperator                 options { memoize=false; }
+                             : '*'<BinaryExpressionNodeImpl>
                              | '/'<BinaryExpressionNodeImpl>
                              | DIV<BinaryExpressionNodeImpl>
                              | MOD<BinaryExpressionNodeImpl>
@@ -935,12 +1010,14 @@ multOperator                 : '*'<BinaryExpressionNodeImpl>
                              | SHR<BinaryExpressionNodeImpl>
                              | AS<BinaryExpressionNodeImpl>
                              ;
-unaryOperator                : NOT<UnaryExpressionNodeImpl>
+unaryOperator                options { memoize=false; }
+                             : NOT<UnaryExpressionNodeImpl>
                              | '+'<UnaryExpressionNodeImpl>
                              | '-'<UnaryExpressionNodeImpl>
                              | '@'<UnaryExpressionNodeImpl>
                              ;
-relationalOperator           : '='<BinaryExpressionNodeImpl>
+relationalOperator           options { memoize=false; }
+                             : '='<BinaryExpressionNodeImpl>
                              | '>'<BinaryExpressionNodeImpl>
                              | '<'<BinaryExpressionNodeImpl>
                              | '<='<BinaryExpressionNodeImpl>
@@ -949,7 +1026,8 @@ relationalOperator           : '='<BinaryExpressionNodeImpl>
                              | IN<BinaryExpressionNodeImpl>
                              | IS<BinaryExpressionNodeImpl>
                              ;
-constExpression              : expression
+constExpression              options { backtrack=true; }
+                             : expression
                              | recordExpression
                              | arrayExpression
                              ;
@@ -964,7 +1042,8 @@ arrayExpression              : '('<ArrayExpressionNodeImpl>^ (constExpression ('
 //----------------------------------------------------------------------------
 // Statements
 //----------------------------------------------------------------------------
-statement                    : ifStatement
+statement                    options { backtrack=true; }
+                             : ifStatement
                              | varStatement
                              | constStatement
                              | caseStatement
@@ -981,7 +1060,7 @@ statement                    : ifStatement
                              | expressionStatement
                              | gotoStatement
                              ;
-ifStatement                  : IF<IfStatementNodeImpl>^ expression THEN statement? (ELSE statement?)?
+ifStatement                  : IF<IfStatementNodeImpl>^ expression THEN (options { backtrack=true; } : statement)? (options { backtrack=true; } : ELSE (options { backtrack=true; } : statement)?)?
                              ;
 varStatement                 : VAR attributeList? nameDeclarationList (':' varType)? (':=' expression)?
                              -> ^(VAR<VarStatementNodeImpl> nameDeclarationList (':' varType)? (':=' expression)? attributeList?)
@@ -993,20 +1072,21 @@ caseStatement                : CASE<CaseStatementNodeImpl>^ expression OF caseIt
                              ;
 elseBlock                    : ELSE<ElseBlockNodeImpl>^ statementList
                              ;
-caseItem                     : expressionOrRangeList ':' (statement)? (';')? -> ^(TkCaseItem<CaseItemStatementNodeImpl> expressionOrRangeList (statement)? (';')? )
+caseItem                     : expressionOrRangeList ':' (options { backtrack=true; } : statement)? (';')? -> ^(TkCaseItem<CaseItemStatementNodeImpl> expressionOrRangeList (statement)? (';')? )
                              ;
 repeatStatement              : REPEAT<RepeatStatementNodeImpl>^ statementList UNTIL expression
                              ;
-whileStatement               : WHILE<WhileStatementNodeImpl>^ expression DO statement?
+whileStatement               : WHILE<WhileStatementNodeImpl>^ expression DO (options { backtrack=true; } : statement)?
                              ;
-forStatement                 : FOR<ForToStatementNodeImpl>^ forVar ':=' expression TO expression DO statement?
-                             | FOR<ForToStatementNodeImpl>^ forVar ':=' expression DOWNTO expression DO statement?
-                             | FOR<ForInStatementNodeImpl>^ forVar IN expression DO statement?
+forStatement                 options { backtrack=true; }
+                             : FOR<ForToStatementNodeImpl>^ forVar ':=' expression TO expression DO (options { backtrack=true; } : statement)?
+                             | FOR<ForToStatementNodeImpl>^ forVar ':=' expression DOWNTO expression DO (options { backtrack=true; } : statement)?
+                             | FOR<ForInStatementNodeImpl>^ forVar IN expression DO (options { backtrack=true; } : statement)?
                              ;
 forVar                       : VAR nameDeclaration (':' varType)? -> ^(TkForLoopVar<ForLoopVarDeclarationNodeImpl> nameDeclaration varType?)
                              | simpleNameReference -> ^(TkForLoopVar<ForLoopVarReferenceNodeImpl> simpleNameReference)
                              ;
-withStatement                : WITH<WithStatementNodeImpl>^ expressionList DO statement?
+withStatement                : WITH<WithStatementNodeImpl>^ expressionList DO (options { backtrack=true; } : statement)?
                              ;
 compoundStatement            : BEGIN<CompoundStatementNodeImpl>^ statementList END
                              ;
@@ -1014,7 +1094,7 @@ statementList                : delimitedStatements? -> ^(TkStatementList<Stateme
                              ;
 delimitedStatements          : (statement | ';')+
                              ;
-labelStatement               : {input.LA(2) == COLON}? => labelNameReference ':' statement?
+labelStatement               : {input.LA(2) == COLON}? => labelNameReference ':' (options { backtrack=true; } : statement)?
                              -> ^(TkLabelStatement<LabelStatementNodeImpl> labelNameReference ':' statement?)
                              ;
 assignmentStatement          : expression ':='<AssignmentStatementNodeImpl>^ expression
@@ -1029,12 +1109,13 @@ exceptBlock                  : EXCEPT<ExceptBlockNodeImpl>^ handlerList
                              ;
 finallyBlock                 : FINALLY<FinallyBlockNodeImpl>^ statementList
                              ;
-handlerList                  : handler+ elseBlock?
+handlerList                  options { backtrack=true; }
+                             : handler+ elseBlock?
                              | statementList
                              ;
 handler                      : ON<ExceptItemNodeImpl>^ (nameDeclaration ':'!)? typeReference DO statement? (';')?
                              ;
-raiseStatement               : RAISE<RaiseStatementNodeImpl>^ expression? (AT! expression)?
+raiseStatement               : RAISE<RaiseStatementNodeImpl>^ (options { backtrack=true; } : expression)? (options { backtrack=true; } : AT! expression)?
                              ;
 assemblerStatement           : ASM<AsmStatementNodeImpl>^ assemblerInstructions END
                              ;
@@ -1044,16 +1125,20 @@ assemblerInstructions        : ~(END)* // Skip asm statements
 //----------------------------------------------------------------------------
 // Directives
 //----------------------------------------------------------------------------
-implDirectiveSection         : (';'? implDirective)* ';'
+implDirectiveSection         options { backtrack=true; }
+                             : (';'? implDirective)* ';'
                              | (';' implDirective)+
                              ;
-interfaceDirectiveSection    : (';'? interfaceDirective)* ';'
+interfaceDirectiveSection    options { backtrack=true; }
+                             : (';'? interfaceDirective)* ';'
                              | (';' interfaceDirective)+
                              ;
-externalDirectiveSection      : (';'? implDirective)* ';'? externalDirective (';'? implDirective)*';'
+externalDirectiveSection      options { backtrack=true; }
+                              : (';'? implDirective)* ';'? externalDirective (';'? implDirective)*';'
                              | (';' implDirective)* ';' externalDirective (';' implDirective)*
                              ;
-forwardDirectiveSection      : (';'? implDirective)* ';'? FORWARD (';'? implDirective)*';'
+forwardDirectiveSection      options { backtrack=true; }
+                             : (';'? implDirective)* ';'? FORWARD (';'? implDirective)*';'
                              | (';' implDirective)* ';' FORWARD (';' implDirective)*
                              ;
 implDirective                : OVERLOAD
@@ -1078,7 +1163,8 @@ bindingDirective             : MESSAGE expression
                              | OVERRIDE
                              | VIRTUAL
                              ;
-abstractDirective            : ABSTRACT
+abstractDirective            options { memoize=false; }
+                             : ABSTRACT
                              | FINAL
                              ;
 inlineDirective              : INLINE
@@ -1096,12 +1182,12 @@ oldCallConventionDirective   : FAR // deprecated
                              | LOCAL // deprecated. Introduced in the Kylix Linux compiler, makes function non-exportable. (No effect in Windows)
                              | NEAR // deprecated
                              ;
-portabilityDirective         : DEPRECATED^ textLiteral?
+portabilityDirective         : DEPRECATED^ (options { backtrack=true; } : textLiteral)?
                              | EXPERIMENTAL
                              | PLATFORM
                              | LIBRARY
                              ;
-externalDirective            : EXTERNAL^ dllName? externalSpecifier*
+externalDirective            : EXTERNAL^ (options { backtrack=true; } : dllName)? (options { backtrack=true; } : externalSpecifier)*
                              ;
 dllName                      : {!input.LT(1).getText().equals("name")}? expression
                              ;
@@ -1115,10 +1201,12 @@ dispIDDirective              : DISPID expression
 //----------------------------------------------------------------------------
 // General
 //----------------------------------------------------------------------------
-ident                        : TkIdentifier
+ident                        options { memoize=false; }
+                             : TkIdentifier
                              | keywordsUsedAsNames -> ^({changeTokenType(TkIdentifier)})
                              ;
-keywordsUsedAsNames          : (ABSOLUTE | ABSTRACT | ALIGN | ASSEMBLER | ASSEMBLY | AT | AUTOMATED | CDECL)
+keywordsUsedAsNames          options { memoize=false; }
+                             : (ABSOLUTE | ABSTRACT | ALIGN | ASSEMBLER | ASSEMBLY | AT | AUTOMATED | CDECL)
                              | (CONTAINS | DEFAULT | DELAYED | DEPRECATED | DISPID | DYNAMIC | EXPERIMENTAL | EXPORT)
                              | (EXTERNAL | FAR | FINAL | FORWARD | HELPER | IMPLEMENTS | INDEX | LOCAL | MESSAGE | NAME)
                              | (NEAR | NODEFAULT | ON | OPERATOR | OUT | OVERLOAD | OVERRIDE | PACKAGE | PASCAL | PLATFORM)
@@ -1127,7 +1215,8 @@ keywordsUsedAsNames          : (ABSOLUTE | ABSTRACT | ALIGN | ASSEMBLER | ASSEMB
                              | (VARARGS | VIRTUAL | WINAPI | WRITE | WRITEONLY)
                              | (LABEL) // Used to be allowed in Delphi.NET.
                              ;
-keywords                     : (ABSOLUTE | ABSTRACT | AND | ALIGN | ARRAY | AS | ASM | ASSEMBLER | ASSEMBLY)
+keywords                     options { memoize=false; }
+                             : (ABSOLUTE | ABSTRACT | AND | ALIGN | ARRAY | AS | ASM | ASSEMBLER | ASSEMBLY)
                              | (AT | AUTOMATED | BEGIN | CASE | CDECL | CLASS | CONST | CONSTRUCTOR | CONTAINS| DEFAULT)
                              | (DELAYED | DEPRECATED | DESTRUCTOR | DISPID | DISPINTERFACE | DIV | DO | DOWNTO | DYNAMIC)
                              | (ELSE | END | EXCEPT | EXPERIMENTAL | EXPORT | EXPORTS | EXTERNAL | FAR | FILE | FINAL)
@@ -1156,16 +1245,17 @@ specialOpNameDeclaration     : specialOperatorName
                              ;
 specialOperatorName          : IN -> ^({changeTokenType(TkIdentifier)})
                              ;
-nameReference                : ident genericArguments? ('.' extendedNameReference)?
+nameReference                : ident (options { backtrack=true; } : genericArguments)? (options { backtrack=true; } : '.' extendedNameReference)?
                              -> ^(TkNameReference<NameReferenceNodeImpl> ident genericArguments? ('.' extendedNameReference)?)
                              ;
 simpleNameReference          : ident
                              -> ^(TkNameReference<NameReferenceNodeImpl> ident)
                              ;
-extendedNameReference        : extendedIdent genericArguments? ('.' extendedNameReference)?
+extendedNameReference        : extendedIdent (options { backtrack=true; } : genericArguments)? (options { backtrack=true; } : '.' extendedNameReference)?
                              -> ^(TkNameReference<NameReferenceNodeImpl> extendedIdent genericArguments? ('.' extendedNameReference)?)
                              ;
-extendedIdent                : ident
+extendedIdent                options { backtrack=true; }
+                             : ident
                              | keywords -> ^({changeTokenType(TkIdentifier)})
                              ;
 labelIdent                   : ident
@@ -1180,11 +1270,13 @@ labelNameReference           : labelIdent -> ^(TkNameReference<NameReferenceNode
 //----------------------------------------------------------------------------
 // Literals
 //----------------------------------------------------------------------------
-intNum                       : TkIntNumber<IntegerLiteralNodeImpl>
+intNum                       options { memoize=false; }
+                             : TkIntNumber<IntegerLiteralNodeImpl>
                              | TkHexNumber<IntegerLiteralNodeImpl>
                              | TkBinaryNumber<IntegerLiteralNodeImpl>
                              ;
-realNum                      : TkRealNumber<RealLiteralNodeImpl>
+realNum                      options { memoize=false; }
+                             : TkRealNumber<RealLiteralNodeImpl>
                              ;
 
 //----------------------------------------------------------------------------
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
+import org.sonar.api.PropertyType;
 import org.sonar.api.config.PropertyDefinition;
 import org.sonar.api.resources.Qualifiers;
 
@@ -41,13 +42,18 @@ public final class DelphiProperties {
   public static final String TEST_TYPE_KEY = "sonar.delphi.testType";
   public static final String TEST_ATTRIBUTE_KEY = "sonar.delphi.testAttribute";
   public static final String NUNIT_REPORT_PATHS_PROPERTY = "sonar.delphi.nunit.reportPaths";
+  public static final String NUNIT_PARALLEL_KEY = "sonar.delphi.nunit.parallel";
   public static final String COVERAGE_REPORT_KEY = "sonar.delphi.coverage.reportPaths";
+  public static final String COVERAGE_PARALLEL_KEY = "sonar.delphi.coverage.parallel";
+  public static final String LAZY_TYPE_SCOPES_KEY = "sonar.delphi.generics.lazyTypeScopes";
+  public static final String PARSER_PROFILING_KEY = "sonar.delphi.parser.profiling";
 
   private static final String DELPHI_CATEGORY = "Delphi";
   private static final String GENERAL_SUBCATEGORY = "General";
   private static final String TOOLCHAIN_SUBCATEGORY = "Toolchain";
   private static final String PROJECT_OPTIONS_SUBCATEGORY = "Project Options";
   private static final String TEST_SUBCATEGORY = "Test and Coverage";
+  private static final String PERFORMANCE_SUBCATEGORY = "Performance";
 
   public static final String EXCLUSIONS_DEFAULT_VALUE = "**/__history/**,**/__recovery/**";
   private static final String INSTALLATION_PATH_DEFAULT =
@@ -57,6 +63,10 @@ public final class DelphiProperties {
       CompilerVersion.fromVersionSymbol("VER350");
   private static final String TEST_TYPE_DEFAULT = "TestFramework.TTestCase";
   private static final String TEST_ATTRIBUTE_DEFAULT = "DUnitX.Attributes.TestFixtureAttribute";
+  public static final boolean LAZY_TYPE_SCOPES_DEFAULT = false;
+  public static final boolean PARSER_PROFILING_DEFAULT = false;
+  public static final boolean COVERAGE_PARALLEL_DEFAULT = false;
+  public static final boolean NUNIT_PARALLEL_DEFAULT = false;
 
   private DelphiProperties() {
     // hide public constructor
@@ -193,6 +203,17 @@ public final class DelphiProperties {
             .multiValues(true)
             .onQualifiers(Qualifiers.PROJECT)
             .build(),
+        PropertyDefinition.builder(DelphiProperties.NUNIT_PARALLEL_KEY)
+            .category(DELPHI_CATEGORY)
+            .subCategory(TEST_SUBCATEGORY)
+            .defaultValue(String.valueOf(NUNIT_PARALLEL_DEFAULT))
+            .name("Parse NUnit reports in parallel")
+            .description(
+                "Whether the NUnit report files should be parsed concurrently."
+                    + " Useful when test results are split across many large reports.")
+            .type(PropertyType.BOOLEAN)
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
         PropertyDefinition.builder(DelphiProperties.COVERAGE_REPORT_KEY)
             .category(DELPHI_CATEGORY)
             .subCategory(TEST_SUBCATEGORY)
@@ -202,6 +223,39 @@ public final class DelphiProperties {
                     + " Each path may be absolute or relative to the project base directory")
             .multiValues(true)
             .onQualifiers(Qualifiers.PROJECT)
+            .build(),
+        PropertyDefinition.builder(DelphiProperties.COVERAGE_PARALLEL_KEY)
+            .category(DELPHI_CATEGORY)
+            .subCategory(TEST_SUBCATEGORY)
+            .defaultValue(String.valueOf(COVERAGE_PARALLEL_DEFAULT))
+            .name("Parse coverage reports in parallel")
+            .description(
+                "Whether the Delphi Code Coverage report files should be parsed concurrently."
+                    + " Useful when coverage is split across many large reports.")
+            .type(PropertyType.BOOLEAN)
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
+        PropertyDefinition.builder(DelphiProperties.LAZY_TYPE_SCOPES_KEY)
+            .category(DELPHI_CATEGORY)
+            .subCategory(PERFORMANCE_SUBCATEGORY)
+            .defaultValue(String.valueOf(LAZY_TYPE_SCOPES_DEFAULT))
+            .name("Lazy specialization of type scopes")
+            .description(
+                "Whether the members of a specialized generic type should only be specialized"
+                    + " once one of its members is looked up.")
+            .type(PropertyType.BOOLEAN)
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
+        PropertyDefinition.builder(DelphiProperties.PARSER_PROFILING_KEY)
+            .category(DELPHI_CATEGORY)
+            .subCategory(PERFORMANCE_SUBCATEGORY)
+            .defaultValue(String.valueOf(PARSER_PROFILING_DEFAULT))
+            .name("Parser profiling")
+            .description(
+                "Whether a report of the grammar rules and decisions that the parser backtracked"
+                    + " through should be logged for each analyzed file. This slows down parsing.")
+            .type(PropertyType.BOOLEAN)
+            .onQualifiers(Qualifiers.PROJECT)
             .build());
   }
 }
@@ -23,6 +23,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import org.antlr.runtime.ANTLRStringStream;
 import org.apache.commons.io.ByteOrderMark;
 import org.apache.commons.io.input.BOMInputStream;
@@ -30,6 +31,7 @@ import org.apache.commons.io.input.BOMInputStream;
 public class DelphiFileStream extends ANTLRStringStream {
   private final String fileName;
   private final String encoding;
+  private int[] lineStarts;
 
   public DelphiFileStream(String fileName, String encoding) throws IOException {
     this.fileName = fileName;
@@ -76,4 +78,49 @@ public class DelphiFileStream extends ANTLRStringStream {
   public String getEncoding() {
     return this.encoding;
   }
+
+  /**
+   * Returns the zero-based index of the line containing a character offset.
+   *
+   * <p>Lines are terminated by {@code \r\n}, {@code \n} or {@code \r}.
+   *
+   * @param offset character offset into the stream
+   * @return index of the line containing the offset
+   */
+  public int getLineIndex(int offset) {
+    int[] starts = getLineStarts();
+    int position = Arrays.binarySearch(starts, offset);
+    return position >= 0 ? position : -(position + 1) - 1;
+  }
+
+  /**
+   * Returns the character offset at which a line starts.
+   *
+   * @param lineIndex zero-based index of the line
+   * @return offset of the first character of the line
+   */
+  public int getLineStart(int lineIndex) {
+    return getLineStarts()[lineIndex];
+  }
+
+  private int[] getLineStarts() {
+    if (lineStarts == null) {
+      int[] starts = new int[16];
+      int count = 1;
+      for (int i = 0; i < n; ++i) {
+        char c = data[i];
+        if (c == '\r' && i + 1 < n && data[i + 1] == '\n') {
+          ++i;
+        }
+        if (c == '\r' || c == '\n') {
+          if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+          }
+          starts[count++] = i + 1;
+        }
+      }
+      lineStarts = Arrays.copyOf(starts, count);
+    }
+    return lineStarts;
+  }
 }
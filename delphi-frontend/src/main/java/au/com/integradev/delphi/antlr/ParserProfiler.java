@@ -0,0 +1,252 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.antlr;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records where a backtracking parser spends its time speculating.
+ *
+ * <p>The parser is generated with rule tracing, so it reports every rule it enters and leaves,
+ * along with the syntactic predicates (decisions) that start speculation. Speculation is attributed
+ * to rules and to decisions, which is enough to find the grammar rules responsible for slow parses
+ * without generating a debug parser.
+ */
+public final class ParserProfiler {
+  private static final Logger LOG = LoggerFactory.getLogger(ParserProfiler.class);
+  private static final Pattern SYNTACTIC_PREDICATE = Pattern.compile("(synpred\\d+)_\\w+_fragment");
+
+  private final Map<String, RuleProfile> rules = new HashMap<>();
+  private final Map<Integer, RuleProfile> rulesByIndex = new HashMap<>();
+  private final Map<String, DecisionProfile> decisions = new HashMap<>();
+  private final Deque<Invocation> invocations = new ArrayDeque<>();
+  private long startTime;
+  private long parseTime;
+  private int memoTableSize;
+
+  public void startParse() {
+    startTime = System.nanoTime();
+  }
+
+  public void endParse(int memoTableSize) {
+    this.parseTime = System.nanoTime() - startTime;
+    this.memoTableSize = memoTableSize;
+  }
+
+  /**
+   * Called when the parser enters a rule or a syntactic predicate.
+   *
+   * @param ruleName name of the rule, or of the syntactic predicate fragment
+   * @param ruleIndex index of the rule
+   * @param backtracking backtracking level of the parser
+   */
+  public void enterRule(String ruleName, int ruleIndex, int backtracking) {
+    Invocation caller = invocations.peek();
+    Matcher matcher = SYNTACTIC_PREDICATE.matcher(ruleName);
+    if (matcher.matches()) {
+      String name = findEnclosingRuleName() + "/" + matcher.group(1);
+      DecisionProfile decision = decisions.computeIfAbsent(name, DecisionProfile::new);
+      ++decision.speculations;
+      invocations.push(new Invocation(null, decision, false, System.nanoTime()));
+      return;
+    }
+
+    RuleProfile rule = rules.computeIfAbsent(ruleName, RuleProfile::new);
+    rulesByIndex.putIfAbsent(ruleIndex, rule);
+    ++rule.invocations;
+
+    boolean speculative = backtracking > 0;
+    long time = 0;
+    if (speculative) {
+      ++rule.backtracks;
+      if (rule.activeBacktracks++ == 0) {
+        // Only the outermost invocation of a recursive rule is timed
+        time = System.nanoTime();
+      }
+    }
+
+    DecisionProfile decision = caller == null ? null : caller.decision;
+    invocations.push(new Invocation(rule, decision, speculative, time));
+  }
+
+  /** Called when the parser leaves the rule or syntactic predicate it last entered. */
+  public void exitRule() {
+    Invocation invocation = invocations.pop();
+    if (invocation.rule == null) {
+      invocation.decision.time += System.nanoTime() - invocation.startTime;
+    } else if (invocation.speculative) {
+      if (--invocation.rule.activeBacktracks == 0) {
+        invocation.rule.time += System.nanoTime() - invocation.startTime;
+      }
+    }
+  }
+
+  /** Called when the rule the parser last entered was already memoized. */
+  public void memoHit() {
+    Invocation invocation = invocations.peek();
+    if (invocation == null || invocation.rule == null) {
+      return;
+    }
+    ++invocation.rule.memoHits;
+    if (invocation.decision != null) {
+      ++invocation.decision.memoHits;
+    }
+  }
+
+  /**
+   * Called when the parser memoizes the result of a rule.
+   *
+   * @param ruleIndex index of the rule
+   * @param memoEntries number of results memoized for the rule
+   */
+  public void memoized(int ruleIndex, int memoEntries) {
+    RuleProfile rule = rulesByIndex.get(ruleIndex);
+    if (rule != null) {
+      rule.memoEntries = memoEntries;
+    }
+  }
+
+  private String findEnclosingRuleName() {
+    for (Invocation invocation : invocations) {
+      if (invocation.rule != null) {
+        return invocation.rule.name;
+      }
+    }
+    return "<unknown>";
+  }
+
+  /**
+   * Returns a report of the profile, with the most expensive rules and decisions first.
+   *
+   * @return profile report
+   */
+  public String report() {
+    StringBuilder builder = new StringBuilder();
+    builder
+        .append("parse time: ")
+        .append(TimeUnit.NANOSECONDS.toMillis(parseTime))
+        .append(" ms, memo table size: ")
+        .append(memoTableSize)
+        .append('\n');
+
+    builder.append(
+        String.format(
+            "%-40s %12s %12s %12s %12s %12s\n",
+            "rule", "invocations", "backtracks", "memo hits", "memo size", "time (ms)"));
+    List<RuleProfile> sortedRules = new ArrayList<>(rules.values());
+    sortedRules.sort(
+        Comparator.comparingLong((RuleProfile rule) -> rule.time)
+            .thenComparingInt(rule -> rule.backtracks)
+            .thenComparingInt(rule -> rule.invocations)
+            .reversed());
+    for (RuleProfile rule : sortedRules) {
+      builder.append(
+          String.format(
+              "%-40s %12d %12d %12d %12d %12.3f\n",
+              rule.name,
+              rule.invocations,
+              rule.backtracks,
+              rule.memoHits,
+              rule.memoEntries,
+              rule.time / 1_000_000.0));
+    }
+
+    builder.append(
+        String.format(
+            "%-40s %12s %12s %12s\n", "decision", "backtracks", "memo hits", "time (ms)"));
+    List<DecisionProfile> sortedDecisions = new ArrayList<>(decisions.values());
+    sortedDecisions.sort(
+        Comparator.comparingLong((DecisionProfile decision) -> decision.time).reversed());
+    for (DecisionProfile decision : sortedDecisions) {
+      builder.append(
+          String.format(
+              "%-40s %12d %12d %12.3f\n",
+              decision.name,
+              decision.speculations,
+              decision.memoHits,
+              decision.time / 1_000_000.0));
+    }
+
+    return builder.toString();
+  }
+
+  /**
+   * Logs the profile report for a file.
+   *
+   * @param fileName name of the file that was parsed
+   */
+  public void logReport(String fileName) {
+    LOG.info("Parser profile for {}:\n{}", fileName, report());
+  }
+
+  private static final class RuleProfile {
+    private final String name;
+    private int invocations;
+    private int backtracks;
+    private int activeBacktracks;
+    private int memoHits;
+    private int memoEntries;
+    private long time;
+
+    private RuleProfile(String name) {
+      this.name = name;
+    }
+  }
+
+  private static final class DecisionProfile {
+    private final String name;
+    private int speculations;
+    private int memoHits;
+    private long time;
+
+    private DecisionProfile(String name) {
+      this.name = name;
+    }
+  }
+
+  private static final class Invocation {
+    @Nullable private final RuleProfile rule;
+    @Nullable private final DecisionProfile decision;
+    private final boolean speculative;
+    private final long startTime;
+
+    private Invocation(
+        @Nullable RuleProfile rule,
+        @Nullable DecisionProfile decision,
+        boolean speculative,
+        long startTime) {
+      this.rule = rule;
+      this.decision = decision;
+      this.speculative = speculative;
+      this.startTime = startTime;
+    }
+  }
+}
@@ -0,0 +1,259 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.antlr;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.antlr.runtime.Token;
+
+/**
+ * Scans the implementation section of a preprocessed token list for routine bodies.
+ *
+ * <p>This is a skeleton pass over the tokens rather than a parse. Each routine body is located by a
+ * balanced scan from its declaration-level {@code begin} to the matching {@code end}, which allows
+ * the statements of routine bodies that are not needed to be dropped before parsing.
+ */
+public final class RoutineBodyScanner {
+  private RoutineBodyScanner() {
+    // Utility class
+  }
+
+  /**
+   * Finds the routine bodies in the implementation section.
+   *
+   * <p>Scanning stops at the initialization section, finalization section or main block of the
+   * unit. Nothing is found if the tokens do not contain an implementation section.
+   *
+   * @param tokens the preprocessed tokens
+   * @return the routine bodies, in order of appearance
+   */
+  public static List<RoutineBody> scan(List<Token> tokens) {
+    List<RoutineBody> result = new ArrayList<>();
+
+    int i = findNext(tokens, 0, DelphiLexer.IMPLEMENTATION);
+    if (i == -1) {
+      return result;
+    }
+
+    String name = null;
+    boolean inline = false;
+    int previousType = DelphiLexer.IMPLEMENTATION;
+
+    for (++i; i < tokens.size(); ++i) {
+      Token token = tokens.get(i);
+      if (token.getChannel() != Token.DEFAULT_CHANNEL) {
+        continue;
+      }
+
+      switch (token.getType()) {
+        case DelphiLexer.PROCEDURE:
+        case DelphiLexer.FUNCTION:
+        case DelphiLexer.CONSTRUCTOR:
+        case DelphiLexer.DESTRUCTOR:
+        case DelphiLexer.OPERATOR:
+          if (isRoutineStart(previousType)) {
+            name = readRoutineName(tokens, i + 1);
+            inline = false;
+          }
+          break;
+        case DelphiLexer.INLINE:
+          inline = true;
+          break;
+        case DelphiLexer.END:
+          // The end of a type declaration, so any routine heading seen so far had no body.
+          name = null;
+          inline = false;
+          break;
+        case DelphiLexer.ASM:
+          i = findNext(tokens, i + 1, DelphiLexer.END);
+          name = null;
+          inline = false;
+          break;
+        case DelphiLexer.BEGIN:
+          int end = findMatchingEnd(tokens, i);
+          if (end == -1 || isMainBlockEnd(tokens, end)) {
+            return result;
+          }
+          result.add(new RoutineBody(name, inline, i, end));
+          i = end;
+          name = null;
+          inline = false;
+          break;
+        case DelphiLexer.INITIALIZATION:
+        case DelphiLexer.FINALIZATION:
+          return result;
+        default:
+          // do nothing
+      }
+
+      if (i == -1) {
+        break;
+      }
+
+      previousType = tokens.get(i).getType();
+    }
+
+    return result;
+  }
+
+  private static boolean isRoutineStart(int previousType) {
+    // Anything else is a procedural type or an anonymous method.
+    return previousType == DelphiLexer.SEMICOLON
+        || previousType == DelphiLexer.CLASS
+        || previousType == DelphiLexer.SQUARE_BRACKET_RIGHT
+        || previousType == DelphiLexer.IMPLEMENTATION;
+  }
+
+  @Nullable
+  private static String readRoutineName(List<Token> tokens, int i) {
+    String name = null;
+    boolean expectingName = true;
+    int genericNesting = 0;
+
+    for (; i < tokens.size(); ++i) {
+      Token token = tokens.get(i);
+      if (token.getChannel() != Token.DEFAULT_CHANNEL) {
+        continue;
+      }
+
+      int type = token.getType();
+      if (type == DelphiLexer.LESS_THAN) {
+        ++genericNesting;
+      } else if (type == DelphiLexer.GREATER_THAN) {
+        --genericNesting;
+      } else if (genericNesting == 0) {
+        if (type == DelphiLexer.DOT) {
+          expectingName = true;
+        } else if (expectingName) {
+          name = token.getText();
+          expectingName = false;
+        } else {
+          break;
+        }
+      }
+    }
+
+    return name;
+  }
+
+  private static int findMatchingEnd(List<Token> tokens, int begin) {
+    int nesting = 0;
+    for (int i = begin; i < tokens.size(); ++i) {
+      Token token = tokens.get(i);
+      if (token.getChannel() != Token.DEFAULT_CHANNEL) {
+        continue;
+      }
+
+      switch (token.getType()) {
+        case DelphiLexer.BEGIN:
+        case DelphiLexer.CASE:
+        case DelphiLexer.TRY:
+          ++nesting;
+          break;
+        case DelphiLexer.ASM:
+          // The end of an asm block is always the next end token
+          i = findNext(tokens, i + 1, DelphiLexer.END);
+          if (i == -1) {
+            return -1;
+          }
+          break;
+        case DelphiLexer.END:
+          if (--nesting == 0) {
+            return i;
+          }
+          break;
+        default:
+          // do nothing
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isMainBlockEnd(List<Token> tokens, int end) {
+    for (int i = end + 1; i < tokens.size(); ++i) {
+      Token token = tokens.get(i);
+      if (token.getChannel() == Token.DEFAULT_CHANNEL) {
+        return token.getType() == DelphiLexer.DOT;
+      }
+    }
+    return true;
+  }
+
+  private static int findNext(List<Token> tokens, int start, int type) {
+    for (int i = start; i < tokens.size(); ++i) {
+      Token token = tokens.get(i);
+      if (token.getChannel() == Token.DEFAULT_CHANNEL && token.getType() == type) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public static final class RoutineBody {
+    private final String name;
+    private final boolean inline;
+    private final int beginIndex;
+    private final int endIndex;
+
+    private RoutineBody(@Nullable String name, boolean inline, int beginIndex, int endIndex) {
+      this.name = name;
+      this.inline = inline;
+      this.beginIndex = beginIndex;
+      this.endIndex = endIndex;
+    }
+
+    /**
+     * Returns the simple name of the routine that the body belongs to.
+     *
+     * @return routine name, or null if the routine could not be determined
+     */
+    @Nullable
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Returns whether the routine heading contains an inline directive.
+     *
+     * @return true if the routine heading contains an inline directive
+     */
+    public boolean isInline() {
+      return inline;
+    }
+
+    /**
+     * Returns the position of the {@code begin} token in the token list.
+     *
+     * @return position of the begin token
+     */
+    public int getBeginIndex() {
+      return beginIndex;
+    }
+
+    /**
+     * Returns the position of the matching {@code end} token in the token list.
+     *
+     * @return position of the end token
+     */
+    public int getEndIndex() {
+      return endIndex;
+    }
+  }
+}
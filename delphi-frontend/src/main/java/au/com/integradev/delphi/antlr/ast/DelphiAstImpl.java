@@ -24,10 +24,12 @@ package au.com.integradev.delphi.antlr.ast;
 
 import au.com.integradev.delphi.antlr.DelphiLexer;
 import au.com.integradev.delphi.antlr.ast.node.DelphiNodeImpl;
+import au.com.integradev.delphi.antlr.ast.node.NodeTypeIndex;
 import au.com.integradev.delphi.antlr.ast.visitors.DelphiParserVisitor;
 import au.com.integradev.delphi.file.DelphiFile;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.sonar.plugins.communitydelphi.api.ast.DelphiAst;
 import org.sonar.plugins.communitydelphi.api.ast.DelphiNode;
@@ -41,6 +43,8 @@ import org.sonar.plugins.communitydelphi.api.token.DelphiToken;
 /** DelphiLanguage AST tree. */
 public class DelphiAstImpl extends DelphiNodeImpl implements DelphiAst {
   private final DelphiFile delphiFile;
+  private int[] commentIndices;
+  private NodeTypeIndex nodeTypeIndex;
 
   /**
    * Constructor.
@@ -115,17 +119,50 @@ public class DelphiAstImpl extends DelphiNodeImpl implements DelphiAst {
     return getFileHeader() instanceof PackageDeclarationNode;
   }
 
+  /**
+   * Returns the index of the nodes in this AST by type, building it on first use.
+   *
+   * @return node type index
+   */
+  public NodeTypeIndex getNodeTypeIndex() {
+    if (nodeTypeIndex == null) {
+      nodeTypeIndex = new NodeTypeIndex(this);
+    }
+    return nodeTypeIndex;
+  }
+
   public List<DelphiToken> getCommentsInsideNode(DelphiNode node) {
     return getCommentsBetweenTokens(node.getFirstToken(), node.getLastToken());
   }
 
   private List<DelphiToken> getCommentsBetweenTokens(DelphiToken first, DelphiToken last) {
-    return getComments().stream()
-        .filter(
-            token -> {
-              int index = token.getIndex();
-              return index > first.getIndex() && index < last.getIndex();
-            })
-        .collect(Collectors.toList());
+    List<DelphiToken> comments = getComments();
+    int[] indices = getCommentIndices();
+    int from = upperBound(indices, first.getIndex());
+    int to = lowerBound(indices, last.getIndex());
+    if (from >= to) {
+      return Collections.emptyList();
+    }
+    return comments.subList(from, to);
+  }
+
+  private int[] getCommentIndices() {
+    if (commentIndices == null) {
+      // Comments are extracted from the token stream in order, so their indices are sorted.
+      commentIndices = getComments().stream().mapToInt(DelphiToken::getIndex).toArray();
+    }
+    return commentIndices;
+  }
+
+  /** Returns the position of the first index that is strictly greater than {@code key}. */
+  private static int upperBound(int[] indices, int key) {
+    int position = Arrays.binarySearch(indices, key);
+    return position >= 0 ? position + 1 : -(position + 1);
+  }
+
+  /** Returns the position of the first index that is greater than or equal to {@code key}. */
+  private static int lowerBound(int[] indices, int key) {
+    int position = Arrays.binarySearch(indices, key);
+    return position >= 0 ? position : -(position + 1);
   }
 }
@@ -27,6 +27,7 @@ import au.com.integradev.delphi.antlr.ast.node.CommonDelphiNodeImpl;
 import au.com.integradev.delphi.antlr.ast.node.IdentifierNodeImpl;
 import au.com.integradev.delphi.antlr.ast.node.MutableDelphiNode;
 import au.com.integradev.delphi.antlr.ast.token.DelphiTokenImpl;
+import au.com.integradev.delphi.antlr.ast.token.DelphiTokenTable;
 import au.com.integradev.delphi.antlr.ast.token.DelphiTokenTypeFactory;
 import com.google.common.base.Preconditions;
 import java.lang.reflect.Constructor;
@@ -39,13 +40,27 @@ import org.sonar.plugins.communitydelphi.api.ast.DelphiNode;
 import org.sonar.plugins.communitydelphi.api.token.DelphiToken;
 
 public class DelphiTreeAdaptor extends BaseTreeAdaptor {
+  private final DelphiTokenTable tokenTable;
+
+  public DelphiTreeAdaptor() {
+    this(new DelphiTokenTable());
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param tokenTable Table used to share token wrappers between nodes
+   */
+  public DelphiTreeAdaptor(DelphiTokenTable tokenTable) {
+    this.tokenTable = tokenTable;
+  }
 
   @Override
   public Object create(Token token) {
     if (token != null && token.getType() == DelphiLexer.TkIdentifier) {
-      return new IdentifierNodeImpl(token);
+      return new IdentifierNodeImpl(tokenTable.get(token));
     }
-    return new CommonDelphiNodeImpl(token);
+    return new CommonDelphiNodeImpl(tokenTable.get(token));
   }
 
   @Override
@@ -66,8 +81,8 @@ public class DelphiTreeAdaptor extends BaseTreeAdaptor {
   @Override
   public void setTokenBoundaries(Object node, Token startToken, Token stopToken) {
     if (node != null) {
-      ((MutableDelphiNode) node).setFirstToken(new DelphiTokenImpl(startToken));
-      ((MutableDelphiNode) node).setLastToken(new DelphiTokenImpl(stopToken));
+      ((MutableDelphiNode) node).setFirstToken(tokenTable.get(startToken));
+      ((MutableDelphiNode) node).setLastToken(tokenTable.get(stopToken));
     }
   }
 
@@ -181,12 +196,12 @@ public class DelphiTreeAdaptor extends BaseTreeAdaptor {
 
   @Override
   public Object getChild(Object node, int index) {
-    return ((DelphiNode) node).getChildren().get(index);
+    return ((DelphiNode) node).getChild(index);
   }
 
   @Override
   public int getChildCount(Object node) {
-    return ((DelphiNode) node).getChildren().size();
+    return ((DelphiNode) node).getChildrenCount();
   }
 
   @Override
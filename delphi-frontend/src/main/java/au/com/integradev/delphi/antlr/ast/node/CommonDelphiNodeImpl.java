@@ -18,6 +18,7 @@
  */
 package au.com.integradev.delphi.antlr.ast.node;
 
+import au.com.integradev.delphi.antlr.ast.token.DelphiTokenImpl;
 import au.com.integradev.delphi.antlr.ast.visitors.DelphiParserVisitor;
 import org.antlr.runtime.Token;
 import org.sonar.plugins.communitydelphi.api.ast.CommonDelphiNode;
@@ -27,6 +28,10 @@ public final class CommonDelphiNodeImpl extends DelphiNodeImpl implements Common
     super(token);
   }
 
+  public CommonDelphiNodeImpl(DelphiTokenImpl token) {
+    super(token);
+  }
+
   @Override
   public <T> T accept(DelphiParserVisitor<T> visitor, T data) {
     return visitor.visit(this, data);
@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.Token;
 import org.sonar.plugins.communitydelphi.api.ast.DelphiAst;
@@ -43,10 +44,14 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
   private final DelphiToken token;
   protected DelphiNode parent;
   private List<DelphiNode> children;
+  private List<DelphiNode> childrenView;
   private int childIndex;
   private DelphiToken firstToken;
   private DelphiToken lastToken;
   private DelphiScope scope;
+  private DelphiScope resolvedScope;
+  private DelphiAst ast;
+  int indexPosition = -1;
 
   /**
    * All nodes must implement this constructor. Used to create a node with a concrete token. Also
@@ -55,7 +60,16 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
    * @param token Token to create the node with
    */
   protected DelphiNodeImpl(Token token) {
-    this.token = new DelphiTokenImpl(token);
+    this(new DelphiTokenImpl(token));
+  }
+
+  /**
+   * Used to create a node with a token wrapper that is shared with other nodes.
+   *
+   * @param token Token to create the node with
+   */
+  protected DelphiNodeImpl(DelphiTokenImpl token) {
+    this.token = token;
   }
 
   /**
@@ -67,6 +81,15 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
     this(new CommonToken(tokenType, DelphiParser.tokenNames[tokenType]));
   }
 
+  /**
+   * Returns the kind of this node, which identifies its concrete implementation.
+   *
+   * @return node kind
+   */
+  public final NodeKind getNodeKind() {
+    return NodeKind.of(this);
+  }
+
   @Override
   public DelphiTokenType getTokenType() {
     return this.token.getType();
@@ -100,24 +123,54 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
   @Override
   public void setScope(DelphiScope scope) {
     this.scope = scope;
+    this.resolvedScope = null;
+    invalidateResolvedScopes();
   }
 
   @Override
   @Nonnull
   public DelphiScope getScope() {
-    if (scope == null) {
-      if (parent != null) {
-        return parent.getScope();
+    if (scope != null) {
+      return scope;
+    }
+
+    if (!(getAst() instanceof DelphiAstImpl)) {
+      return findEnclosingScope();
+    }
+
+    // The enclosing scope is cached until a scope is set on this node or one of its parents.
+    if (resolvedScope == null) {
+      resolvedScope = findEnclosingScope();
+    }
+    return resolvedScope;
+  }
+
+  /**
+   * Drops the cached enclosing scopes that descendants inherited through this node.
+   *
+   * <p>A node only caches its enclosing scope after its parent has either cached one or set one
+   * explicitly, so the walk stops at any child with nothing cached, and at any child that sets its
+   * own scope.
+   */
+  private void invalidateResolvedScopes() {
+    for (int i = 0; i < getChildrenCount(); ++i) {
+      DelphiNodeImpl child = (DelphiNodeImpl) children.get(i);
+      if (child.scope == null && child.resolvedScope != null) {
+        child.resolvedScope = null;
+        child.invalidateResolvedScopes();
       }
-      return unknownScope();
     }
-    return scope;
+  }
+
+  private DelphiScope findEnclosingScope() {
+    return parent == null ? unknownScope() : parent.getScope();
   }
 
   @Override
   public void addChild(@Nonnull DelphiNode node) {
     if (this.children == null) {
       this.children = new ArrayList<>();
+      this.childrenView = null;
     }
 
     DelphiNodeImpl child = (DelphiNodeImpl) node;
@@ -167,8 +220,8 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
     DelphiToken result = this.token;
     int index = result.getIndex();
 
-    for (int i = 0; i < getChildren().size(); ++i) {
-      DelphiToken childToken = getChild(i).getFirstToken();
+    for (int i = 0; i < getChildrenCount(); ++i) {
+      DelphiToken childToken = children.get(i).getFirstToken();
       if (!childToken.isImaginary() && childToken.getIndex() < index) {
         result = childToken;
       }
@@ -181,8 +234,8 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
     DelphiToken result = this.getFirstToken();
     int index = result.getIndex();
 
-    for (DelphiNode child : getChildren()) {
-      DelphiToken childToken = child.getLastToken();
+    for (int i = 0; i < getChildrenCount(); ++i) {
+      DelphiToken childToken = children.get(i).getLastToken();
       if (!childToken.isImaginary() && childToken.getIndex() > index) {
         result = childToken;
       }
@@ -192,7 +245,8 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
 
   @Override
   public DelphiNode getFirstChildWithTokenType(DelphiTokenType tokenType) {
-    for (DelphiNode child : getChildren()) {
+    for (int i = 0; i < getChildrenCount(); ++i) {
+      DelphiNode child = children.get(i);
       if (child.getToken().getType() == tokenType) {
         return child;
       }
@@ -207,10 +261,10 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
 
   @Override
   public final DelphiAst getAst() {
-    if (this instanceof DelphiAst) {
-      return (DelphiAst) this;
+    if (ast == null) {
+      ast = this instanceof DelphiAst ? (DelphiAst) this : getFirstParentOfType(DelphiAst.class);
     }
-    return getFirstParentOfType(DelphiAst.class);
+    return ast;
   }
 
   @Override
@@ -220,8 +274,8 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
 
   @Override
   public <T> T childrenAccept(DelphiParserVisitor<T> visitor, T data) {
-    for (DelphiNode child : getChildren()) {
-      child.accept(visitor, data);
+    for (int i = 0; i < getChildrenCount(); ++i) {
+      NodeKind.dispatch(visitor, children.get(i), data);
     }
     return data;
   }
@@ -229,6 +283,11 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
   @Override
   public void setParent(DelphiNode parent) {
     this.parent = parent;
+    this.ast = null;
+    if (resolvedScope != null) {
+      this.resolvedScope = null;
+      invalidateResolvedScopes();
+    }
   }
 
   @Override
@@ -248,12 +307,23 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
 
   @Override
   public List<DelphiNode> getChildren() {
-    return children == null ? Collections.emptyList() : Collections.unmodifiableList(children);
+    if (children == null) {
+      return Collections.emptyList();
+    }
+    if (childrenView == null) {
+      childrenView = Collections.unmodifiableList(children);
+    }
+    return childrenView;
+  }
+
+  @Override
+  public int getChildrenCount() {
+    return children == null ? 0 : children.size();
   }
 
   @Override
   public DelphiNode getChild(int index) {
-    if (index >= 0 && index < getChildren().size()) {
+    if (index >= 0 && index < getChildrenCount()) {
       return this.children.get(index);
     }
     return null;
@@ -306,6 +376,14 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
 
   @Override
   public <T> List<T> findDescendantsOfType(Class<T> targetType) {
+    NodeTypeIndex index = getNodeTypeIndex();
+    if (index != null) {
+      List<T> indexed = index.findDescendantsOfType(this, targetType);
+      if (indexed != null) {
+        return indexed;
+      }
+    }
+
     List<T> list = new ArrayList<>();
     findDescendantsOfType(this, targetType, list);
     return list;
@@ -313,7 +391,8 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
 
   private static <T> void findDescendantsOfType(
       DelphiNode node, Class<T> targetType, List<T> results) {
-    for (DelphiNode child : node.getChildren()) {
+    for (int i = 0; i < node.getChildrenCount(); ++i) {
+      DelphiNode child = node.getChild(i);
       if (targetType.isAssignableFrom(child.getClass())) {
         results.add(targetType.cast(child));
       }
@@ -326,7 +405,8 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
   public <T> List<T> findChildrenOfType(Class<T> targetType) {
     List<T> list = new ArrayList<>();
 
-    for (DelphiNode child : getChildren()) {
+    for (int i = 0; i < getChildrenCount(); ++i) {
+      DelphiNode child = children.get(i);
       if (targetType.isInstance(child)) {
         list.add(targetType.cast(child));
       }
@@ -337,12 +417,23 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
 
   @Override
   public <T> T getFirstDescendantOfType(Class<T> descendantType) {
+    NodeTypeIndex index = getNodeTypeIndex();
+    if (index != null && index.contains(this)) {
+      return index.getFirstDescendantOfType(this, descendantType);
+    }
     return getFirstDescendantOfType(descendantType, this);
   }
 
+  @Nullable
+  private NodeTypeIndex getNodeTypeIndex() {
+    DelphiAst root = getAst();
+    return root instanceof DelphiAstImpl ? ((DelphiAstImpl) root).getNodeTypeIndex() : null;
+  }
+
   @Override
   public <T> T getFirstChildOfType(Class<T> childType) {
-    for (DelphiNode child : getChildren()) {
+    for (int i = 0; i < getChildrenCount(); ++i) {
+      DelphiNode child = children.get(i);
       if (childType.isInstance(child)) {
         return childType.cast(child);
       }
@@ -352,7 +443,8 @@ public abstract class DelphiNodeImpl implements MutableDelphiNode {
   }
 
   private static <T> T getFirstDescendantOfType(Class<T> descendantType, DelphiNode node) {
-    for (DelphiNode child : node.getChildren()) {
+    for (int i = 0; i < node.getChildrenCount(); ++i) {
+      DelphiNode child = node.getChild(i);
       if (descendantType.isAssignableFrom(child.getClass())) {
         return descendantType.cast(child);
       }
@@ -19,6 +19,7 @@
 package au.com.integradev.delphi.antlr.ast.node;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.antlr.runtime.Token;
 import org.sonar.plugins.communitydelphi.api.ast.ExpressionNode;
 import org.sonar.plugins.communitydelphi.api.ast.ParenthesizedExpressionNode;
@@ -44,6 +45,25 @@ public abstract class ExpressionNodeImpl extends DelphiNodeImpl implements Expre
     return type;
   }
 
+  /**
+   * Returns the type of this expression if it has already been resolved, without resolving it.
+   *
+   * @return the resolved type, or null if the type has not been resolved yet
+   */
+  @Nullable
+  public Type getResolvedType() {
+    return type;
+  }
+
+  /**
+   * Sets the type of this expression, so that it doesn't need to be resolved again.
+   *
+   * @param type the resolved type of this expression
+   */
+  public void setType(Type type) {
+    this.type = type;
+  }
+
   @Override
   @Nonnull
   public ExpressionNode skipParentheses() {
@@ -18,6 +18,8 @@
  */
 package au.com.integradev.delphi.antlr.ast.node;
 
+import au.com.integradev.delphi.antlr.ast.token.DelphiTokenImpl;
+import au.com.integradev.delphi.antlr.ast.token.IdentifierPool;
 import au.com.integradev.delphi.antlr.ast.visitors.DelphiParserVisitor;
 import org.antlr.runtime.Token;
 import org.apache.commons.lang3.StringUtils;
@@ -30,6 +32,10 @@ public final class IdentifierNodeImpl extends DelphiNodeImpl implements Identifi
     super(token);
   }
 
+  public IdentifierNodeImpl(DelphiTokenImpl token) {
+    super(token);
+  }
+
   @Override
   public <T> T accept(DelphiParserVisitor<T> visitor, T data) {
     return visitor.visit(this, data);
@@ -38,7 +44,7 @@ public final class IdentifierNodeImpl extends DelphiNodeImpl implements Identifi
   @Override
   public String getImage() {
     if (normalizedImage == null) {
-      normalizedImage = StringUtils.removeStart(super.getImage(), "&");
+      normalizedImage = IdentifierPool.intern(StringUtils.removeStart(super.getImage(), "&"));
     }
     return normalizedImage;
   }
@@ -0,0 +1,153 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.antlr.ast.node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.sonar.plugins.communitydelphi.api.ast.DelphiNode;
+
+/**
+ * Index of the nodes in an AST by type.
+ *
+ * <p>Nodes are stored in document order, and each node knows the range of positions occupied by its
+ * subtree. Descendant queries are then a binary search over the positions of the nodes of the
+ * requested type, rather than a walk of the whole subtree.
+ */
+public final class NodeTypeIndex {
+  private final DelphiNode[] nodes;
+  private final int[] subtreeEnds;
+  private final Map<Class<?>, int[]> positionsByType = new HashMap<>();
+
+  public NodeTypeIndex(DelphiNodeImpl root) {
+    int size = countNodes(root);
+    this.nodes = new DelphiNode[size];
+    this.subtreeEnds = new int[size];
+    addNode(root, 0);
+  }
+
+  private static int countNodes(DelphiNode node) {
+    int count = 1;
+    for (int i = 0; i < node.getChildrenCount(); ++i) {
+      count += countNodes(node.getChild(i));
+    }
+    return count;
+  }
+
+  private int addNode(DelphiNode node, int position) {
+    nodes[position] = node;
+    if (node instanceof DelphiNodeImpl) {
+      ((DelphiNodeImpl) node).indexPosition = position;
+    }
+
+    int next = position + 1;
+    for (int i = 0; i < node.getChildrenCount(); ++i) {
+      next = addNode(node.getChild(i), next);
+    }
+
+    subtreeEnds[position] = next;
+    return next;
+  }
+
+  /**
+   * Finds all descendants of a node that are instances of the given type, in document order.
+   *
+   * @param node the node whose descendants are searched
+   * @param type the type of descendant to find
+   * @param <T> the type of descendant to find
+   * @return list of matching descendants, or null if the node is not part of this index
+   */
+  @Nullable
+  <T> List<T> findDescendantsOfType(DelphiNodeImpl node, Class<T> type) {
+    int position = positionOf(node);
+    if (position == -1) {
+      return null;
+    }
+
+    int[] positions = positionsOf(type);
+    int start = lowerBound(positions, position + 1);
+    int end = lowerBound(positions, subtreeEnds[position]);
+
+    List<T> result = new ArrayList<>(end - start);
+    for (int i = start; i < end; ++i) {
+      result.add(type.cast(nodes[positions[i]]));
+    }
+    return result;
+  }
+
+  /**
+   * Finds the first descendant of a node that is an instance of the given type.
+   *
+   * @param node the node whose descendants are searched, which must be part of this index
+   * @param type the type of descendant to find
+   * @param <T> the type of descendant to find
+   * @return the first matching descendant, or null if there is none
+   */
+  @Nullable
+  <T> T getFirstDescendantOfType(DelphiNodeImpl node, Class<T> type) {
+    int position = node.indexPosition;
+    int[] positions = positionsOf(type);
+    int start = lowerBound(positions, position + 1);
+    if (start < positions.length && positions[start] < subtreeEnds[position]) {
+      return type.cast(nodes[positions[start]]);
+    }
+    return null;
+  }
+
+  /**
+   * Returns whether a node was part of the tree when this index was built.
+   *
+   * @param node the node
+   * @return true if the node is part of this index
+   */
+  boolean contains(DelphiNodeImpl node) {
+    return positionOf(node) != -1;
+  }
+
+  private int positionOf(DelphiNodeImpl node) {
+    int position = node.indexPosition;
+    if (position >= 0 && position < nodes.length && nodes[position] == node) {
+      return position;
+    }
+    return -1;
+  }
+
+  private int[] positionsOf(Class<?> type) {
+    return positionsByType.computeIfAbsent(
+        type,
+        key -> {
+          int[] positions = new int[nodes.length];
+          int count = 0;
+          for (int i = 0; i < nodes.length; ++i) {
+            if (key.isInstance(nodes[i])) {
+              positions[count++] = i;
+            }
+          }
+          return Arrays.copyOf(positions, count);
+        });
+  }
+
+  private static int lowerBound(int[] positions, int key) {
+    int position = Arrays.binarySearch(positions, key);
+    return position >= 0 ? position : -(position + 1);
+  }
+}
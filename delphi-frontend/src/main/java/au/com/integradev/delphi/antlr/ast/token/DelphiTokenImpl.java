@@ -18,7 +18,10 @@
  */
 package au.com.integradev.delphi.antlr.ast.token;
 
+import au.com.integradev.delphi.antlr.DelphiFileStream;
+import au.com.integradev.delphi.antlr.DelphiLexer;
 import au.com.integradev.delphi.core.DelphiKeywords;
+import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.Token;
 import org.sonar.plugins.communitydelphi.api.check.FilePosition;
 import org.sonar.plugins.communitydelphi.api.token.DelphiToken;
@@ -29,10 +32,11 @@ public class DelphiTokenImpl implements DelphiToken {
   private final Token token;
   private final DelphiTokenType tokenType;
   private String image;
-  private Integer beginLine;
-  private Integer beginColumn;
-  private Integer endLine;
-  private Integer endColumn;
+  private boolean positionCalculated;
+  private int beginLine;
+  private int beginColumn;
+  private int endLine;
+  private int endColumn;
 
   public DelphiTokenImpl(Token token) {
     this.token = token;
@@ -46,49 +50,51 @@ public class DelphiTokenImpl implements DelphiToken {
   public String getImage() {
     if (image == null && !isNil()) {
       image = token.getText();
+      if (image != null && (token.getType() == DelphiLexer.TkIdentifier || isKeyword())) {
+        image = IdentifierPool.intern(image);
+      }
     }
     return image;
   }
 
   @Override
   public int getBeginLine() {
-    if (beginLine == null) {
-      calculatePosition();
-    }
+    calculatePosition();
     return beginLine;
   }
 
   @Override
   public int getBeginColumn() {
-    if (beginColumn == null) {
-      calculatePosition();
-    }
+    calculatePosition();
     return beginColumn;
   }
 
   @Override
   public int getEndLine() {
-    if (endLine == null) {
-      calculatePosition();
-    }
+    calculatePosition();
     return endLine;
   }
 
   @Override
   public int getEndColumn() {
-    if (endColumn == null) {
-      calculatePosition();
-    }
+    calculatePosition();
     return endColumn;
   }
 
   private void calculatePosition() {
+    if (positionCalculated) {
+      return;
+    }
+
     if (isIncludedToken()) {
       FilePosition insertionPosition = ((IncludeToken) token).getInsertionPosition();
       beginLine = insertionPosition.getBeginLine();
       beginColumn = insertionPosition.getBeginColumn();
       endLine = insertionPosition.getEndLine();
       endColumn = insertionPosition.getEndColumn();
+    } else if ((isComment() || isCompilerDirective()) && hasFileStreamOffsets()) {
+      // Avoid rescanning the token text by using the line offsets of the file.
+      calculateMultilinePosition((DelphiFileStream) token.getInputStream());
     } else if (isComment() || isCompilerDirective()) {
       TokenLocation location =
           new TokenLocation(token.getLine(), token.getCharPositionInLine(), token.getText());
@@ -102,6 +108,30 @@ public class DelphiTokenImpl implements DelphiToken {
       endLine = beginLine;
       endColumn = beginColumn + getImage().length();
     }
+    positionCalculated = true;
+  }
+
+  private boolean hasFileStreamOffsets() {
+    return token.getInputStream() instanceof DelphiFileStream
+        && token instanceof CommonToken
+        && ((CommonToken) token).getStartIndex() >= 0
+        && ((CommonToken) token).getStopIndex() >= ((CommonToken) token).getStartIndex();
+  }
+
+  private void calculateMultilinePosition(DelphiFileStream stream) {
+    int start = ((CommonToken) token).getStartIndex();
+    int end = ((CommonToken) token).getStopIndex() + 1;
+    int startLineIndex = stream.getLineIndex(start);
+    int endLineIndex = stream.getLineIndex(end);
+
+    beginLine = token.getLine();
+    beginColumn = token.getCharPositionInLine();
+    endLine = beginLine + (endLineIndex - startLineIndex);
+    if (endLineIndex == startLineIndex) {
+      endColumn = beginColumn + (end - start);
+    } else {
+      endColumn = end - stream.getLineStart(endLineIndex);
+    }
   }
 
   @Override
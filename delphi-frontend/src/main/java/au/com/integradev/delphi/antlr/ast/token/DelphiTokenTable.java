@@ -0,0 +1,61 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.antlr.ast.token;
+
+import java.util.Arrays;
+import org.antlr.runtime.Token;
+
+/**
+ * Per-file table of {@link DelphiTokenImpl} wrappers, indexed by token index.
+ *
+ * <p>The same ANTLR token is referenced by the raw token list, by the node created for it, and by
+ * the first/last token boundaries of every node that starts or ends with it. The table hands out a
+ * single wrapper for each token, so its image and position are only computed and stored once.
+ */
+public final class DelphiTokenTable {
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private DelphiTokenImpl[] tokens = new DelphiTokenImpl[INITIAL_CAPACITY];
+
+  /**
+   * Returns the wrapper for an ANTLR token, creating it on first use.
+   *
+   * <p>Imaginary tokens have no token index and always get a new wrapper.
+   *
+   * @param token the ANTLR token
+   * @return the shared wrapper for the token
+   */
+  public DelphiTokenImpl get(Token token) {
+    int index = token == null ? -1 : token.getTokenIndex();
+    if (index < 0) {
+      return new DelphiTokenImpl(token);
+    }
+
+    if (index >= tokens.length) {
+      tokens = Arrays.copyOf(tokens, Math.max(index + 1, tokens.length * 2));
+    }
+
+    DelphiTokenImpl result = tokens[index];
+    if (result == null || result.getAntlrToken() != token) {
+      result = new DelphiTokenImpl(token);
+      tokens[index] = result;
+    }
+    return result;
+  }
+}
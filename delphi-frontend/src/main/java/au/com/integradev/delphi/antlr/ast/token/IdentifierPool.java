@@ -0,0 +1,74 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.antlr.ast.token;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Scan-wide pool of identifier images.
+ *
+ * <p>The same identifiers occur many times across a codebase, and every occurrence would otherwise
+ * be a distinct substring of its file. Pooled images are weakly held, so identifiers that are no
+ * longer referenced by any AST or symbol table can still be collected.
+ */
+public final class IdentifierPool {
+  private static final Interner<String> IMAGES = Interners.newWeakInterner();
+
+  // Keys are pooled images, which are compared by identity. Values are never the key itself.
+  private static final Cache<String, String> CASE_FOLDED =
+      CacheBuilder.newBuilder().weakKeys().build();
+
+  private IdentifierPool() {
+    // Utility class
+  }
+
+  /**
+   * Returns the pooled instance of an identifier image.
+   *
+   * @param image the identifier image
+   * @return a string equal to the image, shared by every caller
+   */
+  public static String intern(String image) {
+    return IMAGES.intern(image);
+  }
+
+  /**
+   * Returns the case-folded form of an identifier image, which can be used as a case-insensitive
+   * key. The case-folded form is computed once per distinct identifier.
+   *
+   * @param image the identifier image
+   * @return the pooled lowercase form of the image
+   */
+  public static String caseFolded(String image) {
+    String pooled = IMAGES.intern(image);
+    String result = CASE_FOLDED.getIfPresent(pooled);
+    if (result == null) {
+      result = pooled.toLowerCase();
+      if (result.equals(pooled)) {
+        return pooled;
+      }
+      result = IMAGES.intern(result);
+      CASE_FOLDED.put(pooled, result);
+    }
+    return result;
+  }
+}
@@ -27,6 +27,7 @@ import com.google.common.base.Preconditions;
 import org.sonar.plugins.communitydelphi.api.ast.ArrayAccessorNode;
 import org.sonar.plugins.communitydelphi.api.ast.DelphiAst;
 import org.sonar.plugins.communitydelphi.api.ast.DelphiNode;
+import org.sonar.plugins.communitydelphi.api.ast.ExpressionNode;
 import org.sonar.plugins.communitydelphi.api.ast.NameDeclarationNode;
 import org.sonar.plugins.communitydelphi.api.ast.NameReferenceNode;
 import org.sonar.plugins.communitydelphi.api.ast.RoutineNameNode;
@@ -42,7 +43,8 @@ import org.sonar.plugins.communitydelphi.api.symbol.declaration.UnitNameDeclarat
  * link between symbols and their relevant AST nodes. (Scope associations, NameReferenceNode links,
  * NameDeclarationNode links...)
  *
- * <p>This visitor re-attaches applicable symbol information to the nodes of a fresh AST.
+ * <p>This visitor re-attaches applicable symbol information to the nodes of a fresh AST, along with
+ * the expression types that were resolved while building the symbol table.
  */
 public class SymbolAssociationVisitor implements DelphiParserVisitor<Data> {
   public static class Data {
@@ -66,7 +68,15 @@ public class SymbolAssociationVisitor implements DelphiParserVisitor<Data> {
     data.fileScope = (FileScopeImpl) declaration.getFileScope();
     ((DelphiAstImpl) node).setScope(data.fileScope);
 
-    return node.childrenAccept(this, data);
+    try {
+      node.childrenAccept(this, data);
+    } finally {
+      // Expression types are only valid for this analysis of the file, so they're dropped even if
+      // the association fails part way through.
+      data.fileScope.unregisterTypes();
+    }
+
+    return data;
   }
 
   @Override
@@ -75,6 +85,12 @@ public class SymbolAssociationVisitor implements DelphiParserVisitor<Data> {
     return DelphiParserVisitor.super.visit(node, data);
   }
 
+  @Override
+  public Data visit(ExpressionNode node, Data data) {
+    data.fileScope.attach(node);
+    return DelphiParserVisitor.super.visit(node, data);
+  }
+
   @Override
   public Data visit(NameDeclarationNode node, Data data) {
     data.fileScope.attach(node);
@@ -53,6 +53,7 @@ import au.com.integradev.delphi.symbol.scope.WithScopeImpl;
 import au.com.integradev.delphi.type.TypeUtils;
 import au.com.integradev.delphi.type.factory.ClassReferenceTypeImpl;
 import au.com.integradev.delphi.type.factory.PointerTypeImpl;
+import au.com.integradev.delphi.type.factory.TypeFactoryImpl;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterables;
 import java.nio.file.Path;
@@ -754,6 +755,12 @@ public abstract class SymbolTableVisitor implements DelphiParserVisitor<Data> {
     return DelphiParserVisitor.super.visit(node, data);
   }
 
+  private static boolean completesForwardDeclaration(TypeDeclarationNode node) {
+    NameDeclaration declaration = node.getTypeNameDeclaration();
+    return declaration instanceof NameDeclarationImpl
+        && ((NameDeclarationImpl) declaration).getForwardDeclaration() != null;
+  }
+
   private static boolean isVariableNameDeclaration(NameDeclarationNode node) {
     var nodeKind = ((NameDeclarationNodeImpl) node).getKind();
     switch (nodeKind) {
@@ -800,6 +807,7 @@ public abstract class SymbolTableVisitor implements DelphiParserVisitor<Data> {
   public Data visit(TypeSectionNode node, Data data) {
     DelphiParserVisitor.super.visit(node, data);
 
+    boolean typesCompleted = false;
     for (DelphiNode child : node.getChildren()) {
       TypeDeclarationNode typeDeclaration = (TypeDeclarationNode) child;
       if (typeDeclaration.isClassReference()) {
@@ -807,14 +815,22 @@ public abstract class SymbolTableVisitor implements DelphiParserVisitor<Data> {
         TypeNode classOf = classReference.getClassOfTypeNode();
         data.nameResolutionHelper.resolve(classOf);
         ((ClassReferenceTypeImpl) classReference.getType()).setClassType(classOf.getType());
+        typesCompleted = true;
       } else if (typeDeclaration.isPointer()) {
         var pointer = (PointerTypeNode) typeDeclaration.getTypeNode();
         TypeNode dereferenced = pointer.getDereferencedTypeNode();
         data.nameResolutionHelper.resolve(dereferenced);
         ((PointerTypeImpl) pointer.getType()).setDereferencedType(dereferenced.getType());
+        typesCompleted = true;
+      } else if (completesForwardDeclaration(typeDeclaration)) {
+        typesCompleted = true;
       }
     }
 
+    if (typesCompleted && data.typeFactory instanceof TypeFactoryImpl) {
+      ((TypeFactoryImpl) data.typeFactory).getInvocationResolutionCache().invalidateAll();
+    }
+
     return data;
   }
 
@@ -26,6 +26,7 @@ import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.plugins.communitydelphi.api.ast.DelphiAst;
 import org.sonar.plugins.communitydelphi.api.check.DelphiCheck;
 import org.sonar.plugins.communitydelphi.api.check.DelphiCheckContext;
+import org.sonar.plugins.communitydelphi.api.directive.CompilerDirective;
 import org.sonar.plugins.communitydelphi.api.directive.CompilerDirectiveParser;
 import org.sonar.plugins.communitydelphi.api.reporting.DelphiIssueBuilder;
 import org.sonar.plugins.communitydelphi.api.token.DelphiToken;
@@ -76,6 +77,11 @@ public class DelphiCheckContextImpl implements DelphiCheckContext {
     return compilerDirectiveParser;
   }
 
+  @Override
+  public List<CompilerDirective> getCompilerDirectives() {
+    return delphiFile.getCompilerDirectiveCache().getDirectives();
+  }
+
   @Override
   public TypeFactory getTypeFactory() {
     return delphiFile.getTypeFactory();
@@ -23,25 +23,39 @@
 package au.com.integradev.delphi.coverage;
 
 import au.com.integradev.delphi.msbuild.DelphiProjectHelper;
-import com.google.common.base.Splitter;
 import java.io.File;
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.batch.sensor.coverage.NewCoverage;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
+/**
+ * Streams line hits out of DelphiCodeCoverage XML reports.
+ *
+ * <p>Reports can be very large, so they are read with a StAX cursor instead of being loaded into a
+ * DOM. The {@code line=hits;} text of each {@code file} element is parsed straight from the
+ * reader's character buffer, without building any intermediate strings.
+ *
+ * <p>A single parser may be used to parse several reports concurrently. Line hits are collected
+ * concurrently, but the sensor context and input files are only touched while saving, one file at a
+ * time.
+ */
 public class DelphiCodeCoverageParser implements DelphiCoverageParser {
   private static final Logger LOG = LoggerFactory.getLogger(DelphiCodeCoverageParser.class);
+  private static final String LINE_HITS_ELEMENT = "linehits";
+  private static final String FILE_ELEMENT = "file";
+  private static final String NAME_ATTRIBUTE = "name";
+
   private final DelphiProjectHelper delphiProjectHelper;
+  private final Object saveLock = new Object();
 
   public DelphiCodeCoverageParser(DelphiProjectHelper delphiProjectHelper) {
     this.delphiProjectHelper = delphiProjectHelper;
@@ -59,67 +73,194 @@ public class DelphiCodeCoverageParser implements DelphiCoverageParser {
   }
 
   private void parseReportFile(SensorContext sensorContext, File reportFile) {
-    try {
-      DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory.newInstance();
-      docBuilderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-      docBuilderFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-      docBuilderFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
-      DocumentBuilder docBuilder = docBuilderFactory.newDocumentBuilder();
-      Document doc = docBuilder.parse(reportFile);
-
-      doc.getDocumentElement().normalize();
-
-      NodeList dataNodes = doc.getElementsByTagName("linehits");
-      Element lineHits = (Element) dataNodes.item(0);
-      if (lineHits == null) {
-        LOG.warn("'linehits' element not found in coverage report: {}", reportFile);
-        return;
+    try (InputStream stream = Files.newInputStream(reportFile.toPath())) {
+      XMLStreamReader reader = createInputFactory().createXMLStreamReader(stream);
+      try {
+        if (!parseLineHits(sensorContext, reader)) {
+          LOG.warn("'linehits' element not found in coverage report: {}", reportFile);
+        }
+      } finally {
+        reader.close();
       }
-
-      NodeList files = lineHits.getElementsByTagName("file");
-      for (int i = 0; i < files.getLength(); i++) {
-        parseFileNode(sensorContext, files.item(i));
-      }
-    } catch (SAXException e) {
+    } catch (XMLStreamException e) {
       LOG.error("Failed to parse coverage report: ", e);
     } catch (Exception e) {
       LOG.error("Unexpected exception while parsing coverage reports: ", e);
     }
   }
 
-  private void parseFileNode(SensorContext sensorContext, Node srcFile) {
-    String fileName = srcFile.getAttributes().getNamedItem("name").getTextContent();
-    InputFile sourceFile = delphiProjectHelper.getFileFromBasename(fileName);
+  private static XMLInputFactory createInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+
+  /**
+   * Reads the {@code file} elements of the first {@code linehits} element in the report.
+   *
+   * @param sensorContext the sensor context
+   * @param reader the report reader
+   * @return true if a {@code linehits} element was found
+   * @throws XMLStreamException if the report is malformed
+   */
+  private boolean parseLineHits(SensorContext sensorContext, XMLStreamReader reader)
+      throws XMLStreamException {
+    if (!skipTo(reader, LINE_HITS_ELEMENT)) {
+      return false;
+    }
+
+    int depth = 1;
+    while (depth > 0) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        if (depth == 1 && reader.getLocalName().equals(FILE_ELEMENT)) {
+          parseFileElement(sensorContext, reader);
+        } else {
+          ++depth;
+        }
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        --depth;
+      }
+    }
+    return true;
+  }
+
+  private static boolean skipTo(XMLStreamReader reader, String localName)
+      throws XMLStreamException {
+    while (reader.hasNext()) {
+      if (reader.next() == XMLStreamConstants.START_ELEMENT
+          && reader.getLocalName().equals(localName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void parseFileElement(SensorContext sensorContext, XMLStreamReader reader)
+      throws XMLStreamException {
+    String fileName = reader.getAttributeValue(null, NAME_ATTRIBUTE);
+    InputFile sourceFile =
+        fileName == null ? null : delphiProjectHelper.getFileFromBasename(fileName);
 
     if (sourceFile == null) {
       LOG.debug("File not found in project: {}", fileName);
+      skipElement(reader);
       return;
     }
     LOG.debug("Parsing line hit information for file: {}", fileName);
 
-    NewCoverage newCoverage = sensorContext.newCoverage();
-    newCoverage.onFile(sourceFile);
+    LineHitsReader lineHits = new LineHitsReader();
+    int depth = 1;
+    while (depth > 0) {
+      switch (reader.next()) {
+        case XMLStreamConstants.START_ELEMENT:
+          ++depth;
+          break;
+        case XMLStreamConstants.END_ELEMENT:
+          --depth;
+          break;
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.CDATA:
+          lineHits.read(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+          break;
+        default:
+          // Comments, processing instructions and whitespace carry no line hits
+      }
+    }
+    lineHits.finish();
 
-    parseValue(srcFile.getTextContent(), newCoverage, sourceFile.lines());
-    newCoverage.save();
+    synchronized (saveLock) {
+      NewCoverage newCoverage = sensorContext.newCoverage();
+      newCoverage.onFile(sourceFile);
+      lineHits.addTo(newCoverage, sourceFile.lines());
+      newCoverage.save();
+    }
   }
 
-  private static void parseValue(String lineCoverage, NewCoverage newCoverage, int numLines) {
-    Splitter.on(';')
-        .split(lineCoverage)
-        .forEach(lineHit -> parseLineHit(lineHit, numLines, newCoverage));
+  private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        ++depth;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        --depth;
+      }
+    }
   }
 
-  private static void parseLineHit(String lineHit, int numLines, NewCoverage newCoverage) {
-    int eq = lineHit.indexOf('=');
-    if (eq > 0) {
-      int lineNumber = Integer.parseInt(lineHit.substring(0, eq));
-      int lineHits = Integer.parseInt(lineHit.substring(eq + 1));
-      if (lineNumber > numLines) {
-        LOG.debug(
-            "skipping line hit on line {} because it's beyond the end of the file", lineNumber);
+  /**
+   * Incrementally parses {@code line=hits;} entries, which may be split across several chunks of
+   * text. Whitespace is ignored, and malformed entries are skipped.
+   */
+  private static final class LineHitsReader {
+    private int[] lines = new int[64];
+    private int[] lineHits = new int[64];
+    private int size;
+    private int line;
+    private int hits;
+    private boolean readingHits;
+    private boolean hasDigits;
+    private boolean malformed;
+
+    private void read(char[] text, int start, int length) {
+      for (int i = start; i < start + length; ++i) {
+        char c = text[i];
+        if (c >= '0' && c <= '9') {
+          readDigit(c - '0');
+        } else if (c == '=') {
+          malformed |= readingHits || !hasDigits;
+          readingHits = true;
+          hasDigits = false;
+        } else if (c == ';') {
+          finish();
+        } else if (!Character.isWhitespace(c)) {
+          malformed = true;
+        }
+      }
+    }
+
+    private void readDigit(int digit) {
+      int value = readingHits ? hits : line;
+      if (value > (Integer.MAX_VALUE - digit) / 10) {
+        malformed = true;
+        return;
+      }
+      value = value * 10 + digit;
+      if (readingHits) {
+        hits = value;
       } else {
-        newCoverage.lineHits(lineNumber, lineHits);
+        line = value;
+      }
+      hasDigits = true;
+    }
+
+    private void finish() {
+      if (readingHits && hasDigits && !malformed && line > 0) {
+        if (size == lines.length) {
+          lines = Arrays.copyOf(lines, size * 2);
+          lineHits = Arrays.copyOf(lineHits, size * 2);
+        }
+        lines[size] = line;
+        lineHits[size] = hits;
+        ++size;
+      }
+      line = 0;
+      hits = 0;
+      readingHits = false;
+      hasDigits = false;
+      malformed = false;
+    }
+
+    private void addTo(NewCoverage newCoverage, int numLines) {
+      for (int i = 0; i < size; ++i) {
+        if (lines[i] > numLines) {
+          LOG.debug(
+              "skipping line hit on line {} because it's beyond the end of the file", lines[i]);
+        } else {
+          newCoverage.lineHits(lines[i], lineHits[i]);
+        }
       }
     }
   }
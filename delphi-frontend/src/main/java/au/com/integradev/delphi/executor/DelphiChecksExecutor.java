@@ -20,10 +20,7 @@ package au.com.integradev.delphi.executor;
 
 import au.com.integradev.delphi.check.DelphiCheckContextImpl;
 import au.com.integradev.delphi.check.MasterCheckRegistrar;
-import au.com.integradev.delphi.compiler.Platform;
 import au.com.integradev.delphi.file.DelphiFile.DelphiInputFile;
-import au.com.integradev.delphi.msbuild.DelphiProjectHelper;
-import au.com.integradev.delphi.preprocessor.directive.CompilerDirectiveParserImpl;
 import java.util.Set;
 import java.util.function.Function;
 import org.slf4j.Logger;
@@ -41,24 +38,17 @@ import org.sonar.plugins.communitydelphi.api.directive.CompilerDirectiveParser;
 public class DelphiChecksExecutor implements Executor {
   private static final Logger LOG = LoggerFactory.getLogger(DelphiChecksExecutor.class);
 
-  private final DelphiProjectHelper delphiProjectHelper;
   private final MasterCheckRegistrar checkRegistrar;
   private final SonarRuntime sonarRuntime;
 
-  public DelphiChecksExecutor(
-      DelphiProjectHelper delphiProjectHelper,
-      MasterCheckRegistrar checkRegistrar,
-      SonarRuntime sonarRuntime) {
-    this.delphiProjectHelper = delphiProjectHelper;
+  public DelphiChecksExecutor(MasterCheckRegistrar checkRegistrar, SonarRuntime sonarRuntime) {
     this.checkRegistrar = checkRegistrar;
     this.sonarRuntime = sonarRuntime;
   }
 
   @Override
   public void execute(Context context, DelphiInputFile delphiFile) {
-    Platform platform = delphiProjectHelper.getToolchain().platform;
-    CompilerDirectiveParser compilerDirectiveParser =
-        new CompilerDirectiveParserImpl(platform, delphiFile.getTextBlockLineEndingModeRegistry());
+    CompilerDirectiveParser compilerDirectiveParser = delphiFile.getCompilerDirectiveCache();
     Function<DelphiCheck, DelphiCheckContext> createCheckContext =
         check ->
             new DelphiCheckContextImpl(
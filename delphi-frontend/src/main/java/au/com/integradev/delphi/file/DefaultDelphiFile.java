@@ -18,6 +18,7 @@
  */
 package au.com.integradev.delphi.file;
 
+import au.com.integradev.delphi.preprocessor.CompilerDirectiveCache;
 import au.com.integradev.delphi.preprocessor.CompilerSwitchRegistry;
 import au.com.integradev.delphi.preprocessor.TextBlockLineEndingModeRegistry;
 import java.io.File;
@@ -33,6 +34,7 @@ class DefaultDelphiFile implements DelphiFile {
   private List<DelphiToken> tokens;
   private List<DelphiToken> comments;
   private CompilerSwitchRegistry switchRegistry;
+  private CompilerDirectiveCache directiveCache;
   private TextBlockLineEndingModeRegistry textBlockLineEndingModeRegistry;
   private TypeFactory typeFactory;
   private String encoding;
@@ -76,6 +78,11 @@ class DefaultDelphiFile implements DelphiFile {
     return switchRegistry;
   }
 
+  @Override
+  public CompilerDirectiveCache getCompilerDirectiveCache() {
+    return directiveCache;
+  }
+
   @Override
   public TextBlockLineEndingModeRegistry getTextBlockLineEndingModeRegistry() {
     return textBlockLineEndingModeRegistry;
@@ -114,6 +121,10 @@ class DefaultDelphiFile implements DelphiFile {
     this.switchRegistry = switchRegistry;
   }
 
+  void setCompilerDirectiveCache(CompilerDirectiveCache directiveCache) {
+    this.directiveCache = directiveCache;
+  }
+
   void setTextBlockLineEndingModeRegistry(
       TextBlockLineEndingModeRegistry textBlockLineEndingModeRegistry) {
     this.textBlockLineEndingModeRegistry = textBlockLineEndingModeRegistry;
@@ -31,6 +31,10 @@ public class DefaultDelphiFileConfig implements DelphiFileConfig {
   private final SearchPath searchPath;
   private final Set<String> definitions;
   private final boolean skipImplementation;
+  private final boolean skipRoutineBodies;
+  private final Set<String> parsedRoutineBodies;
+  private final boolean profileParser;
+  private final boolean skipInactiveBranches;
 
   DefaultDelphiFileConfig(
       String encoding,
@@ -38,13 +42,21 @@ public class DefaultDelphiFileConfig implements DelphiFileConfig {
       TypeFactory typeFactory,
       SearchPath searchPath,
       Set<String> definitions,
-      boolean skipImplementation) {
+      boolean skipImplementation,
+      boolean skipRoutineBodies,
+      Set<String> parsedRoutineBodies,
+      boolean profileParser,
+      boolean skipInactiveBranches) {
     this.encoding = encoding;
     this.preprocessorFactory = preprocessorFactory;
     this.typeFactory = typeFactory;
     this.searchPath = searchPath;
     this.definitions = definitions;
     this.skipImplementation = skipImplementation;
+    this.skipRoutineBodies = skipRoutineBodies;
+    this.parsedRoutineBodies = parsedRoutineBodies;
+    this.profileParser = profileParser;
+    this.skipInactiveBranches = skipInactiveBranches;
   }
 
   @Nullable
@@ -77,4 +89,24 @@ public class DefaultDelphiFileConfig implements DelphiFileConfig {
   public boolean shouldSkipImplementation() {
     return skipImplementation;
   }
+
+  @Override
+  public boolean shouldSkipRoutineBodies() {
+    return skipRoutineBodies;
+  }
+
+  @Override
+  public Set<String> getParsedRoutineBodies() {
+    return parsedRoutineBodies;
+  }
+
+  @Override
+  public boolean shouldProfileParser() {
+    return profileParser;
+  }
+
+  @Override
+  public boolean shouldSkipInactiveBranches() {
+    return skipInactiveBranches;
+  }
 }
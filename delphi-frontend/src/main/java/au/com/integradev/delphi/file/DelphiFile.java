@@ -23,8 +23,13 @@ import au.com.integradev.delphi.antlr.DelphiLexer;
 import au.com.integradev.delphi.antlr.DelphiLexer.LexerException;
 import au.com.integradev.delphi.antlr.DelphiParser;
 import au.com.integradev.delphi.antlr.DelphiParser.ParserException;
+import au.com.integradev.delphi.antlr.DelphiTokenStream;
+import au.com.integradev.delphi.antlr.ParserProfiler;
+import au.com.integradev.delphi.antlr.RoutineBodyScanner;
+import au.com.integradev.delphi.antlr.RoutineBodyScanner.RoutineBody;
 import au.com.integradev.delphi.antlr.ast.DelphiAstImpl;
 import au.com.integradev.delphi.antlr.ast.DelphiTreeAdaptor;
+import au.com.integradev.delphi.preprocessor.CompilerDirectiveCache;
 import au.com.integradev.delphi.preprocessor.CompilerSwitchRegistry;
 import au.com.integradev.delphi.preprocessor.DelphiPreprocessor;
 import au.com.integradev.delphi.preprocessor.DelphiPreprocessorFactory;
@@ -34,6 +39,8 @@ import au.com.integradev.delphi.utils.DelphiUtils;
 import com.google.common.base.Splitter;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -63,6 +70,8 @@ public interface DelphiFile {
 
   CompilerSwitchRegistry getCompilerSwitchRegistry();
 
+  CompilerDirectiveCache getCompilerDirectiveCache();
+
   TextBlockLineEndingModeRegistry getTextBlockLineEndingModeRegistry();
 
   TypeFactory getTypeFactory();
@@ -88,7 +97,11 @@ public interface DelphiFile {
                 config.getTypeFactory(),
                 config.getSearchPath(),
                 config.getDefinitions(),
-                config.shouldSkipImplementation());
+                config.shouldSkipImplementation(),
+                config.shouldSkipRoutineBodies(),
+                config.getParsedRoutineBodies(),
+                config.shouldProfileParser(),
+                config.shouldSkipInactiveBranches());
       }
       return config;
     }
@@ -122,13 +135,41 @@ public interface DelphiFile {
       SearchPath searchPath,
       Set<String> definitions,
       boolean shouldSkipImplementation) {
+    return createConfig(
+        encoding,
+        preprocessorFactory,
+        typeFactory,
+        searchPath,
+        definitions,
+        shouldSkipImplementation,
+        false,
+        Collections.emptySet(),
+        false,
+        false);
+  }
+
+  static DelphiFileConfig createConfig(
+      @Nullable String encoding,
+      DelphiPreprocessorFactory preprocessorFactory,
+      TypeFactory typeFactory,
+      SearchPath searchPath,
+      Set<String> definitions,
+      boolean shouldSkipImplementation,
+      boolean shouldSkipRoutineBodies,
+      Set<String> parsedRoutineBodies,
+      boolean shouldProfileParser,
+      boolean shouldSkipInactiveBranches) {
     return new DefaultDelphiFileConfig(
         encoding,
         preprocessorFactory,
         typeFactory,
         searchPath,
         definitions,
-        shouldSkipImplementation);
+        shouldSkipImplementation,
+        shouldSkipRoutineBodies,
+        parsedRoutineBodies,
+        shouldProfileParser,
+        shouldSkipInactiveBranches);
   }
 
   static DelphiFile from(File sourceFile, DelphiFileConfig config) {
@@ -146,8 +187,9 @@ public interface DelphiFile {
       delphiFile.setSourceCodeFile(sourceFile);
       delphiFile.setSourceCodeEncoding(fileStream.getEncoding());
       delphiFile.setTypeFactory(config.getTypeFactory());
-      delphiFile.setAst(createAST(delphiFile, preprocessor.getTokenStream(), config));
+      delphiFile.setAst(createAST(delphiFile, preprocessor, config));
       delphiFile.setCompilerSwitchRegistry(preprocessor.getCompilerSwitchRegistry());
+      delphiFile.setCompilerDirectiveCache(preprocessor.getCompilerDirectiveCache());
       delphiFile.setTextBlockLineEndingModeRegistry(
           preprocessor.getTextBlockLineEndingModeRegistry());
       delphiFile.setSourceCodeLines(getSourceCodeLines(fileStream));
@@ -172,8 +214,9 @@ public interface DelphiFile {
   }
 
   private static DelphiAst createAST(
-      DelphiFile delphiFile, BufferedTokenStream tokenStream, DelphiFileConfig config)
+      DelphiFile delphiFile, DelphiPreprocessor preprocessor, DelphiFileConfig config)
       throws RecognitionException {
+    BufferedTokenStream tokenStream = preprocessor.getTokenStream();
     List<?> tokens = tokenStream.getTokens();
     boolean isEmptyFile =
         tokens.stream()
@@ -186,19 +229,57 @@ public interface DelphiFile {
       throw new EmptyDelphiFileException("Empty files are not allowed.");
     }
 
+    if (config.shouldSkipRoutineBodies()) {
+      dropRoutineBodies(preprocessor.getTokenStream(), config.getParsedRoutineBodies());
+    }
+
     DelphiParser parser = new DelphiParser(tokenStream);
-    parser.setTreeAdaptor(new DelphiTreeAdaptor());
+    parser.setTreeAdaptor(new DelphiTreeAdaptor(preprocessor.getTokenTable()));
     DelphiNode root;
 
+    ParserProfiler profiler = null;
+    if (config.shouldProfileParser()) {
+      profiler = new ParserProfiler();
+      parser.setProfiler(profiler);
+      profiler.startParse();
+    }
+
     if (config.shouldSkipImplementation()) {
       root = (DelphiNode) parser.fileWithoutImplementation().getTree();
     } else {
       root = (DelphiNode) parser.file().getTree();
     }
 
+    if (profiler != null) {
+      profiler.endParse(parser.getRuleMemoizationCacheSize());
+      profiler.logReport(delphiFile.getSourceCodeFile().getAbsolutePath());
+    }
+
     return new DelphiAstImpl(delphiFile, root);
   }
 
+  private static void dropRoutineBodies(
+      DelphiTokenStream tokenStream, Set<String> parsedRoutineBodies) {
+    List<Token> tokens = tokenStream.getTokens();
+    List<Token> result = new ArrayList<>(tokens.size());
+    int position = 0;
+
+    for (RoutineBody body : RoutineBodyScanner.scan(tokens)) {
+      String name = body.getName();
+      if (name == null || body.isInline() || parsedRoutineBodies.contains(name)) {
+        continue;
+      }
+      result.addAll(tokens.subList(position, body.getBeginIndex() + 1));
+      position = body.getEndIndex();
+    }
+
+    if (position > 0) {
+      result.addAll(tokens.subList(position, tokens.size()));
+      tokenStream.setTokens(result);
+      tokenStream.reset();
+    }
+  }
+
   private static List<String> getSourceCodeLines(DelphiFileStream fileStream) {
     return Splitter.onPattern("\\R").splitToList(fileStream.substring(0, fileStream.size() - 1));
   }
@@ -71,4 +71,43 @@ public interface DelphiFileConfig {
    * @return true if the implementation should be skipped when parsing the file
    */
   boolean shouldSkipImplementation();
+
+  /**
+   * Returns whether routine bodies that aren't listed in {@link #getParsedRoutineBodies()} can be
+   * dropped before parsing the file.
+   *
+   * <p>The statements of any such routine body in the implementation section are dropped, leaving
+   * an empty compound statement. Bodies of routines with an inline directive in their
+   * implementation heading are always parsed.
+   *
+   * @return true if unneeded routine bodies should be skipped when parsing the file
+   */
+  boolean shouldSkipRoutineBodies();
+
+  /**
+   * Returns the names of the routines whose bodies should be parsed when {@link
+   * #shouldSkipRoutineBodies()} is true.
+   *
+   * @return Names of the routines whose bodies should be parsed
+   */
+  Set<String> getParsedRoutineBodies();
+
+  /**
+   * Returns whether the parser should be profiled, which reports where it spent its time
+   * backtracking through the grammar.
+   *
+   * @return true if a profile of the parser should be reported for the file
+   */
+  boolean shouldProfileParser();
+
+  /**
+   * Returns whether inactive conditional branches can be skipped while lexing the file.
+   *
+   * <p>Conditional directives are then evaluated as the file is lexed, and only the comments and
+   * compiler directives inside of inactive branches are tokenized. The resulting token stream is
+   * unchanged, but the raw token list no longer contains the code from inactive branches.
+   *
+   * @return true if inactive branches should be skipped when lexing the file
+   */
+  boolean shouldSkipInactiveBranches();
 }
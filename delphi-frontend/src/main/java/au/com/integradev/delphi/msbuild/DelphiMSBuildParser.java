@@ -27,12 +27,8 @@ import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import javax.xml.XMLConstants;
 import org.apache.commons.io.FilenameUtils;
-import org.jdom2.Document;
-import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.input.SAXBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +38,7 @@ public class DelphiMSBuildParser {
   private final Path path;
   private final EnvironmentVariableProvider environmentVariableProvider;
   private final Path environmentProj;
+  private final MSBuildCache cache;
 
   private ProjectProperties properties;
   private List<Path> sourceFiles;
@@ -49,9 +46,18 @@ public class DelphiMSBuildParser {
 
   public DelphiMSBuildParser(
       Path path, EnvironmentVariableProvider environmentVariableProvider, Path environmentProj) {
+    this(path, environmentVariableProvider, environmentProj, new MSBuildCache());
+  }
+
+  DelphiMSBuildParser(
+      Path path,
+      EnvironmentVariableProvider environmentVariableProvider,
+      Path environmentProj,
+      MSBuildCache cache) {
     this.path = path;
     this.environmentVariableProvider = environmentVariableProvider;
     this.environmentProj = environmentProj;
+    this.cache = cache;
   }
 
   public Result parse() {
@@ -59,14 +65,8 @@ public class DelphiMSBuildParser {
     this.sourceFiles = new ArrayList<>();
     this.projects = new ArrayList<>();
 
-    final SAXBuilder builder = new SAXBuilder();
-    builder.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-    builder.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
-
-    final Document dom;
     try {
-      dom = builder.build(path.toFile());
-      dom.getRootElement().getChildren().stream()
+      cache.getRootElement(path).getChildren().stream()
           .filter(this::isConditionMet)
           .forEach(this::parseTopLevelElement);
     } catch (JDOMException | IOException e) {
@@ -77,16 +77,16 @@ public class DelphiMSBuildParser {
   }
 
   protected ProjectProperties createProperties() {
-    return ProjectProperties.create(environmentVariableProvider, environmentProj);
+    return ProjectProperties.create(environmentVariableProvider, environmentProj, cache);
   }
 
-  private void parseTopLevelElement(Element element) {
+  private void parseTopLevelElement(MSBuildElement element) {
     parsePropertyGroup(element);
     parseItemGroup(element);
     parseImport(element);
   }
 
-  private void parsePropertyGroup(Element element) {
+  private void parsePropertyGroup(MSBuildElement element) {
     if (!element.getName().equals("PropertyGroup")) {
       return;
     }
@@ -94,11 +94,11 @@ public class DelphiMSBuildParser {
     element.getChildren().stream().filter(this::isConditionMet).forEach(this::parseProperty);
   }
 
-  private void parseProperty(Element element) {
+  private void parseProperty(MSBuildElement element) {
     properties.set(element.getName(), properties.substitutor().replace(element.getValue()));
   }
 
-  private void parseItemGroup(Element element) {
+  private void parseItemGroup(MSBuildElement element) {
     if (!element.getName().equals("ItemGroup")) {
       return;
     }
@@ -108,12 +108,12 @@ public class DelphiMSBuildParser {
         .forEach(this::parseItemGroupElement);
   }
 
-  private void parseItemGroupElement(Element element) {
+  private void parseItemGroupElement(MSBuildElement element) {
     parseDCCReference(element);
     parseProjects(element);
   }
 
-  private void parseDCCReference(Element element) {
+  private void parseDCCReference(MSBuildElement element) {
     String name = element.getName();
     if (!name.equals("DCCReference")) {
       return;
@@ -137,7 +137,7 @@ public class DelphiMSBuildParser {
     sourceFiles.add(importPath);
   }
 
-  private void parseProjects(Element element) {
+  private void parseProjects(MSBuildElement element) {
     String name = element.getName();
     if (!name.equals("Projects")) {
       return;
@@ -154,11 +154,11 @@ public class DelphiMSBuildParser {
     }
 
     DelphiProjectParser parser =
-        new DelphiProjectParser(importPath, environmentVariableProvider, environmentProj);
+        new DelphiProjectParser(importPath, environmentVariableProvider, environmentProj, cache);
     projects.add(parser.parse());
   }
 
-  private void parseImport(Element element) {
+  private void parseImport(MSBuildElement element) {
     if (!element.getName().equals("Import")) {
       return;
     }
@@ -170,18 +170,18 @@ public class DelphiMSBuildParser {
 
     DelphiOptionSetParser parser =
         new DelphiOptionSetParser(
-            importPath, environmentVariableProvider, environmentProj, properties);
+            importPath, environmentVariableProvider, environmentProj, properties, cache);
     Result result = parser.parse();
     this.properties = result.getProperties();
     this.sourceFiles.addAll(result.getSourceFiles());
   }
 
-  private boolean isConditionMet(Element element) {
+  private boolean isConditionMet(MSBuildElement element) {
     ConditionEvaluator evaluator = new ConditionEvaluator(properties, evaluationDirectory());
     return evaluator.evaluate(element.getAttributeValue("Condition"));
   }
 
-  private Path resolvePathFromElementAttribute(Element element, String attribute) {
+  private Path resolvePathFromElementAttribute(MSBuildElement element, String attribute) {
     String include = element.getAttributeValue(attribute);
     if (include != null) {
       include = DelphiUtils.normalizeFileName(properties.substitutor().replace(include));
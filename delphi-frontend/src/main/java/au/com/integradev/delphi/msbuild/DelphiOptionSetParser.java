@@ -24,12 +24,13 @@ import java.nio.file.Path;
 class DelphiOptionSetParser extends DelphiMSBuildParser {
   private final ProjectProperties properties;
 
-  public DelphiOptionSetParser(
+  DelphiOptionSetParser(
       Path path,
       EnvironmentVariableProvider environmentVariableProvider,
       Path environmentProj,
-      ProjectProperties properties) {
-    super(path, environmentVariableProvider, environmentProj);
+      ProjectProperties properties,
+      MSBuildCache cache) {
+    super(path, environmentVariableProvider, environmentProj, cache);
     this.properties = properties;
   }
 
@@ -26,18 +26,29 @@ final class DelphiProjectGroupParser {
   private final Path projectGroup;
   private final EnvironmentVariableProvider environmentVariableProvider;
   private final Path environmentProj;
+  private final MSBuildCache cache;
 
   DelphiProjectGroupParser(
       Path projectGroup,
       EnvironmentVariableProvider environmentVariableProvider,
       Path environmentProj) {
+    this(projectGroup, environmentVariableProvider, environmentProj, new MSBuildCache());
+  }
+
+  DelphiProjectGroupParser(
+      Path projectGroup,
+      EnvironmentVariableProvider environmentVariableProvider,
+      Path environmentProj,
+      MSBuildCache cache) {
     this.projectGroup = projectGroup;
     this.environmentVariableProvider = environmentVariableProvider;
     this.environmentProj = environmentProj;
+    this.cache = cache;
   }
 
   public List<DelphiProject> parse() {
-    return new DelphiMSBuildParser(projectGroup, environmentVariableProvider, environmentProj)
+    return new DelphiMSBuildParser(
+            projectGroup, environmentVariableProvider, environmentProj, cache)
         .parse()
         .getProjects();
   }
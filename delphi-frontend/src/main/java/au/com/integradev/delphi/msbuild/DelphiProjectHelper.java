@@ -33,18 +33,24 @@ import au.com.integradev.delphi.core.Delphi;
 import au.com.integradev.delphi.enviroment.EnvironmentVariableProvider;
 import au.com.integradev.delphi.utils.DelphiUtils;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.Iterables;
 import java.io.File;
+import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.EnumUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -73,6 +79,7 @@ public class DelphiProjectHelper {
   private final Set<String> conditionalDefines;
   private final Set<String> unitScopeNames;
   private final Map<String, String> unitAliases;
+  private final Supplier<FileIndex> fileIndex;
   private boolean indexedProjects;
 
   /**
@@ -97,6 +104,7 @@ public class DelphiProjectHelper {
     this.conditionalDefines = getPredefinedConditionalDefines();
     this.unitScopeNames = getSetFromSettings(DelphiProperties.UNIT_SCOPE_NAMES_KEY);
     this.unitAliases = getUnitAliasesFromSettings();
+    this.fileIndex = Suppliers.memoize(this::indexFiles);
   }
 
   private Set<String> getSetFromSettings(String key) {
@@ -195,8 +203,20 @@ public class DelphiProjectHelper {
         Iterables.size(dprojFiles),
         Iterables.size(gprojFiles));
 
-    inputFilesToPaths(dprojFiles).forEach(this::indexProject);
-    inputFilesToPaths(gprojFiles).forEach(this::indexProjectGroup);
+    // Projects are parsed in parallel, sharing the documents and environment properties that they
+    // have in common. The results are collected in order, so the search path order is stable.
+    MSBuildCache cache = new MSBuildCache();
+    Path environmentProj = environmentProjPath();
+
+    inputFilesToPaths(dprojFiles).parallelStream()
+        .map(dproj -> parseProject(dproj, environmentProj, cache))
+        .collect(Collectors.toList())
+        .forEach(projects::add);
+
+    inputFilesToPaths(gprojFiles).parallelStream()
+        .map(projectGroup -> parseProjectGroup(projectGroup, environmentProj, cache))
+        .collect(Collectors.toList())
+        .forEach(projects::addAll);
 
     for (DelphiProject project : projects) {
       searchDirectories.addAll(project.getSearchDirectories());
@@ -236,18 +256,18 @@ public class DelphiProjectHelper {
         .resolve("environment.proj");
   }
 
-  private void indexProject(Path dprojFile) {
+  private DelphiProject parseProject(Path dprojFile, Path environmentProj, MSBuildCache cache) {
     DelphiProjectParser parser =
-        new DelphiProjectParser(dprojFile, environmentVariableProvider, environmentProjPath());
-    DelphiProject newProject = parser.parse();
-    projects.add(newProject);
+        new DelphiProjectParser(dprojFile, environmentVariableProvider, environmentProj, cache);
+    return parser.parse();
   }
 
-  private void indexProjectGroup(Path projectGroup) {
+  private List<DelphiProject> parseProjectGroup(
+      Path projectGroup, Path environmentProj, MSBuildCache cache) {
     DelphiProjectGroupParser parser =
         new DelphiProjectGroupParser(
-            projectGroup, environmentVariableProvider, environmentProjPath());
-    projects.addAll(parser.parse());
+            projectGroup, environmentVariableProvider, environmentProj, cache);
+    return parser.parse();
   }
 
   /**
@@ -361,12 +381,96 @@ public class DelphiProjectHelper {
     return fs.hasFiles(fs.predicates().hasLanguage(Delphi.KEY));
   }
 
+  /**
+   * Gets the input file at the specified path
+   *
+   * @param path absolute path to the file
+   * @return input file at the path, or null if there is no such input file
+   */
   public InputFile getFile(String path) {
-    return fs.inputFile(fs.predicates().hasURI(Paths.get(path).toUri()));
+    return fileIndex.get().filesByUri.get(Paths.get(path).toUri());
   }
 
+  /**
+   * Gets the input file with the specified file name, ignoring case.
+   *
+   * <p>If several input files share the file name, the one with an exact case match is preferred.
+   * Otherwise the file name is ambiguous, and null is returned. Ambiguous file names are only
+   * reported once.
+   *
+   * @param basename file name, including the extension
+   * @return input file with the file name, or null if there is no single such input file
+   */
   public InputFile getFileFromBasename(String basename) {
-    return fs.inputFile(fs.predicates().hasFilename(basename));
+    FileIndex index = fileIndex.get();
+    String key = basename.toLowerCase(Locale.ROOT);
+    List<InputFile> candidates = index.filesByBasename.getOrDefault(key, List.of());
+
+    if (candidates.size() == 1) {
+      return candidates.get(0);
+    }
+
+    List<InputFile> exactMatches =
+        candidates.stream()
+            .filter(inputFile -> inputFile.filename().equals(basename))
+            .collect(Collectors.toList());
+
+    if (exactMatches.size() == 1) {
+      return exactMatches.get(0);
+    }
+
+    if (!candidates.isEmpty() && index.ambiguousBasenames.add(key)) {
+      LOG.warn("File name '{}' is ambiguous, matching {} files", basename, candidates.size());
+    }
+    return null;
+  }
+
+  private FileIndex indexFiles() {
+    Map<URI, InputFile> filesByUri = new HashMap<>();
+    Map<String, List<InputFile>> filesByBasename = new HashMap<>();
+
+    for (InputFile inputFile : fs.inputFiles(fs.predicates().all())) {
+      filesByUri.put(inputFile.uri(), inputFile);
+      filesByBasename
+          .computeIfAbsent(inputFile.filename().toLowerCase(Locale.ROOT), k -> new ArrayList<>(1))
+          .add(inputFile);
+    }
+
+    return new FileIndex(filesByUri, filesByBasename);
+  }
+
+  private static final class FileIndex {
+    private final Map<URI, InputFile> filesByUri;
+    private final Map<String, List<InputFile>> filesByBasename;
+    private final Set<String> ambiguousBasenames = ConcurrentHashMap.newKeySet();
+
+    private FileIndex(
+        Map<URI, InputFile> filesByUri, Map<String, List<InputFile>> filesByBasename) {
+      this.filesByUri = filesByUri;
+      this.filesByBasename = filesByBasename;
+    }
+  }
+
+  /**
+   * Whether specialized type scopes should be populated lazily
+   *
+   * @return true if type scopes should be specialized on first lookup
+   */
+  public boolean isLazyTypeScopes() {
+    return settings
+        .getBoolean(DelphiProperties.LAZY_TYPE_SCOPES_KEY)
+        .orElse(DelphiProperties.LAZY_TYPE_SCOPES_DEFAULT);
+  }
+
+  /**
+   * Whether a profile of the parser should be logged for each analyzed file
+   *
+   * @return true if the parser should be profiled
+   */
+  public boolean isParserProfiling() {
+    return settings
+        .getBoolean(DelphiProperties.PARSER_PROFILING_KEY)
+        .orElse(DelphiProperties.PARSER_PROFILING_DEFAULT);
   }
 
   public String encoding() {
@@ -47,16 +47,27 @@ final class DelphiProjectParser {
   private final Path dproj;
   private final EnvironmentVariableProvider environmentVariableProvider;
   private final Path environmentProj;
+  private final MSBuildCache cache;
 
   public DelphiProjectParser(
       Path dproj, EnvironmentVariableProvider environmentVariableProvider, Path environmentProj) {
+    this(dproj, environmentVariableProvider, environmentProj, new MSBuildCache());
+  }
+
+  DelphiProjectParser(
+      Path dproj,
+      EnvironmentVariableProvider environmentVariableProvider,
+      Path environmentProj,
+      MSBuildCache cache) {
     this.dproj = dproj;
     this.environmentVariableProvider = environmentVariableProvider;
     this.environmentProj = environmentProj;
+    this.cache = cache;
   }
 
   public DelphiProject parse() {
-    var parser = new DelphiMSBuildParser(dproj, environmentVariableProvider, environmentProj);
+    var parser =
+        new DelphiMSBuildParser(dproj, environmentVariableProvider, environmentProj, cache);
     DelphiMSBuildParser.Result result = parser.parse();
 
     Path dprojDirectory = dproj.getParent();
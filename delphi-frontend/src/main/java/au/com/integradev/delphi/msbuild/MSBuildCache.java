@@ -0,0 +1,100 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.msbuild;
+
+import au.com.integradev.delphi.enviroment.EnvironmentVariableProvider;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.Nullable;
+import javax.xml.XMLConstants;
+import org.jdom2.JDOMException;
+import org.jdom2.input.SAXBuilder;
+
+/**
+ * Parsed MSBuild documents and evaluated environment properties, shared by the parsers of every
+ * project being indexed.
+ *
+ * <p>Projects commonly import the same option sets and targets, and all of them start from the
+ * properties in environment.proj. Documents are cached as immutable {@link MSBuildElement} trees,
+ * and environment properties as shared snapshots that are never modified, so a cache can be shared
+ * by parsers running on different threads.
+ */
+final class MSBuildCache {
+  private final Cache<Path, MSBuildElement> documents = CacheBuilder.newBuilder().build();
+  private final Cache<Optional<Path>, ProjectProperties> environmentProperties =
+      CacheBuilder.newBuilder().build();
+
+  MSBuildElement getRootElement(Path path) throws JDOMException, IOException {
+    try {
+      return documents.get(path.toAbsolutePath().normalize(), () -> buildDocument(path));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof JDOMException) {
+        throw (JDOMException) cause;
+      } else if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  private static MSBuildElement buildDocument(Path path) throws JDOMException, IOException {
+    SAXBuilder builder = new SAXBuilder();
+    builder.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+    builder.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+    return MSBuildElement.from(builder.build(path.toFile()).getRootElement());
+  }
+
+  /**
+   * Returns the base properties of a project, which are evaluated once per environment.proj.
+   *
+   * @param environmentVariableProvider provides the environment variables
+   * @param environmentProj path to environment.proj, or null if there isn't one
+   * @return properties that are shared between projects, and must be copied before modification
+   */
+  ProjectProperties getEnvironmentProperties(
+      EnvironmentVariableProvider environmentVariableProvider, @Nullable Path environmentProj) {
+    try {
+      return environmentProperties.get(
+          Optional.ofNullable(environmentProj),
+          () -> evaluateEnvironmentProperties(environmentVariableProvider, environmentProj));
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private ProjectProperties evaluateEnvironmentProperties(
+      EnvironmentVariableProvider environmentVariableProvider, @Nullable Path environmentProj) {
+    ProjectProperties result;
+    if (environmentProj != null && Files.exists(environmentProj)) {
+      var parser =
+          new DelphiMSBuildParser(environmentProj, environmentVariableProvider, null, this);
+      result = parser.parse().getProperties();
+    } else {
+      result = ProjectProperties.fromMap(environmentVariableProvider.getenv());
+    }
+    return result.snapshot();
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.msbuild;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.jdom2.Attribute;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+
+/**
+ * An immutable element of a parsed MSBuild file.
+ *
+ * <p>JDOM does not document its trees as safe to read from several threads at once, so {@link
+ * MSBuildCache} converts each parsed document into this form before sharing it between parsers.
+ */
+final class MSBuildElement {
+  private final String name;
+  private final String value;
+  private final ImmutableMap<String, String> attributes;
+  private final ImmutableList<MSBuildElement> children;
+
+  private MSBuildElement(
+      String name,
+      String value,
+      ImmutableMap<String, String> attributes,
+      ImmutableList<MSBuildElement> children) {
+    this.name = name;
+    this.value = value;
+    this.attributes = attributes;
+    this.children = children;
+  }
+
+  static MSBuildElement from(Element element) {
+    ImmutableMap.Builder<String, String> attributes = ImmutableMap.builder();
+    for (Attribute attribute : element.getAttributes()) {
+      if (Namespace.NO_NAMESPACE.equals(attribute.getNamespace())) {
+        attributes.put(attribute.getName(), attribute.getValue());
+      }
+    }
+
+    ImmutableList.Builder<MSBuildElement> children = ImmutableList.builder();
+    for (Element child : element.getChildren()) {
+      children.add(from(child));
+    }
+
+    return new MSBuildElement(
+        element.getName(), element.getValue(), attributes.build(), children.build());
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the text content of this element and its descendants, like {@link Element#getValue()}.
+   *
+   * @return text content of the element
+   */
+  public String getValue() {
+    return value;
+  }
+
+  @Nullable
+  public String getAttributeValue(String attributeName) {
+    return attributes.get(attributeName);
+  }
+
+  public List<MSBuildElement> getChildren() {
+    return children;
+  }
+}
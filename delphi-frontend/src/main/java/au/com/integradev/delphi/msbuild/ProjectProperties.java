@@ -19,35 +19,60 @@
 package au.com.integradev.delphi.msbuild;
 
 import au.com.integradev.delphi.enviroment.EnvironmentVariableProvider;
-import au.com.integradev.delphi.msbuild.DelphiMSBuildParser.Result;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.TreeMap;
+import javax.annotation.Nullable;
 import org.apache.commons.text.StringSubstitutor;
-import org.apache.commons.text.lookup.StringLookup;
 
+/**
+ * The properties of an MSBuild project.
+ *
+ * <p>Instances are not thread-safe, with the exception of {@link #snapshot() snapshots}, which are
+ * never modified. Copies of a snapshot share its property map until they are modified, so the base
+ * properties evaluated from environment.proj are not duplicated for every project.
+ */
 public final class ProjectProperties {
-  private final Map<String, String> propertyMap;
+  private Map<String, String> propertyMap;
+  private boolean shared;
+  private StringSubstitutor substitutor;
+
+  private ProjectProperties(Map<String, String> propertyMap, boolean shared) {
+    this.propertyMap = propertyMap;
+    this.shared = shared;
+  }
 
-  private ProjectProperties(Map<String, String> propertyMap) {
-    this.propertyMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-    this.propertyMap.putAll(propertyMap);
+  static ProjectProperties fromMap(Map<String, String> propertyMap) {
+    return new ProjectProperties(copyOf(propertyMap), false);
   }
 
   public static ProjectProperties create(
-      EnvironmentVariableProvider environmentVariableProvider, Path environmentProj) {
-    if (environmentProj != null && Files.exists(environmentProj)) {
-      var parser = new DelphiMSBuildParser(environmentProj, environmentVariableProvider, null);
-      Result result = parser.parse();
-      return result.getProperties();
-    } else {
-      return new ProjectProperties(environmentVariableProvider.getenv());
-    }
+      EnvironmentVariableProvider environmentVariableProvider, @Nullable Path environmentProj) {
+    return create(environmentVariableProvider, environmentProj, new MSBuildCache());
+  }
+
+  static ProjectProperties create(
+      EnvironmentVariableProvider environmentVariableProvider,
+      @Nullable Path environmentProj,
+      MSBuildCache cache) {
+    return cache.getEnvironmentProperties(environmentVariableProvider, environmentProj).copy();
+  }
+
+  /**
+   * Returns a snapshot of these properties that is never modified, and can be shared between
+   * threads.
+   *
+   * @return shared snapshot of these properties
+   */
+  ProjectProperties snapshot() {
+    return new ProjectProperties(copyOf(propertyMap), true);
   }
 
   public ProjectProperties copy() {
-    return new ProjectProperties(propertyMap);
+    if (shared) {
+      return new ProjectProperties(propertyMap, true);
+    }
+    return new ProjectProperties(copyOf(propertyMap), false);
   }
 
   public String get(String name) {
@@ -55,29 +80,29 @@ public final class ProjectProperties {
   }
 
   public void set(String name, String value) {
+    if (shared) {
+      propertyMap = copyOf(propertyMap);
+      shared = false;
+    }
     propertyMap.put(name, value);
   }
 
   public StringSubstitutor substitutor() {
-    StringLookup lookup = new PropertyMapLookup(propertyMap);
-    return new StringSubstitutor(lookup)
-        .setVariablePrefix("$(")
-        .setVariableSuffix(")")
-        .setEscapeChar(Character.MIN_VALUE)
-        .setValueDelimiterMatcher(null)
-        .setDisableSubstitutionInValues(true);
-  }
-
-  private static class PropertyMapLookup implements StringLookup {
-    private final Map<String, String> valueMap;
-
-    PropertyMapLookup(Map<String, String> valueMap) {
-      this.valueMap = valueMap;
+    if (substitutor == null) {
+      substitutor =
+          new StringSubstitutor(key -> propertyMap.getOrDefault(key, ""))
+              .setVariablePrefix("$(")
+              .setVariableSuffix(")")
+              .setEscapeChar(Character.MIN_VALUE)
+              .setValueDelimiterMatcher(null)
+              .setDisableSubstitutionInValues(true);
     }
+    return substitutor;
+  }
 
-    @Override
-    public String lookup(String key) {
-      return valueMap.getOrDefault(key, "");
-    }
+  private static Map<String, String> copyOf(Map<String, String> propertyMap) {
+    Map<String, String> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    result.putAll(propertyMap);
+    return result;
   }
 }
@@ -19,10 +19,17 @@
 package au.com.integradev.delphi.msbuild.condition;
 
 import au.com.integradev.delphi.msbuild.ProjectProperties;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.nio.file.Path;
 import java.util.List;
 
 public final class ConditionEvaluator {
+  // Expression trees hold no evaluation state, so the same conditions repeated across the
+  // property groups of every project only need to be parsed once.
+  private static final Cache<String, Expression> EXPRESSION_CACHE =
+      CacheBuilder.newBuilder().maximumSize(1024).build();
+
   private final ExpressionEvaluator expressionEvaluator;
 
   public ConditionEvaluator(ProjectProperties properties, Path evaluationDirectory) {
@@ -39,13 +46,7 @@ public final class ConditionEvaluator {
     }
 
     try {
-      ConditionLexer lexer = new ConditionLexer();
-      List<Token> tokens = lexer.lex(condition);
-
-      ConditionParser parser = new ConditionParser();
-      Expression expression = parser.parse(tokens);
-
-      return expression
+      return parse(condition)
           .boolEvaluate(expressionEvaluator)
           .orElseThrow(() -> new ConditionDoesNotEvaluateToBooleanException(condition));
     } catch (Exception e) {
@@ -53,6 +54,19 @@ public final class ConditionEvaluator {
     }
   }
 
+  private static Expression parse(String condition) {
+    Expression expression = EXPRESSION_CACHE.getIfPresent(condition);
+    if (expression == null) {
+      ConditionLexer lexer = new ConditionLexer();
+      List<Token> tokens = lexer.lex(condition);
+
+      ConditionParser parser = new ConditionParser();
+      expression = parser.parse(tokens);
+      EXPRESSION_CACHE.put(condition, expression);
+    }
+    return expression;
+  }
+
   private static class ConditionDoesNotEvaluateToBooleanException extends RuntimeException {
     ConditionDoesNotEvaluateToBooleanException(String condition) {
       super(String.format("Specified condition \"%s\" does not evaluate to boolean.", condition));
@@ -20,21 +20,31 @@ package au.com.integradev.delphi.nunit;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.Collection;
 import java.util.Collections;
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.FileFilterUtils;
 import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.xml.sax.SAXException;
 
-/** Parses NUnit test reports from XML files. */
+/**
+ * Parses NUnit test reports from XML files.
+ *
+ * <p>Reports are streamed, so only the aggregated results are held in memory. Each report is parsed
+ * independently, so reports can optionally be parsed in parallel.
+ */
 public final class DelphiNUnitParser {
   private static final Logger LOG = LoggerFactory.getLogger(DelphiNUnitParser.class);
 
@@ -43,16 +53,23 @@ public final class DelphiNUnitParser {
   }
 
   public static ResultsAggregator collect(File reportsDir) {
+    return collect(reportsDir, false);
+  }
+
+  public static ResultsAggregator collect(File reportsDir, boolean parallel) {
     LOG.info("Processing reports in {}", reportsDir);
-    return parseFiles(getReports(reportsDir));
+    return parseFiles(getReports(reportsDir), parallel);
   }
 
-  private static Collection<File> getReports(File path) {
+  private static List<File> getReports(File path) {
     if (!path.isDirectory()) {
       LOG.warn("Reports directory not found: {}", path.getAbsolutePath());
       return Collections.emptyList();
     } else {
-      Collection<File> files = findXmlFiles(path);
+      List<File> files =
+          findXmlFiles(path).stream()
+              .sorted(Comparator.comparing(File::getPath))
+              .collect(Collectors.toList());
       LOG.info("Found {} XML files in {}", files.size(), path);
       return files;
     }
@@ -63,9 +80,7 @@ public final class DelphiNUnitParser {
         dir, FileFilterUtils.suffixFileFilter(".xml"), TrueFileFilter.INSTANCE);
   }
 
-  private static NUnitFileParser getParserForFile(Document doc) {
-    String rootElementName = doc.getDocumentElement().getNodeName();
-
+  private static NUnitFileParser getParserForRootElement(String rootElementName) {
     if (rootElementName.equals("test-run")) {
       return new NUnit3FileParser();
     } else if (rootElementName.equals("test-results")) {
@@ -75,32 +90,68 @@ public final class DelphiNUnitParser {
     }
   }
 
-  private static void parse(File reportFile, ResultsAggregator results) {
-    try {
-      LOG.debug("Parsing NUnit report {}", reportFile);
-      DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory.newInstance();
-      docBuilderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-      docBuilderFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-      docBuilderFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
-      DocumentBuilder docBuilder = docBuilderFactory.newDocumentBuilder();
-      Document doc = docBuilder.parse(reportFile);
-
-      doc.getDocumentElement().normalize();
-
-      NUnitFileParser parser = getParserForFile(doc);
-      if (parser != null) {
-        parser.parse(doc, results);
-      } else {
-        LOG.error("Report '{}' is not a recognised NUnit format, skipping.", reportFile);
+  private static XMLInputFactory createInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+
+  /**
+   * Parses a single report.
+   *
+   * @param reportFile the report
+   * @return the results of the report, or null if the report could not be parsed
+   */
+  private static ResultsAggregator parse(File reportFile) {
+    LOG.debug("Parsing NUnit report {}", reportFile);
+    try (InputStream stream = Files.newInputStream(reportFile.toPath())) {
+      XMLStreamReader reader = createInputFactory().createXMLStreamReader(stream);
+      try {
+        return parse(reportFile, reader);
+      } finally {
+        reader.close();
       }
-    } catch (SAXException | ParserConfigurationException | IOException e) {
+    } catch (XMLStreamException | IOException e) {
       LOG.error("Error while parsing report '{}':", reportFile, e);
+      return null;
     }
   }
 
-  private static ResultsAggregator parseFiles(Collection<File> reports) {
+  private static ResultsAggregator parse(File reportFile, XMLStreamReader reader)
+      throws XMLStreamException {
+    // The root element can be preceded by a DOCTYPE, which nextTag() rejects.
+    while (reader.hasNext() && reader.next() != XMLStreamConstants.START_ELEMENT) {
+      // Skip the prolog
+    }
+
+    if (!reader.isStartElement()) {
+      LOG.error("Report '{}' has no root element, skipping.", reportFile);
+      return null;
+    }
+
+    NUnitFileParser parser = getParserForRootElement(reader.getLocalName());
+    if (parser == null) {
+      LOG.error("Report '{}' is not a recognised NUnit format, skipping.", reportFile);
+      return null;
+    }
+
+    // Results are only kept once the whole report has been read, so that a malformed report
+    // contributes nothing rather than a partial count.
     ResultsAggregator results = new ResultsAggregator();
-    reports.forEach(report -> parse(report, results));
+    parser.parse(reader, results);
     return results;
   }
+
+  private static ResultsAggregator parseFiles(List<File> reports, boolean parallel) {
+    Stream<File> stream = parallel ? reports.parallelStream() : reports.stream();
+    List<ResultsAggregator> results =
+        stream.map(DelphiNUnitParser::parse).filter(Objects::nonNull).collect(Collectors.toList());
+
+    // Durations are summed as doubles, so they're merged in report order to give the same total
+    // regardless of how the reports were parsed.
+    ResultsAggregator total = new ResultsAggregator();
+    results.forEach(total::merge);
+    return total;
+  }
 }
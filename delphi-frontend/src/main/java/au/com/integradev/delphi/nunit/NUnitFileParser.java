@@ -20,34 +20,42 @@ package au.com.integradev.delphi.nunit;
 
 import java.text.ParseException;
 import java.util.Locale;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.utils.ParsingUtils;
-import org.w3c.dom.Document;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 public abstract class NUnitFileParser {
   private static final Logger LOG = LoggerFactory.getLogger(NUnitFileParser.class);
 
-  public void parse(Document doc, ResultsAggregator results) {
-    doc.getDocumentElement().normalize();
-    parseTestCases(results, doc.getElementsByTagName("test-case"));
+  /**
+   * Reads the remainder of a report, adding every {@code test-case} element to the results.
+   *
+   * @param reader report reader, positioned on the root element
+   * @param results aggregator that the test results are added to
+   * @throws XMLStreamException if the report is malformed
+   */
+  public void parse(XMLStreamReader reader, ResultsAggregator results) throws XMLStreamException {
+    while (reader.hasNext()) {
+      if (reader.next() == XMLStreamConstants.START_ELEMENT
+          && reader.getLocalName().equals("test-case")) {
+        parseTestCase(reader, results);
+      }
+    }
   }
 
-  private void parseTestCases(ResultsAggregator results, NodeList testCases) {
-    for (int i = 0; i < testCases.getLength(); i++) {
-      Node testCase = testCases.item(i);
-      try {
-        results.add(parseTestResult(testCase.getAttributes()));
-      } catch (NUnitParseException e) {
-        LOG.warn("Skipping test case because of exception while parsing:", e);
-      }
+  private void parseTestCase(XMLStreamReader testCase, ResultsAggregator results) {
+    try {
+      results.add(parseTestResult(testCase));
+    } catch (NUnitParseException e) {
+      LOG.warn("Skipping test case because of exception while parsing:", e);
     }
   }
 
-  protected abstract TestResult parseTestResult(NamedNodeMap testCase) throws NUnitParseException;
+  protected abstract TestResult parseTestResult(XMLStreamReader testCase)
+      throws NUnitParseException;
 
   protected double getTimeAttributeInSeconds(String value) {
     try {
@@ -59,13 +67,18 @@ public abstract class NUnitFileParser {
     }
   }
 
-  protected String getNodeTextOrExcept(NamedNodeMap map, String nodeName)
+  protected String getAttributeOrExcept(XMLStreamReader element, String attributeName)
       throws NUnitParseException {
-    Node node = map.getNamedItem(nodeName);
-    if (node == null) {
-      throw new NUnitParseException(String.format("Node '%s' was missing.", nodeName));
+    String value = element.getAttributeValue(null, attributeName);
+    if (value == null) {
+      throw new NUnitParseException(String.format("Attribute '%s' was missing.", attributeName));
     } else {
-      return node.getTextContent();
+      return value;
     }
   }
+
+  protected static String getAttributeOrEmpty(XMLStreamReader element, String attributeName) {
+    String value = element.getAttributeValue(null, attributeName);
+    return value == null ? "" : value;
+  }
 }
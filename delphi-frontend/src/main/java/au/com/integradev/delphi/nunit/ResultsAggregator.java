@@ -39,6 +39,15 @@ public final class ResultsAggregator {
     return this;
   }
 
+  public ResultsAggregator merge(ResultsAggregator other) {
+    this.failures += other.failures;
+    this.skipped += other.skipped;
+    this.tests += other.tests;
+    this.durationSeconds += other.durationSeconds;
+
+    return this;
+  }
+
   public int getFailures() {
     return this.failures;
   }
@@ -0,0 +1,441 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.operator;
+
+import static au.com.integradev.delphi.type.intrinsic.IntrinsicArgumentMatcher.ANY_ORDINAL;
+import static au.com.integradev.delphi.type.intrinsic.IntrinsicArgumentMatcher.ANY_SET;
+import static org.sonar.plugins.communitydelphi.api.type.TypeFactory.untypedType;
+
+import au.com.integradev.delphi.type.factory.TypeFactoryImpl;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.sonar.plugins.communitydelphi.api.operator.BinaryOperator;
+import org.sonar.plugins.communitydelphi.api.operator.UnaryOperator;
+import org.sonar.plugins.communitydelphi.api.symbol.Invocable;
+import org.sonar.plugins.communitydelphi.api.type.IntrinsicType;
+import org.sonar.plugins.communitydelphi.api.type.Type;
+
+/**
+ * Precomputed overload tables for the intrinsic operators that only depend on the operator and the
+ * intrinsic kind of the operand types.
+ *
+ * <p>Tables are built once per type factory and shared by every {@link OperatorInvocableCollector}
+ * that uses that type factory.
+ */
+public final class IntrinsicOperatorTable {
+  private final Map<IntrinsicType, Type> intrinsics;
+  private final Type uint15;
+  private final Type uint31;
+  private final Map<BinaryOperator, Set<Invocable>> integerBinary;
+  private final Map<BinaryOperator, Invocable> nativeIntBinary;
+  private final Map<BinaryOperator, Invocable> nativeUIntBinary;
+  private final Map<BinaryOperator, Set<Invocable>> realBinary;
+  private final Map<BinaryOperator, Set<Invocable>> booleanBinary;
+  private final Map<BinaryOperator, Set<Invocable>> stringBinary;
+  private final Map<BinaryOperator, Invocable> variantBinary;
+  private final Map<BinaryOperator, Invocable> comparisons;
+  private final Map<UnaryOperator, Set<Invocable>> realUnary;
+  private final Map<UnaryOperator, Set<Invocable>> booleanUnary;
+  private final Map<UnaryOperator, Invocable> variantUnary;
+  private final Set<Invocable> smallIntegerNegative;
+  private final Set<Invocable> smallIntegerPositive;
+
+  public IntrinsicOperatorTable(TypeFactoryImpl typeFactory) {
+    this.intrinsics = new EnumMap<>(IntrinsicType.class);
+    for (IntrinsicType type : IntrinsicType.values()) {
+      intrinsics.put(type, typeFactory.getIntrinsic(type));
+    }
+    this.uint15 = typeFactory.anonymousUInt15();
+    this.uint31 = typeFactory.anonymousUInt31();
+    this.integerBinary = new EnumMap<>(BinaryOperator.class);
+    this.nativeIntBinary = new EnumMap<>(BinaryOperator.class);
+    this.nativeUIntBinary = new EnumMap<>(BinaryOperator.class);
+    this.realBinary = new EnumMap<>(BinaryOperator.class);
+    this.booleanBinary = new EnumMap<>(BinaryOperator.class);
+    this.stringBinary = new EnumMap<>(BinaryOperator.class);
+    this.variantBinary = new EnumMap<>(BinaryOperator.class);
+    this.comparisons = new EnumMap<>(BinaryOperator.class);
+    this.realUnary = new EnumMap<>(UnaryOperator.class);
+    this.booleanUnary = new EnumMap<>(UnaryOperator.class);
+    this.variantUnary = new EnumMap<>(UnaryOperator.class);
+
+    createIntegerBinary();
+    createNativeIntegerBinary();
+    createRealBinary();
+    createBooleanBinary();
+    createStringBinary();
+    createVariantBinary();
+    createComparisons();
+    createRealUnary();
+    createBooleanUnary();
+    createVariantUnary();
+
+    this.smallIntegerNegative = createSmallIntegerNegative();
+    this.smallIntegerPositive = createSmallIntegerPositive();
+  }
+
+  Set<Invocable> integerBinary(BinaryOperator operator) {
+    return integerBinary.getOrDefault(operator, Collections.emptySet());
+  }
+
+  @Nullable
+  Invocable nativeIntegerBinary(BinaryOperator operator, boolean signed) {
+    return (signed ? nativeIntBinary : nativeUIntBinary).get(operator);
+  }
+
+  Set<Invocable> realBinary(BinaryOperator operator) {
+    return realBinary.getOrDefault(operator, Collections.emptySet());
+  }
+
+  Set<Invocable> booleanBinary(BinaryOperator operator) {
+    return booleanBinary.getOrDefault(operator, Collections.emptySet());
+  }
+
+  Set<Invocable> stringBinary(BinaryOperator operator) {
+    return stringBinary.getOrDefault(operator, Collections.emptySet());
+  }
+
+  Invocable variantBinary(BinaryOperator operator) {
+    return variantBinary.get(operator);
+  }
+
+  @Nullable
+  Invocable comparison(BinaryOperator operator) {
+    return comparisons.get(operator);
+  }
+
+  Set<Invocable> realUnary(UnaryOperator operator) {
+    return realUnary.getOrDefault(operator, Collections.emptySet());
+  }
+
+  Set<Invocable> booleanUnary(UnaryOperator operator) {
+    return booleanUnary.getOrDefault(operator, Collections.emptySet());
+  }
+
+  Invocable variantUnary(UnaryOperator operator) {
+    return variantUnary.get(operator);
+  }
+
+  Set<Invocable> smallIntegerNegative() {
+    return smallIntegerNegative;
+  }
+
+  Set<Invocable> smallIntegerPositive() {
+    return smallIntegerPositive;
+  }
+
+  private Type intrinsic(IntrinsicType type) {
+    return intrinsics.get(type);
+  }
+
+  private void createIntegerBinary() {
+    integerBinary.put(BinaryOperator.AND, createBitwiseAnd());
+    integerBinary.put(BinaryOperator.OR, createBitwiseOr("Or"));
+    integerBinary.put(BinaryOperator.XOR, createBitwiseOr("Xor"));
+    integerBinary.put(BinaryOperator.ADD, createIntegerArithmeticBinary("Add"));
+    integerBinary.put(BinaryOperator.SUBTRACT, createSubtract());
+    integerBinary.put(BinaryOperator.MULTIPLY, createIntegerArithmeticBinary("Multiply"));
+    integerBinary.put(BinaryOperator.DIVIDE, createDivide());
+    integerBinary.put(BinaryOperator.DIV, createIntegerArithmeticBinary("IntDivide"));
+    integerBinary.put(BinaryOperator.MOD, createIntegerArithmeticBinary("Modulus"));
+    integerBinary.put(BinaryOperator.SHL, createShift("Left"));
+    integerBinary.put(BinaryOperator.SHR, createShift("Right"));
+  }
+
+  private void createNativeIntegerBinary() {
+    Type nativeInt = intrinsic(IntrinsicType.NATIVEINT);
+    Type nativeUInt = intrinsic(IntrinsicType.NATIVEUINT);
+
+    if (nativeInt.isWeakAlias()) {
+      return;
+    }
+
+    Map<BinaryOperator, String> names = new EnumMap<>(BinaryOperator.class);
+    names.put(BinaryOperator.AND, "BitwiseAnd");
+    names.put(BinaryOperator.OR, "BitwiseOr");
+    names.put(BinaryOperator.XOR, "BitwiseXor");
+    names.put(BinaryOperator.ADD, "Add");
+    names.put(BinaryOperator.SUBTRACT, "Subtract");
+    names.put(BinaryOperator.MULTIPLY, "Multiply");
+    names.put(BinaryOperator.DIV, "IntDivide");
+    names.put(BinaryOperator.MOD, "Modulus");
+
+    names.forEach(
+        (operator, name) -> {
+          nativeIntBinary.put(
+              operator, new OperatorIntrinsic(name, List.of(nativeInt, nativeInt), nativeInt));
+          nativeUIntBinary.put(
+              operator, new OperatorIntrinsic(name, List.of(nativeUInt, nativeUInt), nativeUInt));
+        });
+  }
+
+  private Set<Invocable> createBitwiseAnd() {
+    final String NAME = "BitwiseAnd";
+
+    Type int8 = intrinsic(IntrinsicType.SHORTINT);
+    Type int16 = intrinsic(IntrinsicType.SMALLINT);
+    Type int32 = intrinsic(IntrinsicType.INTEGER);
+    Type int64 = intrinsic(IntrinsicType.INT64);
+
+    Type uint8 = intrinsic(IntrinsicType.BYTE);
+    Type uint16 = intrinsic(IntrinsicType.WORD);
+    Type uint32 = intrinsic(IntrinsicType.CARDINAL);
+    Type uint64 = intrinsic(IntrinsicType.UINT64);
+
+    Set<Invocable> result = new HashSet<>();
+    result.add(new OperatorIntrinsic(NAME, List.of(int8, int8), int8));
+    result.add(new OperatorIntrinsic(NAME, List.of(int16, int16), int16));
+    result.add(new OperatorIntrinsic(NAME, List.of(uint8, uint8), uint8));
+    result.add(new OperatorIntrinsic(NAME, List.of(uint15, uint15), uint15));
+    result.add(new OperatorIntrinsic(NAME, List.of(uint16, uint16), uint16));
+    result.add(new OperatorIntrinsic(NAME, List.of(uint31, uint31), uint31));
+    addWithInterleavedTypes(result, NAME, int32, uint32);
+    addWithInterleavedTypes(result, NAME, int64, uint64);
+
+    return ImmutableSet.copyOf(result);
+  }
+
+  private Set<Invocable> createBitwiseOr(String suffix) {
+    String name = "Bitwise" + suffix;
+
+    Type int8 = intrinsic(IntrinsicType.SHORTINT);
+    Type int16 = intrinsic(IntrinsicType.SMALLINT);
+    Type int32 = intrinsic(IntrinsicType.INTEGER);
+    Type int64 = intrinsic(IntrinsicType.INT64);
+
+    Type uint8 = intrinsic(IntrinsicType.BYTE);
+    Type uint16 = intrinsic(IntrinsicType.WORD);
+    Type uint32 = intrinsic(IntrinsicType.CARDINAL);
+    Type uint64 = intrinsic(IntrinsicType.UINT64);
+
+    return ImmutableSet.of(
+        new OperatorIntrinsic(name, List.of(int8, int8), int8),
+        new OperatorIntrinsic(name, List.of(int16, int16), int16),
+        new OperatorIntrinsic(name, List.of(uint8, uint8), uint8),
+        new OperatorIntrinsic(name, List.of(uint15, uint15), uint15),
+        new OperatorIntrinsic(name, List.of(uint16, uint16), uint16),
+        new OperatorIntrinsic(name, List.of(int32, int32), int32),
+        new OperatorIntrinsic(name, List.of(int32, int64), int64),
+        new OperatorIntrinsic(name, List.of(int64, int32), int64),
+        new OperatorIntrinsic(name, List.of(uint31, uint31), uint31),
+        new OperatorIntrinsic(name, List.of(uint32, uint31), uint32),
+        new OperatorIntrinsic(name, List.of(uint31, uint32), uint32),
+        new OperatorIntrinsic(name, List.of(uint32, uint32), uint32),
+        new OperatorIntrinsic(name, List.of(int64, int64), int64),
+        new OperatorIntrinsic(name, List.of(int64, uint64), uint64),
+        new OperatorIntrinsic(name, List.of(uint64, int64), uint64),
+        new OperatorIntrinsic(name, List.of(uint64, uint64), uint64));
+  }
+
+  private Set<Invocable> createIntegerArithmeticBinary(String name) {
+    return createIntegerArithmeticBinary(name, uint31);
+  }
+
+  private Set<Invocable> createSubtract() {
+    return createIntegerArithmeticBinary("Subtract", intrinsic(IntrinsicType.INTEGER));
+  }
+
+  private Set<Invocable> createIntegerArithmeticBinary(String name, Type uint31ReturnType) {
+    Type integer = intrinsic(IntrinsicType.INTEGER);
+    Type int64 = intrinsic(IntrinsicType.INT64);
+    Type cardinal = intrinsic(IntrinsicType.CARDINAL);
+    Type uint64 = intrinsic(IntrinsicType.UINT64);
+
+    return ImmutableSet.of(
+        new OperatorIntrinsic(name, List.of(integer, integer), integer),
+        new OperatorIntrinsic(name, List.of(integer, int64), int64),
+        new OperatorIntrinsic(name, List.of(int64, integer), int64),
+        new OperatorIntrinsic(name, List.of(uint31, uint31), uint31ReturnType),
+        new OperatorIntrinsic(name, List.of(cardinal, uint31), cardinal),
+        new OperatorIntrinsic(name, List.of(uint31, cardinal), cardinal),
+        new OperatorIntrinsic(name, List.of(cardinal, cardinal), cardinal),
+        new OperatorIntrinsic(name, List.of(integer, cardinal), int64),
+        new OperatorIntrinsic(name, List.of(cardinal, integer), int64),
+        new OperatorIntrinsic(name, List.of(int64, int64), int64),
+        new OperatorIntrinsic(name, List.of(int64, uint64), uint64),
+        new OperatorIntrinsic(name, List.of(uint64, int64), uint64),
+        new OperatorIntrinsic(name, List.of(uint64, uint64), uint64));
+  }
+
+  private Set<Invocable> createShift(String prefix) {
+    String name = prefix + "Shift";
+
+    Type integer = intrinsic(IntrinsicType.INTEGER);
+    Type int64 = intrinsic(IntrinsicType.INT64);
+    Type cardinal = intrinsic(IntrinsicType.CARDINAL);
+    Type uint64 = intrinsic(IntrinsicType.UINT64);
+
+    return ImmutableSet.of(
+        new OperatorIntrinsic(name, List.of(integer, integer), integer),
+        new OperatorIntrinsic(name, List.of(cardinal, integer), cardinal),
+        new OperatorIntrinsic(name, List.of(uint31, integer), uint31),
+        new OperatorIntrinsic(name, List.of(int64, integer), int64),
+        new OperatorIntrinsic(name, List.of(uint64, integer), uint64));
+  }
+
+  private static void addWithInterleavedTypes(Set<Invocable> result, String name, Type... types) {
+    for (int i = 0; i < types.length; ++i) {
+      Type type = types[i];
+      result.add(new OperatorIntrinsic(name, List.of(type, type), type));
+      if (i + 1 != types.length) {
+        Type next = types[i + 1];
+        result.add(new OperatorIntrinsic(name, List.of(type, next), next));
+        result.add(new OperatorIntrinsic(name, List.of(next, type), next));
+      }
+    }
+  }
+
+  private Set<Invocable> createDivide() {
+    Type extended = intrinsic(IntrinsicType.EXTENDED);
+    return ImmutableSet.of(new OperatorIntrinsic("Divide", List.of(extended, extended), extended));
+  }
+
+  private void createRealBinary() {
+    realBinary.put(BinaryOperator.ADD, createRealArithmeticBinary("Add"));
+    realBinary.put(BinaryOperator.SUBTRACT, createRealArithmeticBinary("Subtract"));
+    realBinary.put(BinaryOperator.MULTIPLY, createRealArithmeticBinary("Multiply"));
+    realBinary.put(BinaryOperator.DIVIDE, integerBinary.get(BinaryOperator.DIVIDE));
+  }
+
+  private Set<Invocable> createRealArithmeticBinary(String name) {
+    Type integer = intrinsic(IntrinsicType.INTEGER);
+    Type extended = intrinsic(IntrinsicType.EXTENDED);
+
+    return ImmutableSet.of(
+        new OperatorIntrinsic(name, List.of(extended, extended), extended),
+        new OperatorIntrinsic(name, List.of(integer, extended), extended),
+        new OperatorIntrinsic(name, List.of(extended, integer), extended));
+  }
+
+  private void createBooleanBinary() {
+    booleanBinary.put(BinaryOperator.AND, createLogical("And"));
+    booleanBinary.put(BinaryOperator.OR, createLogical("Or"));
+    booleanBinary.put(BinaryOperator.XOR, createLogical("Xor"));
+  }
+
+  private Set<Invocable> createLogical(String suffix) {
+    Type bool = intrinsic(IntrinsicType.BOOLEAN);
+    return ImmutableSet.of(new OperatorIntrinsic("Logical" + suffix, List.of(bool, bool), bool));
+  }
+
+  private void createStringBinary() {
+    Type string = intrinsic(IntrinsicType.STRING);
+    stringBinary.put(
+        BinaryOperator.ADD,
+        ImmutableSet.of(new OperatorIntrinsic("Add", List.of(string, string), string)));
+  }
+
+  private void createVariantBinary() {
+    final String PREFIX = "Variant::";
+    Type variant = intrinsic(IntrinsicType.VARIANT);
+    Type bool = intrinsic(IntrinsicType.BOOLEAN);
+    List<Type> arguments = List.of(variant, variant);
+
+    for (BinaryOperator operator : BinaryOperator.values()) {
+      Type returnType;
+      switch (operator) {
+        case EQUAL:
+        case NOT_EQUAL:
+        case LESS_THAN:
+        case LESS_THAN_EQUAL:
+        case GREATER_THAN:
+        case GREATER_THAN_EQUAL:
+          returnType = bool;
+          break;
+        default:
+          returnType = variant;
+      }
+      variantBinary.put(
+          operator, new OperatorIntrinsic(PREFIX + operator.name(), arguments, returnType));
+    }
+  }
+
+  private void createComparisons() {
+    comparisons.put(BinaryOperator.EQUAL, createComparison("Equal"));
+    comparisons.put(BinaryOperator.GREATER_THAN, createComparison("GreaterThan"));
+    comparisons.put(BinaryOperator.LESS_THAN, createComparison("LessThan"));
+    comparisons.put(BinaryOperator.GREATER_THAN_EQUAL, createComparison("GreaterThanEqual"));
+    comparisons.put(BinaryOperator.LESS_THAN_EQUAL, createComparison("LessThanEqual"));
+    comparisons.put(BinaryOperator.NOT_EQUAL, createComparison("NotEqual"));
+
+    Type bool = intrinsic(IntrinsicType.BOOLEAN);
+    comparisons.put(
+        BinaryOperator.IN, new OperatorIntrinsic("In", List.of(ANY_ORDINAL, ANY_SET), bool));
+  }
+
+  private Invocable createComparison(String name) {
+    Type bool = intrinsic(IntrinsicType.BOOLEAN);
+    return new OperatorIntrinsic(name, List.of(untypedType(), untypedType()), bool);
+  }
+
+  private void createRealUnary() {
+    Type extended = intrinsic(IntrinsicType.EXTENDED);
+    realUnary.put(
+        UnaryOperator.PLUS,
+        ImmutableSet.of(new OperatorIntrinsic("Positive", List.of(extended), extended)));
+    realUnary.put(
+        UnaryOperator.NEGATE,
+        ImmutableSet.of(new OperatorIntrinsic("Negative", List.of(extended), extended)));
+  }
+
+  private void createBooleanUnary() {
+    Type bool = intrinsic(IntrinsicType.BOOLEAN);
+    booleanUnary.put(
+        UnaryOperator.NOT,
+        ImmutableSet.of(new OperatorIntrinsic("LogicalNot", List.of(bool), bool)));
+  }
+
+  private void createVariantUnary() {
+    final String PREFIX = "Variant::";
+    Type variant = intrinsic(IntrinsicType.VARIANT);
+    for (UnaryOperator operator : UnaryOperator.values()) {
+      variantUnary.put(
+          operator,
+          new OperatorIntrinsic(PREFIX + operator.name(), List.of(variant, variant), variant));
+    }
+  }
+
+  private Set<Invocable> createSmallIntegerNegative() {
+    final String NAME = "Negative";
+
+    Type int32 = intrinsic(IntrinsicType.INTEGER);
+    Type uint32 = intrinsic(IntrinsicType.CARDINAL);
+    Type int64 = intrinsic(IntrinsicType.INT64);
+
+    return ImmutableSet.of(
+        new OperatorIntrinsic(NAME, List.of(int32), int32),
+        new OperatorIntrinsic(NAME, List.of(uint32), int64));
+  }
+
+  private Set<Invocable> createSmallIntegerPositive() {
+    final String NAME = "Positive";
+
+    Type int32 = intrinsic(IntrinsicType.INTEGER);
+
+    return ImmutableSet.of(
+        new OperatorIntrinsic(NAME, List.of(int32), int32),
+        new OperatorIntrinsic(NAME, List.of(uint31), uint31));
+  }
+}
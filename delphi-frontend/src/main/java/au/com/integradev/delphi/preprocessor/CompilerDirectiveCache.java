@@ -0,0 +1,79 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.preprocessor;
+
+import au.com.integradev.delphi.antlr.ast.token.DelphiTokenImpl;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.sonar.plugins.communitydelphi.api.directive.CompilerDirective;
+import org.sonar.plugins.communitydelphi.api.directive.CompilerDirectiveParser;
+import org.sonar.plugins.communitydelphi.api.token.DelphiToken;
+
+/**
+ * The compiler directives that were parsed while preprocessing a file, indexed by token index.
+ *
+ * <p>Parsing one of the file's directive tokens returns the directive created during preprocessing,
+ * so each directive in the file is only parsed once. Any other token is parsed as usual.
+ */
+public class CompilerDirectiveCache implements CompilerDirectiveParser {
+  private final List<CompilerDirective> directives;
+  private final Map<Integer, CompilerDirective> directivesByTokenIndex;
+  private final CompilerDirectiveParser parser;
+
+  CompilerDirectiveCache(List<CompilerDirective> directives, CompilerDirectiveParser parser) {
+    this.directives = List.copyOf(directives);
+    this.directivesByTokenIndex = new HashMap<>();
+    this.parser = parser;
+
+    for (CompilerDirective directive : directives) {
+      directivesByTokenIndex.put(directive.getToken().getIndex(), directive);
+    }
+  }
+
+  /**
+   * Returns the compiler directives in the file, in order of appearance.
+   *
+   * @return compiler directives in the file
+   */
+  public List<CompilerDirective> getDirectives() {
+    return directives;
+  }
+
+  @Override
+  public Optional<CompilerDirective> parse(DelphiToken token) {
+    CompilerDirective directive = directivesByTokenIndex.get(token.getIndex());
+    if (directive != null && isSameToken(directive.getToken(), token)) {
+      return Optional.of(directive);
+    }
+    return parser.parse(token);
+  }
+
+  private static boolean isSameToken(DelphiToken a, DelphiToken b) {
+    if (a == b) {
+      return true;
+    }
+    // Token indices are shifted when include files are resolved, so the same ANTLR token can end
+    // up with more than one wrapper.
+    return a instanceof DelphiTokenImpl
+        && b instanceof DelphiTokenImpl
+        && ((DelphiTokenImpl) a).getAntlrToken() == ((DelphiTokenImpl) b).getAntlrToken();
+  }
+}
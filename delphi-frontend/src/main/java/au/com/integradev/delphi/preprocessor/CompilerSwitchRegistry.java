@@ -18,25 +18,97 @@
  */
 package au.com.integradev.delphi.preprocessor;
 
-import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
-import com.google.common.collect.Range;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
 import org.sonar.plugins.communitydelphi.api.directive.SwitchDirective.SwitchKind;
 
 public class CompilerSwitchRegistry {
-  private final Multimap<SwitchKind, Range<Integer>> rangesBySwitchKind;
+  private final Map<SwitchKind, SwitchRanges> rangesBySwitchKind;
 
   CompilerSwitchRegistry() {
-    rangesBySwitchKind = Multimaps.newSetMultimap(Maps.newEnumMap(SwitchKind.class), HashSet::new);
+    rangesBySwitchKind = new EnumMap<>(SwitchKind.class);
   }
 
   void addSwitch(SwitchKind kind, int startIndex, int endIndex) {
-    rangesBySwitchKind.put(kind, Range.closed(startIndex, endIndex));
+    rangesBySwitchKind.computeIfAbsent(kind, k -> new SwitchRanges()).add(startIndex, endIndex);
+  }
+
+  /** Sorts and merges the switch ranges so that they can be queried by binary search. */
+  void index() {
+    rangesBySwitchKind.values().forEach(SwitchRanges::index);
   }
 
   public boolean isActiveSwitch(SwitchKind kind, int tokenIndex) {
-    return rangesBySwitchKind.get(kind).stream().anyMatch(range -> range.contains(tokenIndex));
+    SwitchRanges ranges = rangesBySwitchKind.get(kind);
+    return ranges != null && ranges.contains(tokenIndex);
+  }
+
+  /**
+   * The token index ranges over which a switch is active, stored as parallel arrays of closed
+   * ranges. Once indexed, the ranges are sorted by start index and do not overlap.
+   */
+  private static final class SwitchRanges {
+    private int[] starts = new int[4];
+    private int[] ends = new int[4];
+    private int size;
+    private boolean indexed = true;
+
+    void add(int startIndex, int endIndex) {
+      if (size == starts.length) {
+        starts = Arrays.copyOf(starts, size * 2);
+        ends = Arrays.copyOf(ends, size * 2);
+      }
+      starts[size] = startIndex;
+      ends[size] = endIndex;
+      ++size;
+      indexed = false;
+    }
+
+    void index() {
+      if (indexed) {
+        return;
+      }
+
+      long[] ranges = new long[size];
+      for (int i = 0; i < size; ++i) {
+        ranges[i] = ((long) starts[i] << 32) | (ends[i] & 0xFFFFFFFFL);
+      }
+      Arrays.sort(ranges);
+
+      int merged = 0;
+      for (long range : ranges) {
+        int start = (int) (range >>> 32);
+        int end = (int) range;
+        if (merged > 0 && start <= ends[merged - 1]) {
+          ends[merged - 1] = Math.max(ends[merged - 1], end);
+        } else {
+          starts[merged] = start;
+          ends[merged] = end;
+          ++merged;
+        }
+      }
+
+      size = merged;
+      indexed = true;
+    }
+
+    boolean contains(int tokenIndex) {
+      index();
+
+      int low = 0;
+      int high = size - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        if (starts[mid] > tokenIndex) {
+          high = mid - 1;
+        } else if (ends[mid] < tokenIndex) {
+          low = mid + 1;
+        } else {
+          return true;
+        }
+      }
+      return false;
+    }
   }
 }
@@ -0,0 +1,99 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.preprocessor;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The conditional symbols defined while preprocessing a file.
+ *
+ * <p>Symbols are matched case-insensitively. The symbols from the file config are case-folded once
+ * and shared by every file that uses the same config definitions. Symbols that a file defines or
+ * undefines are tracked separately, so the shared set is never copied or modified.
+ */
+final class DefinitionSet {
+  // Keys are the definition sets from file configs, which are compared by identity.
+  private static final Cache<Set<String>, Set<String>> CASE_FOLDED_DEFINITIONS =
+      CacheBuilder.newBuilder().weakKeys().build();
+
+  private final Set<String> base;
+  private Set<String> defined;
+  private Set<String> undefined;
+
+  private DefinitionSet(Set<String> base) {
+    this.base = base;
+  }
+
+  static DefinitionSet fork(Set<String> definitions) {
+    try {
+      return new DefinitionSet(
+          CASE_FOLDED_DEFINITIONS.get(definitions, () -> caseFoldedSet(definitions)));
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Set<String> caseFoldedSet(Set<String> definitions) {
+    return definitions.stream().map(DefinitionSet::caseFold).collect(ImmutableSet.toImmutableSet());
+  }
+
+  private static String caseFold(String symbol) {
+    return symbol.toLowerCase(Locale.ROOT);
+  }
+
+  boolean contains(String symbol) {
+    String folded = caseFold(symbol);
+    if (undefined != null && undefined.contains(folded)) {
+      return false;
+    }
+    return base.contains(folded) || (defined != null && defined.contains(folded));
+  }
+
+  void define(String symbol) {
+    String folded = caseFold(symbol);
+    if (undefined != null) {
+      undefined.remove(folded);
+    }
+    if (!base.contains(folded)) {
+      if (defined == null) {
+        defined = new HashSet<>();
+      }
+      defined.add(folded);
+    }
+  }
+
+  void undefine(String symbol) {
+    String folded = caseFold(symbol);
+    if (defined != null) {
+      defined.remove(folded);
+    }
+    if (base.contains(folded)) {
+      if (undefined == null) {
+        undefined = new HashSet<>();
+      }
+      undefined.add(folded);
+    }
+  }
+}
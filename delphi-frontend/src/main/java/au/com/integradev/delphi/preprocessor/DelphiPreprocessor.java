@@ -24,6 +24,7 @@ import au.com.integradev.delphi.antlr.DelphiFileStream;
 import au.com.integradev.delphi.antlr.DelphiLexer;
 import au.com.integradev.delphi.antlr.DelphiTokenStream;
 import au.com.integradev.delphi.antlr.ast.token.DelphiTokenImpl;
+import au.com.integradev.delphi.antlr.ast.token.DelphiTokenTable;
 import au.com.integradev.delphi.antlr.ast.token.IncludeToken;
 import au.com.integradev.delphi.compiler.Platform;
 import au.com.integradev.delphi.file.DelphiFileConfig;
@@ -43,9 +44,11 @@ import java.util.Deque;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
+import org.antlr.runtime.CharStream;
 import org.antlr.runtime.Token;
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
@@ -62,15 +65,19 @@ public class DelphiPreprocessor {
   private final DelphiLexer lexer;
   private final DelphiFileConfig config;
   private final Platform platform;
-  private final Set<String> definitions;
+  private final DefinitionSet definitions;
   private final List<CompilerDirective> directives;
   private final Deque<BranchingDirective> parentDirective;
   private final Map<SwitchKind, Integer> currentSwitches;
   private final CompilerSwitchRegistry switchRegistry;
   private final TextBlockLineEndingModeRegistry textBlockLineEndingModeRegistry;
   private final boolean processingIncludeFile;
+  private final DelphiTokenTable tokenTable;
+  private final CompilerDirectiveParserImpl directiveParser;
+  private final List<CompilerDirective> parsedDirectives;
 
   private DelphiTokenStream tokenStream;
+  private CompilerDirectiveCache directiveCache;
   private Set<Token> tokens;
   private List<Token> rawTokens;
   private int tokenIndex;
@@ -80,7 +87,7 @@ public class DelphiPreprocessor {
         lexer,
         config,
         platform,
-        caseInsensitiveSet(config.getDefinitions()),
+        DefinitionSet.fork(config.getDefinitions()),
         new EnumMap<>(SwitchKind.class),
         new CompilerSwitchRegistry(),
         new TextBlockLineEndingModeRegistry(
@@ -95,7 +102,7 @@ public class DelphiPreprocessor {
       DelphiLexer lexer,
       DelphiFileConfig config,
       Platform platform,
-      Set<String> definitions,
+      DefinitionSet definitions,
       Map<SwitchKind, Integer> currentSwitches,
       CompilerSwitchRegistry switchRegistry,
       TextBlockLineEndingModeRegistry textBlockLineEndingModeRegistry,
@@ -112,12 +119,10 @@ public class DelphiPreprocessor {
     this.currentSwitches = currentSwitches;
     this.processingIncludeFile = processingIncludeFile;
     this.tokenIndex = tokenIndexStart;
-  }
-
-  private static Set<String> caseInsensitiveSet(Set<String> set) {
-    Set<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
-    result.addAll(set);
-    return result;
+    this.tokenTable = new DelphiTokenTable();
+    this.directiveParser =
+        new CompilerDirectiveParserImpl(platform, textBlockLineEndingModeRegistry);
+    this.parsedDirectives = new ArrayList<>();
   }
 
   public void process() {
@@ -125,15 +130,21 @@ public class DelphiPreprocessor {
         tokenStream == null, "DelphiPreprocessor.process cannot be called twice.");
     tokenStream = new DelphiTokenStream(lexer);
 
-    tokenStream.fill();
-    tokens = extractTokens(tokenStream);
-    rawTokens = List.copyOf(tokens);
-    tokens.forEach(this::processToken);
-    directives.stream()
-        .map(CompilerDirectiveImpl.class::cast)
-        .forEach(directive -> directive.execute(this));
+    if (config.shouldSkipInactiveBranches()) {
+      processWhileLexing();
+    } else {
+      tokenStream.fill();
+      tokens = extractTokens(tokenStream);
+      rawTokens = List.copyOf(tokens);
+      tokens.forEach(this::processToken);
+      directives.stream()
+          .map(CompilerDirectiveImpl.class::cast)
+          .forEach(directive -> directive.execute(this));
+    }
+
     tokenStream.setTokens(new ArrayList<>(tokens));
     tokenStream.reset();
+    directiveCache = new CompilerDirectiveCache(parsedDirectives, directiveParser);
 
     if (!processingIncludeFile) {
       registerCurrentCompilerSwitches();
@@ -151,14 +162,19 @@ public class DelphiPreprocessor {
     tokenIndex++;
 
     if (token.getType() == DelphiLexer.TkCompilerDirective) {
-      var parser = new CompilerDirectiveParserImpl(platform, getTextBlockLineEndingModeRegistry());
-      DelphiToken directiveToken = new DelphiTokenImpl(token);
-      parser.parse(directiveToken).ifPresent(this::processDirective);
+      parseDirective(token).ifPresent(this::processDirective);
     } else if (!parentDirective.isEmpty()) {
       parentDirective.peek().addToken(token);
     }
   }
 
+  private Optional<CompilerDirective> parseDirective(Token token) {
+    DelphiToken directiveToken = tokenTable.get(token);
+    Optional<CompilerDirective> directive = directiveParser.parse(directiveToken);
+    directive.ifPresent(parsedDirectives::add);
+    return directive;
+  }
+
   private void processDirective(CompilerDirective directive) {
     if (directive instanceof ConditionalDirective) {
       switch (((ConditionalDirective) directive).kind()) {
@@ -184,6 +200,151 @@ public class DelphiPreprocessor {
     }
   }
 
+  /**
+   * Lexes the file one token at a time, executing each directive as soon as it is lexed so that
+   * conditional branches can be evaluated before their contents are reached.
+   *
+   * <p>Inactive branches are skipped over as raw characters. Only the comments and compiler
+   * directives within them are lexed, and the comments are left out of the token stream in the same
+   * way that {@link BranchingDirective} removes them.
+   */
+  private void processWhileLexing() {
+    tokens = new TreeSet<>(comparingInt(Token::getTokenIndex));
+    List<Token> lexedTokens = new ArrayList<>();
+    Deque<Boolean> branchTaken = new ArrayDeque<>();
+
+    while (true) {
+      Token token = lexer.nextToken();
+      addLexedToken(token, lexedTokens, true);
+      if (token.getType() == Token.EOF) {
+        break;
+      }
+
+      if (token.getType() == DelphiLexer.TkCompilerDirective) {
+        CompilerDirective directive = parseDirective(token).orElse(null);
+        while (directive != null && startsInactiveBranch(directive, branchTaken)) {
+          directive = skipInactiveBranch(lexedTokens);
+        }
+        if (Iterables.getLast(lexedTokens).getType() == Token.EOF) {
+          break;
+        }
+      }
+    }
+
+    rawTokens = Collections.unmodifiableList(lexedTokens);
+  }
+
+  private void addLexedToken(Token token, List<Token> lexedTokens, boolean active) {
+    token.setTokenIndex(tokenIndex);
+    tokenIndex++;
+    lexedTokens.add(token);
+    if (active) {
+      tokens.add(token);
+    }
+  }
+
+  private boolean startsInactiveBranch(CompilerDirective directive, Deque<Boolean> branchTaken) {
+    if (!(directive instanceof ConditionalDirective)) {
+      ((CompilerDirectiveImpl) directive).execute(this);
+      return false;
+    }
+
+    switch (((ConditionalDirective) directive).kind()) {
+      case IF:
+      case IFDEF:
+      case IFNDEF:
+      case IFOPT:
+        boolean successful = ((BranchDirective) directive).isSuccessfulBranch(this);
+        branchTaken.push(successful);
+        return !successful;
+      case ELSEIF:
+      case ELSE:
+        Preconditions.checkState(!branchTaken.isEmpty());
+        if (branchTaken.peek() || !((BranchDirective) directive).isSuccessfulBranch(this)) {
+          return true;
+        }
+        branchTaken.pop();
+        branchTaken.push(true);
+        return false;
+      default:
+        Preconditions.checkState(!branchTaken.isEmpty());
+        branchTaken.pop();
+        return false;
+    }
+  }
+
+  /**
+   * Skips ahead to the conditional directive that ends the current inactive branch.
+   *
+   * @param lexedTokens the tokens lexed so far
+   * @return the directive ending the branch, or null if the end of the file was reached
+   */
+  private CompilerDirective skipInactiveBranch(List<Token> lexedTokens) {
+    int nesting = 0;
+    while (true) {
+      Token token = nextTokenInInactiveBranch();
+      boolean isDirective = token.getType() == DelphiLexer.TkCompilerDirective;
+      addLexedToken(token, lexedTokens, isDirective || token.getType() == Token.EOF);
+
+      if (token.getType() == Token.EOF) {
+        return null;
+      }
+
+      CompilerDirective directive = isDirective ? parseDirective(token).orElse(null) : null;
+      if (!(directive instanceof ConditionalDirective)) {
+        continue;
+      }
+
+      switch (((ConditionalDirective) directive).kind()) {
+        case IF:
+        case IFDEF:
+        case IFNDEF:
+        case IFOPT:
+          ++nesting;
+          break;
+        case ELSEIF:
+        case ELSE:
+          if (nesting == 0) {
+            return directive;
+          }
+          break;
+        default:
+          if (nesting == 0) {
+            return directive;
+          }
+          --nesting;
+      }
+    }
+  }
+
+  /**
+   * Consumes characters up to the next comment or compiler directive, which is then lexed. String
+   * literals are lexed and discarded so that their contents can't be mistaken for comments.
+   *
+   * @return the next comment, compiler directive, or end of file token
+   */
+  private Token nextTokenInInactiveBranch() {
+    CharStream input = lexer.getCharStream();
+    while (true) {
+      int character = input.LA(1);
+      if (character == CharStream.EOF
+          || character == '{'
+          || character == '\''
+          || (character == '(' && input.LA(2) == '*')
+          || (character == '/' && input.LA(2) == '/')) {
+        Token token = lexer.nextToken();
+        int type = token.getType();
+        if (type == DelphiLexer.COMMENT
+            || type == DelphiLexer.TkCompilerDirective
+            || type == Token.EOF) {
+          return token;
+        }
+      } else {
+        input.consume();
+      }
+    }
+  }
+
   public void deleteToken(Token token) {
     tokens.remove(token);
   }
@@ -206,7 +367,10 @@ public class DelphiPreprocessor {
     DelphiToken location = new DelphiTokenImpl(insertionToken);
     List<Token> includeTokens = processIncludeFile(includeFileName, includePath, location);
 
-    offsetTokenIndices(location.getIndex(), getTokenOffset(includeTokens));
+    int offset = getTokenOffset(includeTokens);
+    offsetTokenIndices(location.getIndex(), offset);
+    // Any tokens that haven't been lexed yet will follow the include tokens.
+    tokenIndex += offset;
     deleteToken(insertionToken);
     tokens.addAll(includeTokens);
   }
@@ -291,11 +455,11 @@ public class DelphiPreprocessor {
   }
 
   public void define(String define) {
-    definitions.add(define);
+    definitions.define(define);
   }
 
   public void undefine(String define) {
-    definitions.remove(define);
+    definitions.undefine(define);
   }
 
   public void handleSwitch(SwitchKind kind, int tokenIndex, boolean value) {
@@ -315,6 +479,7 @@ public class DelphiPreprocessor {
       int lastTokenIndex = Iterables.getLast(tokens).getTokenIndex();
       currentSwitches.forEach((type, index) -> handleSwitch(type, lastTokenIndex, false));
     }
+    switchRegistry.index();
   }
 
   public void handleTextBlock(LineEndingKind lineEndingKind, int tokenIndex) {
@@ -356,10 +521,18 @@ public class DelphiPreprocessor {
     return config.getTypeFactory();
   }
 
+  public CompilerDirectiveCache getCompilerDirectiveCache() {
+    return directiveCache;
+  }
+
+  public DelphiTokenTable getTokenTable() {
+    return tokenTable;
+  }
+
   public List<DelphiToken> getRawTokens() {
     return rawTokens.stream()
         .filter(token -> token.getType() != Token.EOF)
-        .map(DelphiTokenImpl::new)
+        .map(tokenTable::get)
         .collect(Collectors.toUnmodifiableList());
   }
 
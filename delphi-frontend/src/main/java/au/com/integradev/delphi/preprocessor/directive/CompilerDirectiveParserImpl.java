@@ -22,14 +22,19 @@ import static au.com.integradev.delphi.preprocessor.directive.CompilerDirectiveP
 import static au.com.integradev.delphi.preprocessor.directive.CompilerDirectiveParserImpl.DirectiveBracketType.PAREN;
 
 import au.com.integradev.delphi.compiler.Platform;
+import au.com.integradev.delphi.preprocessor.TextBlockLineEndingMode;
 import au.com.integradev.delphi.preprocessor.TextBlockLineEndingModeRegistry;
 import au.com.integradev.delphi.preprocessor.directive.expression.Expression;
 import au.com.integradev.delphi.preprocessor.directive.expression.ExpressionLexer;
 import au.com.integradev.delphi.preprocessor.directive.expression.ExpressionLexer.ExpressionLexerError;
 import au.com.integradev.delphi.preprocessor.directive.expression.ExpressionParser;
 import au.com.integradev.delphi.preprocessor.directive.expression.ExpressionParser.ExpressionParserError;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.apache.commons.lang3.EnumUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -48,6 +53,11 @@ import org.sonar.plugins.communitydelphi.api.token.DelphiToken;
 public class CompilerDirectiveParserImpl implements CompilerDirectiveParser {
   private static final ExpressionLexer EXPRESSION_LEXER = new ExpressionLexer();
 
+  // Expression trees are immutable, and the same conditions recur in every unit that includes a
+  // common header, so they are shared across the whole analysis.
+  private static final Cache<Map.Entry<TextBlockLineEndingMode, String>, Expression>
+      EXPRESSION_CACHE = CacheBuilder.newBuilder().maximumSize(4096).build();
+
   private static final char END_OF_INPUT = '\0';
 
   enum DirectiveBracketType {
@@ -304,17 +314,22 @@ public class CompilerDirectiveParserImpl implements CompilerDirectiveParser {
       character = nextChar();
     }
 
-    try {
-      var tokens = EXPRESSION_LEXER.lex(input.toString());
-      return expressionParser().parse(tokens);
-    } catch (ExpressionLexerError | ExpressionParserError e) {
-      throw new CompilerDirectiveParserError(e, token);
+    TextBlockLineEndingMode lineEndingMode =
+        textBlockLineEndingModeRegistry.getLineEndingMode(token.getIndex());
+    Map.Entry<TextBlockLineEndingMode, String> key =
+        Maps.immutableEntry(lineEndingMode, input.toString());
+
+    Expression expression = EXPRESSION_CACHE.getIfPresent(key);
+    if (expression == null) {
+      try {
+        var tokens = EXPRESSION_LEXER.lex(key.getValue());
+        expression = new ExpressionParser(lineEndingMode).parse(tokens);
+      } catch (ExpressionLexerError | ExpressionParserError e) {
+        throw new CompilerDirectiveParserError(e, token);
+      }
+      EXPRESSION_CACHE.put(key, expression);
     }
-  }
-
-  private ExpressionParser expressionParser() {
-    int index = token.getIndex();
-    return new ExpressionParser(textBlockLineEndingModeRegistry.getLineEndingMode(index));
+    return expression;
   }
 
   private boolean isEndOfDirective(char character) {
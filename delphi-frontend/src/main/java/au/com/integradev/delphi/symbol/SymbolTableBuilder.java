@@ -21,6 +21,7 @@ package au.com.integradev.delphi.symbol;
 import static au.com.integradev.delphi.utils.DelphiUtils.stopProgressReport;
 
 import au.com.integradev.delphi.DelphiProperties;
+import au.com.integradev.delphi.antlr.ast.node.ExpressionNodeImpl;
 import au.com.integradev.delphi.antlr.ast.visitors.DependencyAnalysisVisitor;
 import au.com.integradev.delphi.antlr.ast.visitors.SymbolTableVisitor;
 import au.com.integradev.delphi.file.DelphiFile;
@@ -41,6 +42,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -50,6 +52,8 @@ import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sonar.plugins.communitydelphi.api.ast.DelphiAst;
+import org.sonar.plugins.communitydelphi.api.ast.ExpressionNode;
 import org.sonar.plugins.communitydelphi.api.ast.UnitImportNode;
 import org.sonar.plugins.communitydelphi.api.symbol.Qualifiable;
 import org.sonar.plugins.communitydelphi.api.symbol.declaration.NameDeclaration;
@@ -255,14 +259,35 @@ public class SymbolTableBuilder {
     return allUnitsByName.get(importName.toLowerCase());
   }
 
-  private DelphiFileConfig createFileConfig(UnitData unit, boolean shouldSkipImplementation) {
+  private DelphiFileConfig createFileConfig(UnitData unit, ResolutionLevel resolutionLevel) {
+    boolean skipRoutineBodies = shouldSkipRoutineBodies(unit, resolutionLevel);
     return DelphiFile.createConfig(
         sourceFileUnits.contains(unit) ? encoding : null,
         preprocessorFactory,
         typeFactory,
         searchPath,
         conditionalDefines,
-        shouldSkipImplementation);
+        resolutionLevel != ResolutionLevel.COMPLETE,
+        skipRoutineBodies,
+        skipRoutineBodies ? inlineRoutineNames(unit) : Collections.emptySet(),
+        false,
+        !unit.isSourceFile);
+  }
+
+  /**
+   * Non-source units are only completed so that the dependencies of their inline routines are
+   * known, so the bodies of any other routines don't need to be parsed.
+   */
+  private static boolean shouldSkipRoutineBodies(UnitData unit, ResolutionLevel resolutionLevel) {
+    return !unit.isSourceFile
+        && resolutionLevel == ResolutionLevel.COMPLETE
+        && unit.unitDeclaration != null;
+  }
+
+  private static Set<String> inlineRoutineNames(UnitData unit) {
+    Set<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    collectInlineRoutineNames(unit.unitDeclaration.getFileScope(), result);
+    return result;
   }
 
   private void process(UnitData unit, ResolutionLevel resolutionLevel) {
@@ -279,8 +304,7 @@ public class SymbolTableBuilder {
         LOG.debug("{}> {}", indentation, fileName);
       }
 
-      boolean shouldSkipImplementation = (resolutionLevel != ResolutionLevel.COMPLETE);
-      DelphiFileConfig fileConfig = createFileConfig(unit, shouldSkipImplementation);
+      DelphiFileConfig fileConfig = createFileConfig(unit, resolutionLevel);
       DelphiFile delphiFile = DelphiFile.from(unit.unitFile.toFile(), fileConfig);
 
       if (unit.resolved == ResolutionLevel.NONE) {
@@ -318,17 +342,28 @@ public class SymbolTableBuilder {
       String filePath = unit.unitFile.toAbsolutePath().toString();
       unit.unitDeclaration = data.getUnitDeclaration();
       symbolTable.addUnit(filePath, unit.unitDeclaration);
+      FileScopeImpl fileScope = (FileScopeImpl) data.getUnitDeclaration().getFileScope();
       if (!unit.isSourceFile) {
-        FileScopeImpl fileScope = (FileScopeImpl) data.getUnitDeclaration().getFileScope();
         fileScope.unregisterScopes();
         fileScope.unregisterDeclarations();
         fileScope.unregisterOccurrences();
+      } else if (resolutionLevel == ResolutionLevel.COMPLETE) {
+        registerExpressionTypes(fileScope, delphiFile.getAst());
       }
     }
 
     unit.resolved = resolutionLevel;
   }
 
+  private static void registerExpressionTypes(FileScopeImpl fileScope, DelphiAst ast) {
+    for (ExpressionNode expression : ast.findDescendantsOfType(ExpressionNode.class)) {
+      Type type = ((ExpressionNodeImpl) expression).getResolvedType();
+      if (type != null && !type.isUnknown() && !type.isUnresolved()) {
+        fileScope.registerType(expression, type);
+      }
+    }
+  }
+
   private static void runDependencyAnalysisVisitor(
       UnitData unit, DelphiFile delphiFile, ResolutionLevel resolutionLevel) {
     var data = new DependencyAnalysisVisitor.Data(unit.unitDeclaration);
@@ -391,6 +426,22 @@ public class SymbolTableBuilder {
         .anyMatch(SymbolTableBuilder::hasInlineRoutines);
   }
 
+  private static void collectInlineRoutineNames(DelphiScope scope, Set<String> result) {
+    scope.getRoutineDeclarations().stream()
+        .filter(routine -> routine.hasDirective(RoutineDirective.INLINE))
+        .map(NameDeclaration::getName)
+        .map(name -> StringUtils.substringBefore(name, "<"))
+        .forEach(result::add);
+
+    scope.getTypeDeclarations().stream()
+        .map(TypeNameDeclaration::getType)
+        .filter(Predicate.not(Type::isClassReference))
+        .filter(ScopedType.class::isInstance)
+        .map(ScopedType.class::cast)
+        .map(ScopedType::typeScope)
+        .forEach(typeScope -> collectInlineRoutineNames(typeScope, result));
+  }
+
   private void indexUnit(UnitData unit, ResolutionLevel resolutionLevel) {
     LOG.debug("Indexing file: {}", unit.unitFile.toAbsolutePath());
     process(unit, resolutionLevel);
@@ -18,6 +18,7 @@
  */
 package au.com.integradev.delphi.symbol.declaration;
 
+import au.com.integradev.delphi.antlr.ast.token.IdentifierPool;
 import au.com.integradev.delphi.symbol.SymbolicNode;
 import com.google.common.collect.ComparisonChain;
 import java.util.Objects;
@@ -51,7 +52,10 @@ public abstract class NameDeclarationImpl implements NameDeclaration {
 
   private void generateHashCode() {
     hashcode =
-        Objects.hash(getImage().toLowerCase(), isForwardDeclaration, isImplementationDeclaration);
+        Objects.hash(
+            IdentifierPool.caseFolded(getImage()),
+            isForwardDeclaration,
+            isImplementationDeclaration);
   }
 
   @Override
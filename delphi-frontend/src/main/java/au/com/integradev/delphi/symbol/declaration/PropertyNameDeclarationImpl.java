@@ -18,6 +18,7 @@
  */
 package au.com.integradev.delphi.symbol.declaration;
 
+import au.com.integradev.delphi.antlr.ast.token.IdentifierPool;
 import au.com.integradev.delphi.symbol.SymbolicNode;
 import au.com.integradev.delphi.type.parameter.FormalParameter;
 import com.google.common.collect.ComparisonChain;
@@ -306,7 +307,7 @@ public final class PropertyNameDeclarationImpl extends NameDeclarationImpl
   @Override
   public int hashCode() {
     if (hashCode == 0) {
-      hashCode = Objects.hash(getNode().getImage().toLowerCase(), parameters);
+      hashCode = Objects.hash(IdentifierPool.caseFolded(getNode().getImage()), parameters);
     }
     return hashCode;
   }
@@ -18,6 +18,7 @@
  */
 package au.com.integradev.delphi.symbol.declaration;
 
+import au.com.integradev.delphi.antlr.ast.token.IdentifierPool;
 import au.com.integradev.delphi.symbol.SymbolicNode;
 import com.google.common.collect.ComparisonChain;
 import java.util.Collections;
@@ -44,6 +45,8 @@ public final class TypeNameDeclarationImpl extends NameDeclarationImpl
   private final Type type;
   private final List<TypedDeclaration> typeParameters;
   private final TypeNameDeclaration aliased;
+  private final String caseFoldedImage;
+  private final String caseFoldedTypeImage;
 
   public TypeNameDeclarationImpl(TypeDeclarationNode node) {
     this(
@@ -77,6 +80,8 @@ public final class TypeNameDeclarationImpl extends NameDeclarationImpl
     this.fullyQualifiedName = fullyQualifiedName;
     this.typeParameters = typeParameters;
     this.aliased = aliased;
+    this.caseFoldedImage = IdentifierPool.caseFolded(getImage());
+    this.caseFoldedTypeImage = IdentifierPool.caseFolded(type.getImage());
   }
 
   private static List<TypedDeclaration> extractTypeParameters(TypeDeclarationNode node) {
@@ -145,8 +150,7 @@ public final class TypeNameDeclarationImpl extends NameDeclarationImpl
 
   @Override
   public int hashCode() {
-    return Objects.hash(
-        getImage().toLowerCase(), type.getImage().toLowerCase(), getTypeParameters());
+    return Objects.hash(caseFoldedImage, caseFoldedTypeImage, getTypeParameters());
   }
 
   @Override
@@ -20,6 +20,7 @@ package au.com.integradev.delphi.symbol.declaration;
 
 import au.com.integradev.delphi.antlr.ast.node.DelphiNodeImpl;
 import au.com.integradev.delphi.antlr.ast.node.NameDeclarationNodeImpl;
+import au.com.integradev.delphi.antlr.ast.token.IdentifierPool;
 import au.com.integradev.delphi.symbol.SymbolicNode;
 import au.com.integradev.delphi.symbol.resolve.TypeInferrer;
 import java.util.List;
@@ -317,7 +318,7 @@ public final class VariableNameDeclarationImpl extends NameDeclarationImpl
   @Override
   public int hashCode() {
     if (hashCode == 0) {
-      hashCode = Objects.hash(getImage().toLowerCase(), type.getImage(), kind);
+      hashCode = Objects.hash(IdentifierPool.caseFolded(getImage()), type.getImage(), kind);
     }
     return hashCode;
   }
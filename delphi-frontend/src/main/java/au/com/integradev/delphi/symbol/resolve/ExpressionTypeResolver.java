@@ -155,7 +155,7 @@ public final class ExpressionTypeResolver {
     var left = new InvocationArgument(leftExpression);
     var right = new InvocationArgument(rightExpression);
 
-    InvocationResolver resolver = new InvocationResolver();
+    InvocationResolver resolver = new InvocationResolver(typeFactory);
     resolver.addArgument(left);
     resolver.addArgument(right);
 
@@ -169,7 +169,7 @@ public final class ExpressionTypeResolver {
   private Type resolveOperatorType(UnaryOperator operator, ExpressionNode operandExpression) {
     var operand = new InvocationArgument(operandExpression);
 
-    InvocationResolver resolver = new InvocationResolver();
+    InvocationResolver resolver = new InvocationResolver(typeFactory);
     resolver.addArgument(operand);
 
     createOperatorInvocables(operator, operand.getType()).stream()
@@ -23,6 +23,7 @@ import com.google.common.base.Preconditions;
 import java.math.BigInteger;
 import java.util.Objects;
 import javax.annotation.Nullable;
+import org.sonar.plugins.communitydelphi.api.ast.ArrayConstructorNode;
 import org.sonar.plugins.communitydelphi.api.ast.ExpressionNode;
 import org.sonar.plugins.communitydelphi.api.ast.IntegerLiteralNode;
 import org.sonar.plugins.communitydelphi.api.ast.PrimaryExpressionNode;
@@ -76,6 +77,19 @@ public class InvocationArgument implements Typed {
         && parameterType.isProcedural();
   }
 
+  /**
+   * Whether this argument can be matched against a parameter using its type alone. Literals, array
+   * constructors and routine references are inspected beyond their type during overload resolution.
+   *
+   * @return true if overload resolution against this argument only depends on its type
+   */
+  boolean isResolvableByType() {
+    return !looksLikeProceduralReference()
+        && ExpressionNodeUtils.unwrapInteger(expression) == null
+        && !type.isArrayConstructor()
+        && !(expression.skipParentheses().getChild(0) instanceof ArrayConstructorNode);
+  }
+
   boolean violatesBounds(Type type) {
     return BoundsChecker.forType(type).violatesBounds(expression);
   }
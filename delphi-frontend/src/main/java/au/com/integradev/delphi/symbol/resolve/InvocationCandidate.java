@@ -20,7 +20,8 @@ package au.com.integradev.delphi.symbol.resolve;
 
 import au.com.integradev.delphi.operator.OperatorIntrinsic;
 import au.com.integradev.delphi.type.generic.TypeSpecializationContextImpl;
-import java.util.ArrayList;
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -55,13 +56,31 @@ public final class InvocationCandidate {
   private int structMismatchCount;
   private int proceduralDistance;
   private int codePageDistance;
-  private final List<VariantConversionType> variantConversions;
+  private VariantConversionType[] variantConversions;
+  private int variantConversionCount;
+  private final boolean variantOperator;
+  private final boolean implicitSpecialization;
   private boolean invalid;
 
   public InvocationCandidate(Invocable invocable) {
+    this(invocable, false);
+  }
+
+  private InvocationCandidate(Invocable invocable, boolean implicitSpecialization) {
     this.data = invocable;
     this.convertLevelCount = new int[CONVERT_LEVELS];
-    this.variantConversions = new ArrayList<>(invocable.getParametersCount());
+    this.variantConversions = new VariantConversionType[invocable.getParameters().size()];
+    this.variantOperator = isOperatorIntrinsic() && hasVariantParameter(invocable);
+    this.implicitSpecialization = implicitSpecialization;
+  }
+
+  private static boolean hasVariantParameter(Invocable invocable) {
+    for (Parameter parameter : invocable.getParameters()) {
+      if (parameter.getType().is(IntrinsicType.VARIANT)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   public Invocable getData() {
@@ -157,11 +176,17 @@ public final class InvocationCandidate {
   }
 
   public void addVariantConversion(VariantConversionType variantConversionType) {
-    variantConversions.add(variantConversionType);
+    if (variantConversionCount == variantConversions.length) {
+      // Variadic invocables can take more arguments than they declare parameters
+      variantConversions =
+          Arrays.copyOf(variantConversions, Math.max(4, variantConversionCount * 2));
+    }
+    variantConversions[variantConversionCount++] = variantConversionType;
   }
 
   public VariantConversionType getVariantConversionType(int argumentIndex) {
-    return variantConversions.get(argumentIndex);
+    Preconditions.checkElementIndex(argumentIndex, variantConversionCount);
+    return variantConversions[argumentIndex];
   }
 
   public boolean isOperatorIntrinsic() {
@@ -169,10 +194,11 @@ public final class InvocationCandidate {
   }
 
   public boolean isVariantOperator() {
-    return isOperatorIntrinsic()
-        && data.getParameters().stream()
-            .map(Parameter::getType)
-            .anyMatch(type -> type.is(IntrinsicType.VARIANT));
+    return variantOperator;
+  }
+
+  boolean isImplicitSpecialization() {
+    return implicitSpecialization;
   }
 
   public boolean isInvalid() {
@@ -183,6 +209,10 @@ public final class InvocationCandidate {
     this.invalid = true;
   }
 
+  void setValid() {
+    this.invalid = false;
+  }
+
   public static InvocationCandidate implicitSpecialization(
       Invocable invocable, List<Type> argumentTypes) {
     if (!(invocable instanceof RoutineNameDeclaration)) {
@@ -227,7 +257,7 @@ public final class InvocationCandidate {
     var context = new TypeSpecializationContextImpl(routineDeclaration, typeArguments);
     Invocable specialized = (Invocable) routineDeclaration.specialize(context);
 
-    return new InvocationCandidate(specialized);
+    return new InvocationCandidate(specialized, true);
   }
 
   @Override
@@ -0,0 +1,169 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.symbol.resolve;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.sonar.plugins.communitydelphi.api.symbol.Invocable;
+import org.sonar.plugins.communitydelphi.api.type.Type;
+
+/**
+ * A size-bounded cache of overload resolution outcomes, shared by every {@link InvocationResolver}
+ * created with a single type factory.
+ *
+ * <p>Entries are keyed on the identity of the candidate invocables and of the argument types, and
+ * hold the indices of the candidates that survived {@link InvocationResolver#chooseBest()}. Only
+ * invocations where every argument can be judged on its type alone are cached.
+ *
+ * <p>Identity keys only stay meaningful while the keyed types don't change, so the cache must be
+ * {@link #invalidateAll() invalidated} whenever a type is completed after its creation, as happens
+ * to forward-declared structs, pointers, class references and generic routine type parameters.
+ */
+public final class InvocationResolutionCache {
+  public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+  private final Cache<Key, int[]> cache;
+
+  public InvocationResolutionCache() {
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  public InvocationResolutionCache(int maximumSize) {
+    Preconditions.checkArgument(maximumSize > 0, "maximumSize must be positive");
+    this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+  }
+
+  @Nullable
+  static Key createKey(List<InvocationCandidate> candidates, List<InvocationArgument> arguments) {
+    Invocable[] invocables = new Invocable[candidates.size()];
+    for (int i = 0; i < invocables.length; ++i) {
+      InvocationCandidate candidate = candidates.get(i);
+      if (candidate.isImplicitSpecialization()) {
+        return null;
+      }
+      invocables[i] = candidate.getData();
+    }
+
+    Type[] argumentTypes = new Type[arguments.size()];
+    for (int i = 0; i < argumentTypes.length; ++i) {
+      InvocationArgument argument = arguments.get(i);
+      if (!argument.isResolvableByType()) {
+        return null;
+      }
+      argumentTypes[i] = argument.getType();
+    }
+
+    return new Key(invocables, argumentTypes);
+  }
+
+  @Nullable
+  int[] get(Key key) {
+    return cache.getIfPresent(key);
+  }
+
+  void put(Key key, int[] survivors) {
+    cache.put(key, survivors);
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public long hitCount() {
+    return cache.stats().hitCount();
+  }
+
+  public long missCount() {
+    return cache.stats().missCount();
+  }
+
+  public long retainedCount() {
+    return cache.size();
+  }
+
+  @Override
+  public String toString() {
+    CacheStats stats = cache.stats();
+    return "InvocationResolutionCache{"
+        + "hits="
+        + stats.hitCount()
+        + ", misses="
+        + stats.missCount()
+        + ", evictions="
+        + stats.evictionCount()
+        + ", retained="
+        + cache.size()
+        + "}";
+  }
+
+  static final class Key {
+    private final Invocable[] invocables;
+    private final Type[] argumentTypes;
+    private final int hashCode;
+
+    private Key(Invocable[] invocables, Type[] argumentTypes) {
+      this.invocables = invocables;
+      this.argumentTypes = argumentTypes;
+      this.hashCode = 31 * identityHashCode(invocables) + identityHashCode(argumentTypes);
+    }
+
+    private static int identityHashCode(Object[] elements) {
+      int result = 1;
+      for (Object element : elements) {
+        result = 31 * result + System.identityHashCode(element);
+      }
+      return result;
+    }
+
+    private static boolean identityEquals(Object[] a, Object[] b) {
+      if (a.length != b.length) {
+        return false;
+      }
+      for (int i = 0; i < a.length; ++i) {
+        if (a[i] != b[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key that = (Key) o;
+      return hashCode == that.hashCode
+          && identityEquals(invocables, that.invocables)
+          && identityEquals(argumentTypes, that.argumentTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
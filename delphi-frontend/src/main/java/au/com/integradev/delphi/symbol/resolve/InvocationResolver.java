@@ -44,17 +44,20 @@ import static au.com.integradev.delphi.symbol.resolve.VariantConversionType.UNIC
 import static au.com.integradev.delphi.symbol.resolve.VariantConversionType.WIDESTRING;
 import static au.com.integradev.delphi.symbol.resolve.VariantConversionType.WORD;
 import static java.lang.Math.abs;
-import static java.util.function.Predicate.not;
 
 import au.com.integradev.delphi.symbol.resolve.TypeConverter.TypeConversion;
 import au.com.integradev.delphi.type.TypeUtils;
+import au.com.integradev.delphi.type.factory.TypeFactoryImpl;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ComparisonChain;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.sonar.plugins.communitydelphi.api.type.CodePages;
 import org.sonar.plugins.communitydelphi.api.type.IntrinsicType;
 import org.sonar.plugins.communitydelphi.api.type.Parameter;
@@ -66,6 +69,7 @@ import org.sonar.plugins.communitydelphi.api.type.Type.IntegerType;
 import org.sonar.plugins.communitydelphi.api.type.Type.ProceduralType;
 import org.sonar.plugins.communitydelphi.api.type.Type.ProceduralType.ProceduralKind;
 import org.sonar.plugins.communitydelphi.api.type.Type.StructType;
+import org.sonar.plugins.communitydelphi.api.type.TypeFactory;
 
 /**
  * Resolves an invocation to the correct declaration. Based directly off of the tcallcandidates
@@ -77,10 +81,31 @@ import org.sonar.plugins.communitydelphi.api.type.Type.StructType;
 public class InvocationResolver {
   private final List<InvocationCandidate> candidates;
   private final List<InvocationArgument> arguments;
+  @Nullable private final InvocationResolutionCache cache;
+  @Nullable private InvocationResolutionCache.Key cacheKey;
+  private boolean resolvedFromCache;
 
   public InvocationResolver() {
+    this((InvocationResolutionCache) null);
+  }
+
+  /**
+   * Creates a resolver that reuses the outcomes of previous resolutions made with the same type
+   * factory.
+   *
+   * @param typeFactory the type factory
+   */
+  public InvocationResolver(TypeFactory typeFactory) {
+    this(
+        typeFactory instanceof TypeFactoryImpl
+            ? ((TypeFactoryImpl) typeFactory).getInvocationResolutionCache()
+            : null);
+  }
+
+  private InvocationResolver(@Nullable InvocationResolutionCache cache) {
     this.candidates = new ArrayList<>();
     this.arguments = new ArrayList<>();
+    this.cache = cache;
   }
 
   public void addCandidate(InvocationCandidate candidate) {
@@ -103,6 +128,15 @@ public class InvocationResolver {
    *     tcallcandidates.get_information</a>
    */
   public void processCandidates() {
+    if (cache != null && !candidates.isEmpty()) {
+      cacheKey = InvocationResolutionCache.createKey(candidates, arguments);
+      int[] survivors = cacheKey == null ? null : cache.get(cacheKey);
+      if (survivors != null) {
+        restoreSurvivors(survivors);
+        return;
+      }
+    }
+
     for (InvocationCandidate candidate : candidates) {
       for (int i = 0; i < arguments.size(); ++i) {
         InvocationArgument argument = arguments.get(i);
@@ -116,6 +150,16 @@ public class InvocationResolver {
     }
   }
 
+  private void restoreSurvivors(int[] survivors) {
+    for (InvocationCandidate candidate : candidates) {
+      candidate.setInvalid();
+    }
+    for (int index : survivors) {
+      candidates.get(index).setValid();
+    }
+    resolvedFromCache = true;
+  }
+
   /**
    * Checks a particular argument against the invocation candidate parameter.
    *
@@ -421,6 +465,23 @@ public class InvocationResolver {
       return Collections.emptySet();
     }
 
+    if (!resolvedFromCache) {
+      eliminateWorseCandidates();
+      if (cacheKey != null) {
+        Objects.requireNonNull(cache).put(cacheKey, findSurvivors());
+      }
+    }
+
+    Set<InvocationCandidate> result = new HashSet<>();
+    for (InvocationCandidate candidate : candidates) {
+      if (!candidate.isInvalid()) {
+        result.add(candidate);
+      }
+    }
+    return result;
+  }
+
+  private void eliminateWorseCandidates() {
     InvocationCandidate bestCandidate = candidates.get(0);
 
     for (int i = 1; i < candidates.size(); ++i) {
@@ -443,10 +504,17 @@ public class InvocationResolver {
         candidate.setInvalid();
       }
     }
+  }
 
-    return candidates.stream()
-        .filter(not(InvocationCandidate::isInvalid))
-        .collect(Collectors.toSet());
+  private int[] findSurvivors() {
+    int count = 0;
+    int[] survivors = new int[candidates.size()];
+    for (int i = 0; i < candidates.size(); ++i) {
+      if (!candidates.get(i).isInvalid()) {
+        survivors[count++] = i;
+      }
+    }
+    return Arrays.copyOf(survivors, count);
   }
 
   /**
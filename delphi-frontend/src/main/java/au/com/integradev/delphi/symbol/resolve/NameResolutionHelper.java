@@ -25,6 +25,7 @@ import au.com.integradev.delphi.symbol.SearchMode;
 import au.com.integradev.delphi.symbol.declaration.NameDeclarationImpl;
 import au.com.integradev.delphi.symbol.occurrence.NameOccurrenceImpl;
 import au.com.integradev.delphi.symbol.scope.RoutineScopeImpl;
+import au.com.integradev.delphi.type.factory.TypeFactoryImpl;
 import au.com.integradev.delphi.type.generic.TypeParameterTypeImpl;
 import java.util.ArrayList;
 import java.util.List;
@@ -495,7 +496,7 @@ public class NameResolutionHelper {
     return false;
   }
 
-  private static void completeTypeParameterReferences(RoutineImplementationNode routine) {
+  private void completeTypeParameterReferences(RoutineImplementationNode routine) {
     NameReferenceNode reference = routine.getNameReferenceNode().getLastName();
     NameDeclaration declaration = reference.getNameDeclaration();
     if (!(declaration instanceof GenerifiableDeclaration)) {
@@ -512,6 +513,7 @@ public class NameResolutionHelper {
     List<TypeReferenceNode> typeArguments =
         genericArguments.findChildrenOfType(TypeReferenceNode.class);
 
+    boolean typesCompleted = false;
     for (int i = 0; i < typeParameters.size(); ++i) {
       TypedDeclaration parameterDeclaration = typeParameters.get(i);
       TypeReferenceNode parameterReference = typeArguments.get(i);
@@ -531,7 +533,12 @@ public class NameResolutionHelper {
 
       if (!argumentType.isAlias() && argumentType.isTypeParameter()) {
         ((TypeParameterTypeImpl) argumentType).setFullType(parameterType);
+        typesCompleted = true;
       }
     }
+
+    if (typesCompleted && typeFactory instanceof TypeFactoryImpl) {
+      ((TypeFactoryImpl) typeFactory).getInvocationResolutionCache().invalidateAll();
+    }
   }
 }
@@ -950,7 +950,7 @@ public class NameResolver {
 
     argumentExpressions.forEach(getNameResolutionHelper()::resolveSubExpressions);
 
-    InvocationResolver resolver = new InvocationResolver();
+    InvocationResolver resolver = new InvocationResolver(typeFactory);
     argumentExpressions.stream().map(InvocationArgument::new).forEach(resolver::addArgument);
     createCandidates(resolver);
 
@@ -21,6 +21,7 @@ package au.com.integradev.delphi.symbol.scope;
 import static java.util.function.Predicate.not;
 
 import au.com.integradev.delphi.antlr.ast.node.ArrayAccessorNodeImpl;
+import au.com.integradev.delphi.antlr.ast.node.ExpressionNodeImpl;
 import au.com.integradev.delphi.antlr.ast.node.MutableDelphiNode;
 import au.com.integradev.delphi.antlr.ast.node.NameDeclarationNodeImpl;
 import au.com.integradev.delphi.antlr.ast.node.NameReferenceNodeImpl;
@@ -30,11 +31,13 @@ import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.plugins.communitydelphi.api.ast.ArrayAccessorNode;
+import org.sonar.plugins.communitydelphi.api.ast.ExpressionNode;
 import org.sonar.plugins.communitydelphi.api.ast.NameDeclarationNode;
 import org.sonar.plugins.communitydelphi.api.ast.NameReferenceNode;
 import org.sonar.plugins.communitydelphi.api.ast.Node;
@@ -46,6 +49,7 @@ import org.sonar.plugins.communitydelphi.api.symbol.declaration.UnitImportNameDe
 import org.sonar.plugins.communitydelphi.api.symbol.declaration.UnitNameDeclaration;
 import org.sonar.plugins.communitydelphi.api.symbol.scope.DelphiScope;
 import org.sonar.plugins.communitydelphi.api.symbol.scope.FileScope;
+import org.sonar.plugins.communitydelphi.api.token.DelphiTokenType;
 import org.sonar.plugins.communitydelphi.api.type.Type;
 import org.sonar.plugins.communitydelphi.api.type.Type.HelperType;
 
@@ -56,6 +60,7 @@ public abstract class FileScopeImpl extends DelphiScopeImpl implements FileScope
   private Map<Integer, DelphiScope> registeredScopes = new HashMap<>();
   private Map<Integer, NameDeclaration> registeredDeclarations = new HashMap<>();
   private Map<Integer, NameOccurrence> registeredOccurrences = new HashMap<>();
+  private Map<ExpressionKey, Type> registeredTypes = new HashMap<>();
 
   protected FileScopeImpl(String name) {
     this.name = name;
@@ -166,6 +171,16 @@ public abstract class FileScopeImpl extends DelphiScopeImpl implements FileScope
     registeredOccurrences.put(node.getTokenIndex(), occurrence);
   }
 
+  /**
+   * Registers the resolved type of an expression so it can be re-attached later
+   *
+   * @param node The expression node which we want to associate the type with
+   * @param type The type we are registering
+   */
+  public void registerType(ExpressionNode node, Type type) {
+    registeredTypes.put(new ExpressionKey(node), type);
+  }
+
   /**
    * Attaches scope information to a particular node
    *
@@ -210,6 +225,11 @@ public abstract class FileScopeImpl extends DelphiScopeImpl implements FileScope
     registeredOccurrences = new HashMap<>(0);
   }
 
+  /** Removes all expression type registrations */
+  public void unregisterTypes() {
+    registeredTypes = new HashMap<>(0);
+  }
+
   /**
    * Attaches symbol occurrence information to a name reference node
    *
@@ -230,8 +250,58 @@ public abstract class FileScopeImpl extends DelphiScopeImpl implements FileScope
         .setImplicitNameOccurrence(registeredOccurrences.get(node.getTokenIndex()));
   }
 
+  /**
+   * Attaches a previously resolved type to an expression node.
+   *
+   * <p>A type that the node has already resolved for itself is never replaced.
+   *
+   * @param node The expression node which we want to attach type information to
+   */
+  public void attach(ExpressionNode node) {
+    ExpressionNodeImpl expression = (ExpressionNodeImpl) node;
+    Type type = registeredTypes.get(new ExpressionKey(node));
+    if (type != null && expression.getResolvedType() == null) {
+      expression.setType(type);
+    }
+  }
+
   @Override
   public UnitNameDeclaration getUnitDeclaration() {
     return Iterables.getLast(getUnitDeclarations());
   }
+
+  /**
+   * Identifies an expression node across ASTs of the same file. Nested expressions can share their
+   * first token (and their last token, when one wraps another), so the token type is included.
+   */
+  private static final class ExpressionKey {
+    private final int firstTokenIndex;
+    private final int lastTokenIndex;
+    private final DelphiTokenType tokenType;
+
+    private ExpressionKey(ExpressionNode node) {
+      this.firstTokenIndex = node.getFirstToken().getIndex();
+      this.lastTokenIndex = node.getLastToken().getIndex();
+      this.tokenType = node.getTokenType();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ExpressionKey that = (ExpressionKey) o;
+      return firstTokenIndex == that.firstTokenIndex
+          && lastTokenIndex == that.lastTokenIndex
+          && tokenType == that.tokenType;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(firstTokenIndex, lastTokenIndex, tokenType);
+    }
+  }
 }
@@ -25,7 +25,14 @@ import au.com.integradev.delphi.type.generic.GenerifiableTypeImpl;
 import java.util.Set;
 import javax.annotation.Nullable;
 import org.sonar.plugins.communitydelphi.api.symbol.NameOccurrence;
+import org.sonar.plugins.communitydelphi.api.symbol.declaration.LabelNameDeclaration;
 import org.sonar.plugins.communitydelphi.api.symbol.declaration.NameDeclaration;
+import org.sonar.plugins.communitydelphi.api.symbol.declaration.PropertyNameDeclaration;
+import org.sonar.plugins.communitydelphi.api.symbol.declaration.RoutineNameDeclaration;
+import org.sonar.plugins.communitydelphi.api.symbol.declaration.TypeNameDeclaration;
+import org.sonar.plugins.communitydelphi.api.symbol.declaration.UnitImportNameDeclaration;
+import org.sonar.plugins.communitydelphi.api.symbol.declaration.UnitNameDeclaration;
+import org.sonar.plugins.communitydelphi.api.symbol.declaration.VariableNameDeclaration;
 import org.sonar.plugins.communitydelphi.api.symbol.scope.DelphiScope;
 import org.sonar.plugins.communitydelphi.api.symbol.scope.TypeScope;
 import org.sonar.plugins.communitydelphi.api.type.Type;
@@ -78,9 +85,21 @@ public class TypeScopeImpl extends DelphiScopeImpl implements TypeScope {
     return type.getImage() + " <TypeScope>";
   }
 
+  /**
+   * Creates a type scope for a specialized type.
+   *
+   * @param scope the generic type's scope
+   * @param specializedType the specialized type
+   * @param context information about the type arguments and parameters
+   * @param lazy whether to defer specializing the declarations until a member is looked up
+   * @return specialized type scope
+   */
   public static TypeScope specializedScope(
-      DelphiScope scope, GenerifiableTypeImpl specializedType, TypeSpecializationContext context) {
-    SpecializedTypeScope result = new SpecializedTypeScope(scope, context);
+      DelphiScope scope,
+      GenerifiableTypeImpl specializedType,
+      TypeSpecializationContext context,
+      boolean lazy) {
+    SpecializedTypeScope result = new SpecializedTypeScope(scope, context, lazy);
     result.setType(specializedType);
     return result;
   }
@@ -88,13 +107,32 @@ public class TypeScopeImpl extends DelphiScopeImpl implements TypeScope {
   /**
    * Specialized type scopes just wrap a generic type's "real" scope. Name occurrences of
    * specialized declarations are forwarded to their generic declarations in the real scope.
+   *
+   * <p>If the scope is lazy, the generic declarations aren't specialized until the first time one
+   * of the declarations is looked up.
    */
   private static final class SpecializedTypeScope extends TypeScopeImpl {
     private final DelphiScope genericScope;
+    private TypeSpecializationContext pendingContext;
 
-    private SpecializedTypeScope(DelphiScope scope, TypeSpecializationContext context) {
+    private SpecializedTypeScope(
+        DelphiScope scope, TypeSpecializationContext context, boolean lazy) {
       this.genericScope = scope;
-      scope.getAllDeclarations().stream()
+      this.pendingContext = context;
+      if (!lazy) {
+        specializeDeclarations();
+      }
+    }
+
+    private void specializeDeclarations() {
+      if (pendingContext == null) {
+        return;
+      }
+
+      TypeSpecializationContext context = pendingContext;
+      pendingContext = null;
+
+      genericScope.getAllDeclarations().stream()
           .map(NameDeclaration.class::cast)
           .map(declaration -> declaration.specialize(context))
           .forEach(super::addDeclaration);
@@ -109,5 +147,71 @@ public class TypeScopeImpl extends DelphiScopeImpl implements TypeScope {
     public Set<NameDeclaration> addNameOccurrence(NameOccurrence occurrence) {
       return ((DelphiScopeImpl) genericScope).addNameOccurrence(occurrence);
     }
+
+    @Override
+    public Set<NameDeclaration> findDeclaration(NameOccurrence occurrence) {
+      specializeDeclarations();
+      return super.findDeclaration(occurrence);
+    }
+
+    @Override
+    public void findRoutineOverloads(NameOccurrence occurrence, Set<NameDeclaration> result) {
+      specializeDeclarations();
+      super.findRoutineOverloads(occurrence, result);
+    }
+
+    @Override
+    protected HelperType findHelper(Type type) {
+      specializeDeclarations();
+      return super.findHelper(type);
+    }
+
+    @Override
+    public Set<NameDeclaration> getAllDeclarations() {
+      specializeDeclarations();
+      return super.getAllDeclarations();
+    }
+
+    @Override
+    public Set<UnitNameDeclaration> getUnitDeclarations() {
+      specializeDeclarations();
+      return super.getUnitDeclarations();
+    }
+
+    @Override
+    public Set<UnitImportNameDeclaration> getImportDeclarations() {
+      specializeDeclarations();
+      return super.getImportDeclarations();
+    }
+
+    @Override
+    public Set<TypeNameDeclaration> getTypeDeclarations() {
+      specializeDeclarations();
+      return super.getTypeDeclarations();
+    }
+
+    @Override
+    public Set<PropertyNameDeclaration> getPropertyDeclarations() {
+      specializeDeclarations();
+      return super.getPropertyDeclarations();
+    }
+
+    @Override
+    public Set<RoutineNameDeclaration> getRoutineDeclarations() {
+      specializeDeclarations();
+      return super.getRoutineDeclarations();
+    }
+
+    @Override
+    public Set<VariableNameDeclaration> getVariableDeclarations() {
+      specializeDeclarations();
+      return super.getVariableDeclarations();
+    }
+
+    @Override
+    public Set<LabelNameDeclaration> getLabelDeclarations() {
+      specializeDeclarations();
+      return super.getLabelDeclarations();
+    }
   }
 }
@@ -19,6 +19,7 @@
 package au.com.integradev.delphi.type.factory;
 
 import au.com.integradev.delphi.type.generic.GenerifiableTypeImpl;
+import au.com.integradev.delphi.type.generic.SpecializationCache;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -32,7 +33,13 @@ public final class ArrayTypeImpl extends GenerifiableTypeImpl implements Collect
   private final Type elementType;
   private final Set<ArrayOption> options;
 
-  ArrayTypeImpl(@Nullable String image, int size, Type elementType, Set<ArrayOption> options) {
+  ArrayTypeImpl(
+      @Nullable String image,
+      int size,
+      Type elementType,
+      Set<ArrayOption> options,
+      SpecializationCache specializationCache) {
+    super(specializationCache);
     if (image == null) {
       image = createImage(elementType, options);
     }
@@ -99,6 +106,7 @@ public final class ArrayTypeImpl extends GenerifiableTypeImpl implements Collect
   public GenerifiableTypeImpl doSpecialization(TypeSpecializationContext context) {
     Type specializedElement = elementType.specialize(context);
     String specializedImage = createImage(specializedElement, options);
-    return new ArrayTypeImpl(specializedImage, size, specializedElement, options);
+    return new ArrayTypeImpl(
+        specializedImage, size, specializedElement, options, getSpecializationCache());
   }
 }
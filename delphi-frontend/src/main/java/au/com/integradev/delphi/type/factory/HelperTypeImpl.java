@@ -18,6 +18,7 @@
  */
 package au.com.integradev.delphi.type.factory;
 
+import au.com.integradev.delphi.type.generic.SpecializationCache;
 import java.util.List;
 import java.util.Set;
 import org.sonar.plugins.communitydelphi.api.symbol.scope.DelphiScope;
@@ -35,8 +36,9 @@ public final class HelperTypeImpl extends StructTypeImpl implements HelperType {
       Set<Type> parents,
       Type extendedType,
       StructKind kind,
-      List<Type> attributeTypes) {
-    super(imageParts, size, scope, parents, kind, attributeTypes);
+      List<Type> attributeTypes,
+      SpecializationCache specializationCache) {
+    super(imageParts, size, scope, parents, kind, attributeTypes, specializationCache);
     this.extendedType = extendedType;
   }
 
@@ -22,6 +22,7 @@ import static java.util.function.Predicate.not;
 
 import au.com.integradev.delphi.symbol.scope.TypeScopeImpl;
 import au.com.integradev.delphi.type.generic.GenerifiableTypeImpl;
+import au.com.integradev.delphi.type.generic.SpecializationCache;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import java.util.Collections;
@@ -54,7 +55,9 @@ public class StructTypeImpl extends GenerifiableTypeImpl implements StructType {
       DelphiScope scope,
       Set<Type> ancestorList,
       StructKind kind,
-      List<Type> attributeTypes) {
+      List<Type> attributeTypes,
+      SpecializationCache specializationCache) {
+    super(specializationCache);
     this.imageParts = imageParts;
     this.size = size;
     this.scope = scope;
@@ -187,7 +190,8 @@ public class StructTypeImpl extends GenerifiableTypeImpl implements StructType {
         scope,
         ancestorList,
         kind,
-        attributeTypes);
+        attributeTypes,
+        getSpecializationCache());
   }
 
   @Override
@@ -196,7 +200,9 @@ public class StructTypeImpl extends GenerifiableTypeImpl implements StructType {
         ancestorList.stream()
             .map(ancestor -> ancestor.specialize(context))
             .collect(Collectors.toUnmodifiableSet()));
-    this.scope = TypeScopeImpl.specializedScope(scope, this, context);
+    this.scope =
+        TypeScopeImpl.specializedScope(
+            scope, this, context, getSpecializationCache().isLazyTypeScopes());
   }
 
   /**
@@ -18,21 +18,8 @@
  */
 package au.com.integradev.delphi.type.factory;
 
-import static net.bytebuddy.description.type.TypeDescription.Generic.Builder.parameterizedType;
-import static net.bytebuddy.implementation.MethodCall.invoke;
-import static net.bytebuddy.matcher.ElementMatchers.named;
-
-import com.google.common.base.Suppliers;
-import java.lang.reflect.Constructor;
-import java.util.List;
+import au.com.integradev.delphi.GenerateAliasTypes;
 import java.util.Map;
-import java.util.function.Supplier;
-import java.util.stream.Collectors;
-import net.bytebuddy.ByteBuddy;
-import net.bytebuddy.NamingStrategy;
-import net.bytebuddy.dynamic.DynamicType;
-import net.bytebuddy.implementation.MethodCall.MethodLocator;
-import net.bytebuddy.matcher.ElementMatchers;
 import org.sonar.plugins.communitydelphi.api.type.Type;
 import org.sonar.plugins.communitydelphi.api.type.Type.AliasType;
 import org.sonar.plugins.communitydelphi.api.type.Type.AnsiStringType;
@@ -56,73 +43,48 @@ import org.sonar.plugins.communitydelphi.api.type.Type.UnknownType;
 import org.sonar.plugins.communitydelphi.api.type.Type.UnresolvedType;
 import org.sonar.plugins.communitydelphi.api.type.Type.VariantType;
 
+@GenerateAliasTypes(
+    base = AliasTypeImpl.class,
+    value = {
+      CollectionType.class,
+      HelperType.class,
+      StructType.class,
+      PointerType.class,
+      ProceduralType.class,
+      FileType.class,
+      IntegerSubrangeType.class,
+      SubrangeType.class,
+      EnumType.class,
+      ClassReferenceType.class,
+      TypeParameterType.class,
+      IntegerType.class,
+      RealType.class,
+      BooleanType.class,
+      CharacterType.class,
+      AnsiStringType.class,
+      StringType.class,
+      VariantType.class,
+      UnresolvedType.class,
+      UnknownType.class
+    })
 final class TypeAliasGenerator {
-  private static final List<Class<? extends Type>> TYPE_INTERFACES =
-      List.of(
-          CollectionType.class,
-          HelperType.class,
-          StructType.class,
-          PointerType.class,
-          ProceduralType.class,
-          FileType.class,
-          IntegerSubrangeType.class,
-          SubrangeType.class,
-          EnumType.class,
-          ClassReferenceType.class,
-          TypeParameterType.class,
-          IntegerType.class,
-          RealType.class,
-          BooleanType.class,
-          CharacterType.class,
-          AnsiStringType.class,
-          StringType.class,
-          VariantType.class,
-          UnresolvedType.class,
-          UnknownType.class);
-
-  private static final Supplier<Map<Class<? extends Type>, Class<? extends AliasType>>> cache =
-      Suppliers.memoize(TypeAliasGenerator::generateCache);
-
-  public AliasType generate(String aliasImage, Type aliased, boolean strong) {
-    for (Class<? extends Type> typeInterface : TYPE_INTERFACES) {
-      if (typeInterface.isAssignableFrom(aliased.getClass())) {
-        var clazz = cache.get().get(typeInterface);
-        try {
-          Constructor<? extends AliasType> constructor =
-              clazz.getDeclaredConstructor(String.class, typeInterface, boolean.class);
-          return constructor.newInstance(aliasImage, aliased, strong);
-        } catch (Exception e) {
-          // Unreachable
+  private static final ClassValue<AliasTypeFactories.Factory> FACTORIES =
+      new ClassValue<>() {
+        @Override
+        protected AliasTypeFactories.Factory computeValue(Class<?> type) {
+          for (Map.Entry<Class<? extends Type>, AliasTypeFactories.Factory> entry :
+              AliasTypeFactories.FACTORIES.entrySet()) {
+            if (entry.getKey().isAssignableFrom(type)) {
+              return entry.getValue();
+            }
+          }
+          return (aliasImage, aliased, strong) -> {
+            throw new AssertionError("Unhandled class could not be aliased: " + type);
+          };
         }
-      }
-    }
-    throw new AssertionError("Unhandled class could not be aliased: " + aliased.getClass());
-  }
+      };
 
-  private static Map<Class<? extends Type>, Class<? extends AliasType>> generateCache() {
-    return TYPE_INTERFACES.stream()
-        .collect(
-            Collectors.toUnmodifiableMap(
-                interfaceType -> interfaceType, TypeAliasGenerator::generateAliasClass));
-  }
-
-  @SuppressWarnings("unchecked")
-  private static Class<? extends AliasType> generateAliasClass(
-      Class<? extends Type> interfaceType) {
-    DynamicType.Builder<?> builder =
-        new ByteBuddy()
-            .with(new NamingStrategy.SuffixingRandom(interfaceType.getSimpleName()))
-            .subclass(parameterizedType(AliasTypeImpl.class, interfaceType).build())
-            .implement(interfaceType, AliasType.class)
-            .method(ElementMatchers.isAbstract())
-            .intercept(
-                invoke(MethodLocator.ForInstrumentedMethod.INSTANCE)
-                    .onMethodCall(invoke(named("aliasedType")))
-                    .withAllArguments());
-
-    try (DynamicType.Unloaded<?> unloaded = builder.make()) {
-      return (Class<? extends AliasType>)
-          unloaded.load(TypeAliasGenerator.class.getClassLoader()).getLoaded();
-    }
+  public AliasType generate(String aliasImage, Type aliased, boolean strong) {
+    return FACTORIES.get(aliased.getClass()).create(aliasImage, aliased, strong);
   }
 }
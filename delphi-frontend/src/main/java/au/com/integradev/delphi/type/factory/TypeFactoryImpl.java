@@ -25,7 +25,10 @@ import au.com.integradev.delphi.compiler.Architecture;
 import au.com.integradev.delphi.compiler.CompilerVersion;
 import au.com.integradev.delphi.compiler.Platform;
 import au.com.integradev.delphi.compiler.Toolchain;
+import au.com.integradev.delphi.operator.IntrinsicOperatorTable;
+import au.com.integradev.delphi.symbol.resolve.InvocationResolutionCache;
 import au.com.integradev.delphi.type.factory.StructTypeImpl.ImagePart;
+import au.com.integradev.delphi.type.generic.SpecializationCache;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -80,6 +83,9 @@ public class TypeFactoryImpl implements TypeFactory {
   private final CompilerVersion compilerVersion;
 
   private final TypeAliasGenerator typeAliasGenerator;
+  private final SpecializationCache specializationCache;
+  private final InvocationResolutionCache invocationResolutionCache;
+  private final IntrinsicOperatorTable intrinsicOperatorTable;
   private final EnumMap<IntrinsicType, Type> intrinsicTypes;
   private final IntegerSubrangeType anonymousUInt15;
   private final IntegerSubrangeType anonymousUInt31;
@@ -88,9 +94,18 @@ public class TypeFactoryImpl implements TypeFactory {
   private final CollectionType emptySet;
 
   public TypeFactoryImpl(Toolchain toolchain, CompilerVersion compilerVersion) {
+    this(toolchain, compilerVersion, new SpecializationCache());
+  }
+
+  public TypeFactoryImpl(
+      Toolchain toolchain,
+      CompilerVersion compilerVersion,
+      SpecializationCache specializationCache) {
     this.toolchain = toolchain;
     this.compilerVersion = compilerVersion;
     this.typeAliasGenerator = new TypeAliasGenerator();
+    this.specializationCache = specializationCache;
+    this.invocationResolutionCache = new InvocationResolutionCache();
     this.intrinsicTypes = new EnumMap<>(IntrinsicType.class);
     this.nilPointer = pointerTo("nil", TypeFactory.voidType());
     this.untypedFile = fileOf(TypeFactory.untypedType());
@@ -109,6 +124,8 @@ public class TypeFactoryImpl implements TypeFactory {
             ":AnonymousUInt31",
             BigInteger.ZERO,
             ((IntegerType) getIntrinsic(IntrinsicType.INTEGER)).max());
+
+    this.intrinsicOperatorTable = new IntrinsicOperatorTable(this);
   }
 
   private boolean isReal48Bit() {
@@ -385,7 +402,8 @@ public class TypeFactoryImpl implements TypeFactory {
 
   private ProceduralType createProcedural(
       ProceduralKind kind, List<Parameter> parameters, Type returnType, boolean variadic) {
-    return new ProceduralTypeImpl(proceduralSize(kind), kind, parameters, returnType, variadic);
+    return new ProceduralTypeImpl(
+        proceduralSize(kind), kind, parameters, returnType, variadic, specializationCache);
   }
 
   @Override
@@ -404,7 +422,7 @@ public class TypeFactoryImpl implements TypeFactory {
   }
 
   public CollectionType array(@Nullable String image, Type elementType, Set<ArrayOption> options) {
-    return new ArrayTypeImpl(image, pointerSize(), elementType, options);
+    return new ArrayTypeImpl(image, pointerSize(), elementType, options, specializationCache);
   }
 
   public CollectionType multiDimensionalArray(
@@ -547,7 +565,13 @@ public class TypeFactoryImpl implements TypeFactory {
     }
 
     return new StructTypeImpl(
-        imageParts, pointerSize(), node.getScope(), ancestors, kind, attributeTypes);
+        imageParts,
+        pointerSize(),
+        node.getScope(),
+        ancestors,
+        kind,
+        attributeTypes,
+        specializationCache);
   }
 
   private static List<Type> getAttributeTypes(TypeDeclarationNode typeDeclaration) {
@@ -570,7 +594,8 @@ public class TypeFactoryImpl implements TypeFactory {
         getAncestors(declaration, kind),
         node.getFor().getType(),
         kind,
-        getAttributeTypes(declaration));
+        getAttributeTypes(declaration),
+        specializationCache);
   }
 
   public IntegerSubrangeType anonymousUInt15() {
@@ -594,4 +619,16 @@ public class TypeFactoryImpl implements TypeFactory {
   public CompilerVersion getCompilerVersion() {
     return compilerVersion;
   }
+
+  public SpecializationCache getSpecializationCache() {
+    return specializationCache;
+  }
+
+  public InvocationResolutionCache getInvocationResolutionCache() {
+    return invocationResolutionCache;
+  }
+
+  public IntrinsicOperatorTable getIntrinsicOperatorTable() {
+    return intrinsicOperatorTable;
+  }
 }
@@ -19,8 +19,6 @@
 package au.com.integradev.delphi.type.generic;
 
 import au.com.integradev.delphi.type.TypeImpl;
-import java.util.HashMap;
-import java.util.Map;
 import org.sonar.plugins.communitydelphi.api.type.Type;
 import org.sonar.plugins.communitydelphi.api.type.TypeSpecializationContext;
 
@@ -41,10 +39,14 @@ import org.sonar.plugins.communitydelphi.api.type.TypeSpecializationContext;
  *     Generics</a>
  */
 public abstract class GenerifiableTypeImpl extends TypeImpl {
-  private final Map<TypeSpecializationContext, GenerifiableTypeImpl> cache;
+  private final SpecializationCache specializationCache;
 
-  protected GenerifiableTypeImpl() {
-    cache = new HashMap<>();
+  protected GenerifiableTypeImpl(SpecializationCache specializationCache) {
+    this.specializationCache = specializationCache;
+  }
+
+  protected SpecializationCache getSpecializationCache() {
+    return specializationCache;
   }
 
   /**
@@ -59,13 +61,13 @@ public abstract class GenerifiableTypeImpl extends TypeImpl {
       return this;
     }
 
-    GenerifiableTypeImpl result = cache.get(context);
+    GenerifiableTypeImpl result = specializationCache.get(this, context);
     if (result == null) {
       result = this.doSpecialization(context);
       if (result.is(this)) {
         result = this;
       } else {
-        cache.put(context, result);
+        specializationCache.put(this, context, result);
         result.doAfterSpecialization(context);
       }
     }
@@ -0,0 +1,136 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.type.generic;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import org.sonar.plugins.communitydelphi.api.type.TypeSpecializationContext;
+
+/**
+ * A cache of generic type specializations, shared by every generifiable type created by a single
+ * type factory.
+ *
+ * <p>Entries are keyed on the identity of the generic type and the specialization context.
+ * Specialized types are held weakly, so a specialization is retained for exactly as long as
+ * something in the analysis refers to it. The symbol table relies on specialized types and their
+ * declarations keeping their identity, so a specialization is never evicted while it is still
+ * reachable. Once an entry's specialization is collected, the entry is dropped along with its
+ * references to the generic type and the type arguments.
+ */
+public final class SpecializationCache {
+  private final Cache<Key, GenerifiableTypeImpl> cache;
+  private final boolean lazyTypeScopes;
+
+  public SpecializationCache() {
+    this(false);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param lazyTypeScopes whether specialized type scopes should defer specializing their
+   *     declarations until a member is looked up
+   */
+  public SpecializationCache(boolean lazyTypeScopes) {
+    this.cache = CacheBuilder.newBuilder().weakValues().recordStats().build();
+    this.lazyTypeScopes = lazyTypeScopes;
+  }
+
+  @Nullable
+  GenerifiableTypeImpl get(GenerifiableTypeImpl genericType, TypeSpecializationContext context) {
+    return cache.getIfPresent(new Key(genericType, context));
+  }
+
+  void put(
+      GenerifiableTypeImpl genericType,
+      TypeSpecializationContext context,
+      GenerifiableTypeImpl specializedType) {
+    cache.put(new Key(genericType, context), specializedType);
+  }
+
+  public boolean isLazyTypeScopes() {
+    return lazyTypeScopes;
+  }
+
+  public long hitCount() {
+    return cache.stats().hitCount();
+  }
+
+  public long missCount() {
+    return cache.stats().missCount();
+  }
+
+  /**
+   * Returns the number of specializations that were dropped after becoming unreachable
+   *
+   * @return number of collected specializations
+   */
+  public long evictionCount() {
+    return cache.stats().evictionCount();
+  }
+
+  public long retainedCount() {
+    return cache.size();
+  }
+
+  @Override
+  public String toString() {
+    CacheStats stats = cache.stats();
+    return "SpecializationCache{"
+        + "hits="
+        + stats.hitCount()
+        + ", misses="
+        + stats.missCount()
+        + ", evictions="
+        + stats.evictionCount()
+        + ", retained="
+        + cache.size()
+        + "}";
+  }
+
+  private static final class Key {
+    private final GenerifiableTypeImpl genericType;
+    private final TypeSpecializationContext context;
+
+    private Key(GenerifiableTypeImpl genericType, TypeSpecializationContext context) {
+      this.genericType = genericType;
+      this.context = context;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key that = (Key) o;
+      return genericType == that.genericType && context.equals(that.context);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(genericType), context);
+    }
+  }
+}
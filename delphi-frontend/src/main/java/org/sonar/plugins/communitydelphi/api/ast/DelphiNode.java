@@ -36,6 +36,15 @@ public interface DelphiNode extends Node {
 
   List<DelphiNode> getChildren();
 
+  /**
+   * Returns the number of children of this node, without allocating a view of the children
+   *
+   * @return the number of children
+   */
+  default int getChildrenCount() {
+    return getChildren().size();
+  }
+
   DelphiNode getChild(int index);
 
   DelphiNode getNthParent(int n);
@@ -21,8 +21,11 @@ package org.sonar.plugins.communitydelphi.api.check;
 import au.com.integradev.delphi.preprocessor.CompilerSwitchRegistry;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import org.sonar.plugins.communitydelphi.api.ast.DelphiAst;
 import org.sonar.plugins.communitydelphi.api.ast.DelphiNode;
+import org.sonar.plugins.communitydelphi.api.directive.CompilerDirective;
 import org.sonar.plugins.communitydelphi.api.directive.CompilerDirectiveParser;
 import org.sonar.plugins.communitydelphi.api.reporting.DelphiIssueBuilder;
 import org.sonar.plugins.communitydelphi.api.token.DelphiToken;
@@ -61,10 +64,30 @@ public interface DelphiCheckContext {
   /**
    * Returns a compiler directive parser
    *
+   * <p>Directive tokens from the current file are not parsed again. Instead, the directive that was
+   * parsed during preprocessing is returned.
+   *
    * @return compiler directive parser
    */
   CompilerDirectiveParser getCompilerDirectiveParser();
 
+  /**
+   * Returns the compiler directives of the current file, which were parsed during preprocessing.
+   *
+   * <p>The default implementation parses the directive tokens of the current file with {@link
+   * #getCompilerDirectiveParser()}.
+   *
+   * @return list of compiler directives, in order of appearance
+   */
+  default List<CompilerDirective> getCompilerDirectives() {
+    CompilerDirectiveParser parser = getCompilerDirectiveParser();
+    return getTokens().stream()
+        .filter(DelphiToken::isCompilerDirective)
+        .map(parser::parse)
+        .flatMap(Optional::stream)
+        .collect(Collectors.toList());
+  }
+
   /**
    * Returns the type factory
    *
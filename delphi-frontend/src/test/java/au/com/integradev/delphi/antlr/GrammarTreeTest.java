@@ -0,0 +1,117 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.antlr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import au.com.integradev.delphi.file.DelphiFile;
+import au.com.integradev.delphi.file.DelphiFile.DelphiFileConstructionException;
+import au.com.integradev.delphi.utils.DelphiUtils;
+import au.com.integradev.delphi.utils.files.DelphiFileUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.sonar.plugins.communitydelphi.api.ast.DelphiNode;
+
+/**
+ * Compares the trees built from the grammar test resources against snapshots of the trees that the
+ * parser built before its backtracking was scoped to the rules that need it.
+ *
+ * <p>Run with {@code -Dgrammar.trees.update=true} to rewrite the snapshots after an intentional
+ * change to the parse output.
+ */
+class GrammarTreeTest {
+  private static final String BASE_DIR = "/au/com/integradev/delphi/grammar/";
+  private static final String TREES_DIR = BASE_DIR + "trees/";
+  private static final Path TREES_SOURCE_DIR =
+      Path.of("src", "test", "resources").resolve(TREES_DIR.substring(1));
+
+  static Stream<String> grammarFiles() {
+    File[] files = DelphiUtils.getResource(BASE_DIR).listFiles();
+    return Arrays.stream(Objects.requireNonNull(files))
+        .filter(File::isFile)
+        .map(File::getName)
+        .filter(name -> name.endsWith(".pas") || name.endsWith(".dpr") || name.endsWith(".dpk"))
+        .sorted();
+  }
+
+  @ParameterizedTest
+  @MethodSource("grammarFiles")
+  void testTreeShouldMatchSnapshot(String fileName) throws IOException {
+    String tree = dumpTree(fileName);
+    String snapshotName = fileName + ".txt";
+
+    if (Boolean.getBoolean("grammar.trees.update")) {
+      Files.createDirectories(TREES_SOURCE_DIR);
+      Files.writeString(TREES_SOURCE_DIR.resolve(snapshotName), tree, StandardCharsets.UTF_8);
+      return;
+    }
+
+    File snapshot = DelphiUtils.getResource(TREES_DIR + snapshotName);
+    assertThat(tree).isEqualTo(Files.readString(snapshot.toPath(), StandardCharsets.UTF_8));
+  }
+
+  private static String dumpTree(String fileName) {
+    DelphiFile file;
+    try {
+      file =
+          DelphiFile.from(
+              DelphiUtils.getResource(BASE_DIR + fileName), DelphiFileUtils.mockConfig());
+    } catch (DelphiFileConstructionException e) {
+      return "Parsing failed: " + e.getCause().getClass().getSimpleName() + "\n";
+    }
+    StringBuilder builder = new StringBuilder();
+    appendNode(builder, file.getAst(), 0);
+    return builder.toString();
+  }
+
+  private static void appendNode(StringBuilder builder, DelphiNode node, int depth) {
+    builder
+        .append("  ".repeat(depth))
+        .append(node.getClass().getSimpleName())
+        .append(' ')
+        .append(node.getTokenType())
+        .append(" '")
+        .append(escape(node.getToken().getImage()))
+        .append("' ")
+        .append(node.getBeginLine())
+        .append(':')
+        .append(node.getBeginColumn())
+        .append('-')
+        .append(node.getEndLine())
+        .append(':')
+        .append(node.getEndColumn())
+        .append('\n');
+
+    for (DelphiNode child : node.getChildren()) {
+      appendNode(builder, child, depth + 1);
+    }
+  }
+
+  private static String escape(String image) {
+    return image.replace("\\", "\\\\").replace("\r", "\\r").replace("\n", "\\n");
+  }
+}
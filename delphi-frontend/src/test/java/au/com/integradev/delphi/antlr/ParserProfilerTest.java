@@ -0,0 +1,155 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.antlr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class ParserProfilerTest {
+  private static final int STATEMENT = 0;
+  private static final int EXPRESSION = 1;
+  private static final int PRIMARY = 2;
+  private static final int SYNPRED1 = 3;
+  private static final int SYNPRED2 = 4;
+
+  @Test
+  void testReportShouldCountRuleInvocationsAndMemoHits() {
+    String report = new FakeParser().parse();
+
+    Map<String, List<String>> rules = parseTable(report, "rule");
+    assertThat(rules).containsOnlyKeys("statement", "expression", "primary");
+    assertThat(rules.get("statement")).startsWith("1", "0", "0", "0");
+    assertThat(rules.get("expression")).startsWith("2", "2", "1", "1");
+    assertThat(rules.get("primary")).startsWith("2", "2", "1", "1");
+  }
+
+  @Test
+  void testReportShouldAttributeSpeculationToDecisions() {
+    String report = new FakeParser().parse();
+
+    Map<String, List<String>> decisions = parseTable(report, "decision");
+    assertThat(decisions).containsOnlyKeys("statement/synpred1", "expression/synpred2");
+    assertThat(decisions.get("statement/synpred1")).startsWith("2", "2");
+    assertThat(decisions.get("expression/synpred2")).startsWith("1", "0");
+  }
+
+  @Test
+  void testReportShouldIncludeMemoTableSize() {
+    String report = new FakeParser().parse();
+
+    assertThat(report.lines().findFirst())
+        .hasValueSatisfying(line -> assertThat(line).endsWith("memo table size: 2"));
+  }
+
+  @Test
+  void testReportShouldUseOneLineSeparator() {
+    String report = new FakeParser().parse();
+
+    assertThat(report).doesNotContain("\r").endsWith("\n");
+  }
+
+  private static Map<String, List<String>> parseTable(String report, String header) {
+    Map<String, List<String>> result = new HashMap<>();
+    boolean inTable = false;
+    for (String line : report.lines().collect(Collectors.toList())) {
+      List<String> columns = List.of(line.trim().split("\\s+", -1));
+      if (columns.get(0).equals(header)) {
+        inTable = true;
+      } else if (inTable && (columns.get(0).equals("rule") || columns.get(0).equals("decision"))) {
+        break;
+      } else if (inTable) {
+        result.put(columns.get(0), columns.subList(1, columns.size()));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Drives the profiler hooks the way a backtracking parser generated with rule tracing does.
+   *
+   * <p>{@code statement} evaluates a predicate twice. The first evaluation speculates through
+   * {@code expression}, which evaluates a nested predicate through {@code primary} before calling
+   * {@code primary} itself, which is then memoized. The second evaluation finds {@code expression}
+   * already memoized.
+   */
+  private static final class FakeParser {
+    private final ParserProfiler profiler = new ParserProfiler();
+    private final Map<Integer, Integer> memo = new HashMap<>();
+    private int backtracking;
+
+    String parse() {
+      profiler.startParse();
+      statement();
+      profiler.endParse(memo.size());
+      return profiler.report();
+    }
+
+    private void statement() {
+      profiler.enterRule("statement", STATEMENT, backtracking);
+      synpred("synpred1_Fake_fragment", SYNPRED1, this::expression);
+      synpred("synpred1_Fake_fragment", SYNPRED1, this::expression);
+      profiler.exitRule();
+    }
+
+    private void expression() {
+      profiler.enterRule("expression", EXPRESSION, backtracking);
+      if (!alreadyParsedRule(EXPRESSION)) {
+        synpred("synpred2_Fake_fragment", SYNPRED2, this::primary);
+        primary();
+      }
+      profiler.exitRule();
+      memoize(EXPRESSION);
+    }
+
+    private void primary() {
+      profiler.enterRule("primary", PRIMARY, backtracking);
+      alreadyParsedRule(PRIMARY);
+      profiler.exitRule();
+      memoize(PRIMARY);
+    }
+
+    private void synpred(String fragmentName, int ruleIndex, Runnable fragment) {
+      ++backtracking;
+      profiler.enterRule(fragmentName, ruleIndex, backtracking);
+      fragment.run();
+      profiler.exitRule();
+      --backtracking;
+    }
+
+    private boolean alreadyParsedRule(int ruleIndex) {
+      boolean memoHit = memo.containsKey(ruleIndex);
+      if (memoHit) {
+        profiler.memoHit();
+      }
+      return memoHit;
+    }
+
+    private void memoize(int ruleIndex) {
+      if (backtracking > 0) {
+        memo.put(ruleIndex, 0);
+        profiler.memoized(ruleIndex, 1);
+      }
+    }
+  }
+}
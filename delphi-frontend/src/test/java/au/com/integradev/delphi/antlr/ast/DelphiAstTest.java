@@ -23,16 +23,25 @@
 package au.com.integradev.delphi.antlr.ast;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
+import au.com.integradev.delphi.antlr.ast.node.MutableDelphiNode;
 import au.com.integradev.delphi.antlr.ast.visitors.DelphiParserVisitor;
 import au.com.integradev.delphi.file.DelphiFile;
 import au.com.integradev.delphi.utils.DelphiUtils;
 import au.com.integradev.delphi.utils.files.DelphiFileUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import org.sonar.plugins.communitydelphi.api.ast.DelphiAst;
 import org.sonar.plugins.communitydelphi.api.ast.DelphiNode;
+import org.sonar.plugins.communitydelphi.api.ast.ExpressionNode;
+import org.sonar.plugins.communitydelphi.api.ast.RoutineImplementationNode;
+import org.sonar.plugins.communitydelphi.api.ast.TypeDeclarationNode;
+import org.sonar.plugins.communitydelphi.api.symbol.scope.DelphiScope;
 
 class DelphiAstTest {
   private static final String TEST_FILE = "/au/com/integradev/delphi/grammar/GrammarTest.pas";
@@ -51,6 +60,86 @@ class DelphiAstTest {
     checkTypes(ast);
   }
 
+  @Test
+  void testCommentsInsideNodeShouldMatchTokenRange() {
+    assertThat(ast.getComments()).isNotEmpty();
+    for (DelphiNode child : ast.getChildren()) {
+      checkComments(child);
+    }
+  }
+
+  @Test
+  void testDescendantsOfTypeShouldMatchTreeWalk() {
+    checkDescendants(ast, DelphiNode.class);
+    checkDescendants(ast, ExpressionNode.class);
+    checkDescendants(ast, RoutineImplementationNode.class);
+    checkDescendants(ast, TypeDeclarationNode.class);
+  }
+
+  @Test
+  void testCachedScopeShouldBeInvalidatedWhenScopeChanges() {
+    List<RoutineImplementationNode> routines =
+        ast.findDescendantsOfType(RoutineImplementationNode.class).stream()
+            .filter(routine -> routine.getFirstDescendantOfType(ExpressionNode.class) != null)
+            .collect(Collectors.toList());
+    MutableDelphiNode root = (MutableDelphiNode) ast;
+    MutableDelphiNode routine = (MutableDelphiNode) routines.get(0);
+    MutableDelphiNode otherRoutine = (MutableDelphiNode) routines.get(1);
+    ExpressionNode expression = routine.getFirstDescendantOfType(ExpressionNode.class);
+
+    DelphiScope fileScope = mock(DelphiScope.class);
+    DelphiScope routineScope = mock(DelphiScope.class);
+    DelphiScope otherRoutineScope = mock(DelphiScope.class);
+
+    root.setScope(fileScope);
+    assertThat(expression.getScope()).isSameAs(fileScope);
+
+    routine.setScope(routineScope);
+    assertThat(expression.getScope()).isSameAs(routineScope);
+
+    otherRoutine.setScope(otherRoutineScope);
+    assertThat(expression.getScope()).isSameAs(routineScope);
+    assertThat(otherRoutine.getFirstDescendantOfType(ExpressionNode.class).getScope())
+        .isSameAs(otherRoutineScope);
+
+    routine.setScope(null);
+    assertThat(expression.getScope()).isSameAs(fileScope);
+  }
+
+  private static <T extends DelphiNode> void checkDescendants(DelphiNode node, Class<T> type) {
+    List<T> expected = new ArrayList<>();
+    collectDescendants(node, type, expected);
+    assertThat(node.findDescendantsOfType(type)).containsExactlyElementsOf(expected);
+    assertThat(node.getFirstDescendantOfType(type))
+        .isEqualTo(expected.isEmpty() ? null : expected.get(0));
+    for (DelphiNode child : node.getChildren()) {
+      checkDescendants(child, type);
+    }
+  }
+
+  private static <T extends DelphiNode> void collectDescendants(
+      DelphiNode node, Class<T> type, List<T> result) {
+    for (DelphiNode child : node.getChildren()) {
+      if (type.isInstance(child)) {
+        result.add(type.cast(child));
+      }
+      collectDescendants(child, type, result);
+    }
+  }
+
+  private void checkComments(DelphiNode node) {
+    int first = node.getFirstToken().getIndex();
+    int last = node.getLastToken().getIndex();
+    assertThat(node.getComments())
+        .containsExactlyElementsOf(
+            ast.getComments().stream()
+                .filter(comment -> comment.getIndex() > first && comment.getIndex() < last)
+                .collect(Collectors.toList()));
+    for (DelphiNode child : node.getChildren()) {
+      checkComments(child);
+    }
+  }
+
   private static void checkTypes(DelphiNode node) {
     assertThat(node).isInstanceOf(DelphiNode.class);
     for (DelphiNode child : node.getChildren()) {
@@ -27,6 +27,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
+import au.com.integradev.delphi.antlr.ast.node.NodeKind;
 import au.com.integradev.delphi.antlr.ast.visitors.DelphiParserVisitor;
 import com.tngtech.archunit.core.domain.JavaModifier;
 import java.lang.reflect.Method;
@@ -77,6 +78,19 @@ class DelphiNodeTest {
     }
   }
 
+  @Test
+  void testNodeKindDispatchShouldCallCorrectVisitorMethod() {
+    for (DelphiNode node : DelphiNodeUtils.getNodeInstances()) {
+      assertThat(NodeKind.of(node)).isNotEqualTo(NodeKind.OTHER);
+
+      DelphiParserVisitor<?> visitor = new DelphiParserVisitor<>() {};
+      DelphiParserVisitor<?> visitorSpy = spy(visitor);
+      NodeKind.dispatch(visitorSpy, node, null);
+
+      assertCorrectVisitMethodCalled(visitor, visitorSpy, node);
+    }
+  }
+
   private static void assertCorrectVisitMethodCalled(
       DelphiParserVisitor<?> visitor, DelphiParserVisitor<?> visitorSpy, DelphiNode node) {
     try {
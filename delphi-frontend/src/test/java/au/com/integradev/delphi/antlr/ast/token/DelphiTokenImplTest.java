@@ -20,10 +20,19 @@ package au.com.integradev.delphi.antlr.ast.token;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import au.com.integradev.delphi.antlr.DelphiFileStream;
 import au.com.integradev.delphi.antlr.DelphiLexer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.antlr.runtime.CommonToken;
+import org.antlr.runtime.Token;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class DelphiTokenImplTest {
   private DelphiTokenImpl commentToken;
@@ -67,4 +76,41 @@ class DelphiTokenImplTest {
   void testGetEndColumn() {
     assertThat(commentToken.getEndColumn()).isEqualTo(directiveToken.getEndColumn()).isEqualTo(1);
   }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "{ single line }",
+        "{ first\n second\n}",
+        "(* first\r\n second\r\n last *)",
+        "{$I *.inc first\r second}",
+        "{ trailing newline\n\n}"
+      })
+  void testPositionFromFileStreamShouldMatchTokenText(String text, @TempDir Path tempDir)
+      throws IOException {
+    String prefix = "unit Foo;\r\n  ";
+    Path file = tempDir.resolve("Foo.pas");
+    Files.writeString(file, prefix + text + "\nend.", StandardCharsets.UTF_8);
+    DelphiFileStream stream = new DelphiFileStream(file.toString(), StandardCharsets.UTF_8.name());
+
+    int type = text.startsWith("{$") ? DelphiLexer.TkCompilerDirective : DelphiLexer.COMMENT;
+    int start = prefix.length();
+    int stop = start + text.length() - 1;
+    CommonToken streamToken = new CommonToken(stream, type, Token.HIDDEN_CHANNEL, start, stop);
+    streamToken.setLine(2);
+    streamToken.setCharPositionInLine(2);
+
+    CommonToken textToken = new CommonToken(type, text);
+    textToken.setLine(2);
+    textToken.setCharPositionInLine(2);
+
+    DelphiTokenImpl fromStream = new DelphiTokenImpl(streamToken);
+    DelphiTokenImpl fromText = new DelphiTokenImpl(textToken);
+
+    assertThat(fromStream.getImage()).isEqualTo(text);
+    assertThat(fromStream.getBeginLine()).isEqualTo(fromText.getBeginLine());
+    assertThat(fromStream.getBeginColumn()).isEqualTo(fromText.getBeginColumn());
+    assertThat(fromStream.getEndLine()).isEqualTo(fromText.getEndLine());
+    assertThat(fromStream.getEndColumn()).isEqualTo(fromText.getEndColumn());
+  }
 }
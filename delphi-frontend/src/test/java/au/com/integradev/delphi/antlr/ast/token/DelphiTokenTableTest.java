@@ -0,0 +1,57 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.antlr.ast.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import au.com.integradev.delphi.antlr.DelphiLexer;
+import org.antlr.runtime.CommonToken;
+import org.junit.jupiter.api.Test;
+
+class DelphiTokenTableTest {
+  private final DelphiTokenTable table = new DelphiTokenTable();
+
+  private static CommonToken createToken(int index) {
+    CommonToken token = new CommonToken(DelphiLexer.TkIdentifier, "Foo");
+    token.setTokenIndex(index);
+    return token;
+  }
+
+  @Test
+  void testSameTokenShouldShareWrapper() {
+    CommonToken token = createToken(5000);
+    assertThat(table.get(token)).isSameAs(table.get(token));
+    assertThat(table.get(token).getAntlrToken()).isSameAs(token);
+  }
+
+  @Test
+  void testDifferentTokenWithSameIndexShouldGetNewWrapper() {
+    CommonToken first = createToken(3);
+    CommonToken second = createToken(3);
+    assertThat(table.get(first)).isNotSameAs(table.get(second));
+    assertThat(table.get(second).getAntlrToken()).isSameAs(second);
+  }
+
+  @Test
+  void testImaginaryTokensShouldNotBeShared() {
+    CommonToken token = createToken(-1);
+    assertThat(table.get(token)).isNotSameAs(table.get(token));
+    assertThat(table.get(null).isNil()).isTrue();
+  }
+}
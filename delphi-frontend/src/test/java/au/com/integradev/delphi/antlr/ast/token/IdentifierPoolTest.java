@@ -0,0 +1,56 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.antlr.ast.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import au.com.integradev.delphi.antlr.DelphiLexer;
+import org.antlr.runtime.CommonToken;
+import org.junit.jupiter.api.Test;
+
+class IdentifierPoolTest {
+  private static String copyOf(String image) {
+    return new String(image.toCharArray());
+  }
+
+  @Test
+  void testEqualImagesShouldBeShared() {
+    String first = copyOf("TFooBar");
+    String second = copyOf("TFooBar");
+    assertThat(IdentifierPool.intern(first)).isSameAs(IdentifierPool.intern(second));
+  }
+
+  @Test
+  void testCaseFoldedImagesShouldBeShared() {
+    String mixed = copyOf("TFooBar");
+    String upper = copyOf("TFOOBAR");
+    assertThat(IdentifierPool.caseFolded(mixed))
+        .isEqualTo("tfoobar")
+        .isSameAs(IdentifierPool.caseFolded(upper))
+        .isSameAs(IdentifierPool.caseFolded(copyOf("tfoobar")));
+  }
+
+  @Test
+  void testIdentifierTokenImagesShouldBePooled() {
+    DelphiTokenImpl first = new DelphiTokenImpl(new CommonToken(DelphiLexer.TkIdentifier, "Foo"));
+    DelphiTokenImpl second =
+        new DelphiTokenImpl(new CommonToken(DelphiLexer.TkIdentifier, copyOf("Foo")));
+    assertThat(first.getImage()).isSameAs(second.getImage());
+  }
+}
@@ -54,6 +54,7 @@ class DelphiCoverageToolParserTest {
   private static final String INVALID_LINE_HITS = BASE_REPORT_PATH + "InvalidLineHits.xml";
   private static final String NO_LINE_HITS = BASE_REPORT_PATH + "NoLineHits.xml";
   private static final String INVALID_STRUCTURE = BASE_REPORT_PATH + "InvalidStructure.xml";
+  private static final String MALFORMED_LINE_HITS = BASE_REPORT_PATH + "MalformedLineHits.xml";
   private static final String NORMAL_COVERAGE = BASE_REPORT_PATH + "NormalCoverage.xml";
   private static final String NORMAL_COVERAGE_PART_2 = BASE_REPORT_PATH + "NormalCoverage2.xml";
 
@@ -164,4 +165,18 @@ class DelphiCoverageToolParserTest {
 
     assertThat(context.lineHits(MAIN_WINDOW_FILE_KEY, 32)).isNull();
   }
+
+  @Test
+  void testMalformedLineHitsAreSkipped() {
+    parser.parse(context, DelphiUtils.getResource(MALFORMED_LINE_HITS));
+
+    assertThat(context.lineHits(GLOBALS_FILE_KEY, 16)).isEqualTo((Integer) 1);
+    assertThat(context.lineHits(GLOBALS_FILE_KEY, 17)).isEqualTo((Integer) 2);
+    assertThat(context.lineHits(GLOBALS_FILE_KEY, 18)).isNull();
+    assertThat(context.lineHits(GLOBALS_FILE_KEY, 19)).isNull();
+    assertThat(context.lineHits(GLOBALS_FILE_KEY, 20)).isNull();
+    assertThat(context.lineHits(GLOBALS_FILE_KEY, 21)).isNull();
+    assertThat(context.lineHits(GLOBALS_FILE_KEY, 22)).isEqualTo((Integer) 4);
+    assertThat(context.lineHits(GLOBALS_FILE_KEY, 23)).isEqualTo((Integer) 5);
+  }
 }
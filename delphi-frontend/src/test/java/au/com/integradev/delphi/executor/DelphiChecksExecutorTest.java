@@ -27,9 +27,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import au.com.integradev.delphi.check.MasterCheckRegistrar;
-import au.com.integradev.delphi.compiler.Toolchain;
 import au.com.integradev.delphi.file.DelphiFile.DelphiInputFile;
-import au.com.integradev.delphi.msbuild.DelphiProjectHelper;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -46,15 +44,12 @@ class DelphiChecksExecutorTest {
 
   @BeforeEach
   void setup() {
-    DelphiProjectHelper delphiProjectHelper = mock();
-    when(delphiProjectHelper.getToolchain()).thenReturn(Toolchain.DCC32);
-
     checkRegistrar = mock();
 
     SonarRuntime sonarRuntime = mock();
     when(sonarRuntime.getProduct()).thenReturn(SonarProduct.SONARQUBE);
 
-    executor = new DelphiChecksExecutor(delphiProjectHelper, checkRegistrar, sonarRuntime);
+    executor = new DelphiChecksExecutor(checkRegistrar, sonarRuntime);
     executor.setup();
   }
 
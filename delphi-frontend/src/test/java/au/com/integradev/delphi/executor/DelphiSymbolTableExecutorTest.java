@@ -25,6 +25,9 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import au.com.integradev.delphi.DelphiProperties;
+import au.com.integradev.delphi.antlr.ast.node.ExpressionNodeImpl;
+import au.com.integradev.delphi.antlr.ast.visitors.SymbolAssociationVisitor;
+import au.com.integradev.delphi.antlr.ast.visitors.SymbolAssociationVisitor.Data;
 import au.com.integradev.delphi.compiler.Platform;
 import au.com.integradev.delphi.core.Delphi;
 import au.com.integradev.delphi.file.DelphiFile.DelphiInputFile;
@@ -33,6 +36,7 @@ import au.com.integradev.delphi.preprocessor.DelphiPreprocessorFactory;
 import au.com.integradev.delphi.preprocessor.search.SearchPath;
 import au.com.integradev.delphi.symbol.SymbolTable;
 import au.com.integradev.delphi.type.factory.TypeFactoryImpl;
+import au.com.integradev.delphi.type.generic.SpecializationCache;
 import au.com.integradev.delphi.utils.DelphiUtils;
 import com.google.common.collect.Sets;
 import java.io.File;
@@ -54,13 +58,17 @@ import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.TextPointer;
 import org.sonar.api.batch.fs.TextRange;
 import org.sonar.api.batch.fs.internal.DefaultTextPointer;
 import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
 import org.sonar.api.batch.sensor.internal.SensorContextTester;
+import org.sonar.plugins.communitydelphi.api.ast.ExpressionNode;
 import org.sonar.plugins.communitydelphi.api.symbol.declaration.UnitNameDeclaration;
+import org.sonar.plugins.communitydelphi.api.type.Type;
 
 class DelphiSymbolTableExecutorTest {
   private static final String ROOT_PATH = "/au/com/integradev/delphi/symbol/";
@@ -73,6 +81,10 @@ class DelphiSymbolTableExecutorTest {
   private Map<String, String> unitAliases;
   private Path standardLibraryPath;
   private String componentKey;
+  private boolean lazyTypeScopes;
+  private DelphiFileConfig fileConfig;
+  private ExecutorContext executorContext;
+  private SpecializationCache specializationCache;
 
   @BeforeEach
   void setup(@TempDir Path tempDir) {
@@ -878,6 +890,30 @@ class DelphiSymbolTableExecutorTest {
     verifyUsages(10, 10, reference(24, 10), reference(37, 2), reference(38, 2));
   }
 
+  @ParameterizedTest
+  @CsvSource({
+    "Result,System.UnicodeString",
+    "Provider,NestedExpressions.IntegerProvider",
+    "'(((GetString(12345))))',System.UnicodeString"
+  })
+  void testExpressionTypesResolvedDuringSymbolTableConstructionShouldBeReused(
+      String image, String typeImage) {
+    execute("overloads/NestedExpressions.pas");
+    assertThat(findResolvedType(mainFile, image)).extracting(Type::getImage).isEqualTo(typeImage);
+  }
+
+  @Test
+  void testExpressionTypesShouldOnlyBeAttachedToTheFirstAnalysis() {
+    execute("overloads/NestedExpressions.pas");
+    assertThat(findResolvedType(mainFile, "(((GetString(12345))))")).isNotNull();
+
+    DelphiInputFile reanalyzedFile = DelphiInputFile.from(mainFile.getInputFile(), fileConfig);
+    new SymbolAssociationVisitor()
+        .visit(reanalyzedFile.getAst(), new Data(executorContext.symbolTable()));
+
+    assertThat(findResolvedType(reanalyzedFile, "(((GetString(12345))))")).isNull();
+  }
+
   @Test
   void testStrongAliasOverloads() {
     execute("overloads/StrongAlias.pas");
@@ -1062,6 +1098,43 @@ class DelphiSymbolTableExecutorTest {
     verifyUsages(13, 10, reference(20, 2));
   }
 
+  @Test
+  void testGenericSpecializationsShouldBeShared() {
+    execute("generics/StructAssignmentCompatibility.pas");
+    assertThat(specializationCache.missCount()).isPositive();
+    assertThat(specializationCache.hitCount()).isPositive();
+  }
+
+  @Test
+  void testStructAssignmentCompatibilityWithLazyTypeScopes() {
+    lazyTypeScopes = true;
+    testStructAssignmentCompatibility();
+  }
+
+  @Test
+  void testGenericParameterizedMethodsWithLazyTypeScopes() {
+    lazyTypeScopes = true;
+    testGenericParameterizedMethods();
+  }
+
+  @Test
+  void testGenericConstraintsWithLazyTypeScopes() {
+    lazyTypeScopes = true;
+    testGenericConstraints();
+  }
+
+  @Test
+  void testGenericTypeParameterConflictsWithLazyTypeScopes() {
+    lazyTypeScopes = true;
+    testGenericTypeParameterConflicts();
+  }
+
+  @Test
+  void testPropertySpecializationWithLazyTypeScopes() {
+    lazyTypeScopes = true;
+    testPropertySpecialization();
+  }
+
   @Test
   void testIncludes() {
     execute("includes/Includes.pas");
@@ -1445,11 +1518,14 @@ class DelphiSymbolTableExecutorTest {
     }
 
     var preprocessorFactory = new DelphiPreprocessorFactory(Platform.WINDOWS);
+    specializationCache = new SpecializationCache(lazyTypeScopes);
     var typeFactory =
         new TypeFactoryImpl(
-            DelphiProperties.COMPILER_TOOLCHAIN_DEFAULT, DelphiProperties.COMPILER_VERSION_DEFAULT);
+            DelphiProperties.COMPILER_TOOLCHAIN_DEFAULT,
+            DelphiProperties.COMPILER_VERSION_DEFAULT,
+            specializationCache);
 
-    DelphiFileConfig fileConfig = mock(DelphiFileConfig.class);
+    fileConfig = mock(DelphiFileConfig.class);
     when(fileConfig.getEncoding()).thenReturn(StandardCharsets.UTF_8.name());
     when(fileConfig.getPreprocessorFactory()).thenReturn(preprocessorFactory);
     when(fileConfig.getTypeFactory()).thenReturn(typeFactory);
@@ -1477,12 +1553,23 @@ class DelphiSymbolTableExecutorTest {
             .unitAliases(unitAliases)
             .build();
 
-    ExecutorContext executorContext = new ExecutorContext(context, symbolTable);
+    executorContext = new ExecutorContext(context, symbolTable);
 
     componentKey = mainFile.getInputFile().key();
     executor.execute(executorContext, mainFile);
   }
 
+  private static ExpressionNode findExpression(DelphiInputFile file, String image) {
+    return file.getAst().findDescendantsOfType(ExpressionNode.class).stream()
+        .filter(expression -> expression.getImage().equals(image))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static Type findResolvedType(DelphiInputFile file, String image) {
+    return ((ExpressionNodeImpl) findExpression(file, image)).getResolvedType();
+  }
+
   private void verifyUsages(int line, int offset, TextPointer... pointers) {
     Collection<TextRange> textRanges = context.referencesForSymbolAt(componentKey, line, offset);
 
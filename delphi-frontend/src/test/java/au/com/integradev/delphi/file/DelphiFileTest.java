@@ -20,12 +20,14 @@ package au.com.integradev.delphi.file;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
 
 import au.com.integradev.delphi.compiler.Platform;
 import au.com.integradev.delphi.core.Delphi;
 import au.com.integradev.delphi.file.DelphiFile.DelphiFileConstructionException;
 import au.com.integradev.delphi.file.DelphiFile.DelphiInputFile;
 import au.com.integradev.delphi.file.DelphiFile.EmptyDelphiFileException;
+import au.com.integradev.delphi.preprocessor.CompilerDirectiveCache;
 import au.com.integradev.delphi.preprocessor.DelphiPreprocessorFactory;
 import au.com.integradev.delphi.preprocessor.search.SearchPath;
 import au.com.integradev.delphi.utils.DelphiUtils;
@@ -35,9 +37,17 @@ import java.io.File;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+import org.sonar.plugins.communitydelphi.api.ast.DelphiNode;
+import org.sonar.plugins.communitydelphi.api.ast.InitializationSectionNode;
+import org.sonar.plugins.communitydelphi.api.ast.RoutineImplementationNode;
+import org.sonar.plugins.communitydelphi.api.token.DelphiToken;
 
 class DelphiFileTest {
   private static final File BASE_DIR = DelphiUtils.getResource("/au/com/integradev/delphi/file");
@@ -106,4 +116,75 @@ class DelphiFileTest {
     String firstLine = delphiFile.getSourceCodeFileLines().get(0);
     assertThat(firstLine).doesNotStartWith("\ufeff");
   }
+
+  @Test
+  void testRoutineBodiesShouldOnlyBeParsedIfRequested() {
+    File file = DelphiUtils.getResource("/au/com/integradev/delphi/file/RoutineBodies.pas");
+
+    DelphiFileConfig config = DelphiFileUtils.mockConfig();
+    when(config.shouldSkipRoutineBodies()).thenReturn(true);
+    when(config.getParsedRoutineBodies()).thenReturn(Set.of("Kept"));
+
+    DelphiFile delphiFile = DelphiFile.from(file, config);
+    Map<String, Boolean> emptyRoutines =
+        delphiFile.getAst().findDescendantsOfType(RoutineImplementationNode.class).stream()
+            .collect(
+                Collectors.toMap(
+                    RoutineImplementationNode::simpleName, RoutineImplementationNode::isEmpty));
+
+    assertThat(emptyRoutines)
+        .containsOnly(
+            Map.entry("Kept", false),
+            Map.entry("Inlined", false),
+            Map.entry("Dropped", true),
+            Map.entry("Outer", false),
+            Map.entry("Nested", true));
+    assertThat(delphiFile.getAst().getFirstDescendantOfType(InitializationSectionNode.class))
+        .isNotNull();
+    assertThat(delphiFile.getTokens()).anyMatch(token -> token.getImage().equals("'Dropped'"));
+  }
+
+  @Test
+  void testRoutineBodiesShouldAllBeParsedByDefault() {
+    File file = DelphiUtils.getResource("/au/com/integradev/delphi/file/RoutineBodies.pas");
+
+    DelphiFile delphiFile = DelphiFile.from(file, DelphiFileUtils.mockConfig());
+
+    assertThat(delphiFile.getAst().findDescendantsOfType(RoutineImplementationNode.class))
+        .isNotEmpty()
+        .noneMatch(RoutineImplementationNode::isEmpty);
+  }
+
+  @Test
+  void testParserProfilingShouldNotChangeAst() {
+    File file = DelphiUtils.getResource("/au/com/integradev/delphi/file/RoutineBodies.pas");
+
+    DelphiFileConfig profiledConfig = DelphiFileUtils.mockConfig();
+    when(profiledConfig.shouldProfileParser()).thenReturn(true);
+
+    DelphiFile delphiFile = DelphiFile.from(file, DelphiFileUtils.mockConfig());
+    DelphiFile profiledFile = DelphiFile.from(file, profiledConfig);
+
+    assertThat(profiledFile.getAst().findDescendantsOfType(DelphiNode.class))
+        .hasSameSizeAs(delphiFile.getAst().findDescendantsOfType(DelphiNode.class));
+  }
+
+  @Test
+  void testCompilerDirectivesShouldBeParsedOnce() {
+    File file = DelphiUtils.getResource("/au/com/integradev/delphi/file/CompilerDirectives.pas");
+
+    DelphiFile delphiFile = DelphiFile.from(file, DelphiFileUtils.mockConfig());
+    CompilerDirectiveCache cache = delphiFile.getCompilerDirectiveCache();
+
+    List<DelphiToken> directiveTokens =
+        delphiFile.getTokens().stream()
+            .filter(DelphiToken::isCompilerDirective)
+            .collect(Collectors.toList());
+
+    assertThat(directiveTokens).isNotEmpty();
+    assertThat(cache.getDirectives()).hasSameSizeAs(directiveTokens);
+    for (int i = 0; i < directiveTokens.size(); ++i) {
+      assertThat(cache.parse(directiveTokens.get(i))).containsSame(cache.getDirectives().get(i));
+    }
+  }
 }
@@ -38,7 +38,9 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.assertj.core.util.Arrays;
@@ -171,6 +173,51 @@ class DelphiProjectHelperTest {
     assertThat(delphiProjectHelper.getUnitScopeNames()).containsExactlyInAnyOrder("System", "Vcl");
   }
 
+  @Test
+  void testParallelIndexingShouldMatchSequentialParsing(@TempDir Path tempDir) throws IOException {
+    when(settings.getStringArray(DelphiProperties.SEARCH_PATH_KEY)).thenReturn(new String[0]);
+    fs = new DefaultFileSystem(tempDir);
+
+    Files.createDirectories(tempDir.resolve("Shared"));
+    Files.writeString(
+        tempDir.resolve("Shared.optset"),
+        "<Project xmlns=\"http://schemas.microsoft.com/developer/msbuild/2003\">\n"
+            + "  <PropertyGroup>\n"
+            + "    <DCC_UnitSearchPath>$(DCC_UnitSearchPath);Shared</DCC_UnitSearchPath>\n"
+            + "  </PropertyGroup>\n"
+            + "</Project>\n");
+
+    for (int i = 0; i < 16; ++i) {
+      String name = "Project" + i;
+      Path dproj = tempDir.resolve(name + ".dproj");
+      Files.createDirectories(tempDir.resolve(name));
+      Files.writeString(
+          dproj,
+          "<Project xmlns=\"http://schemas.microsoft.com/developer/msbuild/2003\">\n"
+              + "  <PropertyGroup>\n"
+              + "    <DCC_UnitSearchPath>"
+              + name
+              + "</DCC_UnitSearchPath>\n"
+              + "  </PropertyGroup>\n"
+              + "  <Import Project=\"Shared.optset\"/>\n"
+              + "</Project>\n");
+      fs.add(TestInputFileBuilder.create("", tempDir.toFile(), dproj.toFile()).build());
+    }
+
+    List<Path> expected = new ArrayList<>();
+    for (InputFile dproj : fs.inputFiles(fs.predicates().hasExtension("dproj"))) {
+      DelphiProjectParser parser =
+          new DelphiProjectParser(Path.of(dproj.uri()), environmentVariableProvider, null);
+      expected.addAll(parser.parse().getSearchDirectories());
+    }
+
+    DelphiProjectHelper delphiProjectHelper =
+        new DelphiProjectHelper(settings, fs, environmentVariableProvider);
+
+    assertThat(expected).isNotEmpty();
+    assertThat(delphiProjectHelper.getSearchDirectories()).containsExactlyElementsOf(expected);
+  }
+
   @Test
   void testStandardLibraryPath() {
     DelphiProjectHelper delphiProjectHelper =
@@ -351,4 +398,65 @@ class DelphiProjectHelperTest {
     assertThat(delphiProjectHelper.inputFiles()).isEmpty();
     assertThat(delphiProjectHelper.shouldExecuteOnProject()).isFalse();
   }
+
+  @Test
+  void testGetFile(@TempDir Path tempDir) {
+    fs = new DefaultFileSystem(tempDir);
+    InputFile unit = addInputFile(tempDir, "Foo/Unit1.pas");
+
+    DelphiProjectHelper delphiProjectHelper =
+        new DelphiProjectHelper(settings, fs, environmentVariableProvider);
+
+    assertThat(delphiProjectHelper.getFile(tempDir.resolve("Foo/Unit1.pas").toString()))
+        .isSameAs(unit);
+    assertThat(delphiProjectHelper.getFile(tempDir.resolve("Bar/Unit1.pas").toString())).isNull();
+  }
+
+  @Test
+  void testGetFileFromBasenameShouldIgnoreCase(@TempDir Path tempDir) {
+    fs = new DefaultFileSystem(tempDir);
+    InputFile unit = addInputFile(tempDir, "Foo/Unit1.pas");
+
+    DelphiProjectHelper delphiProjectHelper =
+        new DelphiProjectHelper(settings, fs, environmentVariableProvider);
+
+    assertThat(delphiProjectHelper.getFileFromBasename("Unit1.pas")).isSameAs(unit);
+    assertThat(delphiProjectHelper.getFileFromBasename("UNIT1.PAS")).isSameAs(unit);
+    assertThat(delphiProjectHelper.getFileFromBasename("Unit2.pas")).isNull();
+  }
+
+  @Test
+  void testGetFileFromBasenameShouldPreferExactCase(@TempDir Path tempDir) {
+    fs = new DefaultFileSystem(tempDir);
+    InputFile lowerCaseUnit = addInputFile(tempDir, "Foo/unit1.pas");
+    InputFile upperCaseUnit = addInputFile(tempDir, "Bar/UNIT1.pas");
+
+    DelphiProjectHelper delphiProjectHelper =
+        new DelphiProjectHelper(settings, fs, environmentVariableProvider);
+
+    assertThat(delphiProjectHelper.getFileFromBasename("unit1.pas")).isSameAs(lowerCaseUnit);
+    assertThat(delphiProjectHelper.getFileFromBasename("UNIT1.pas")).isSameAs(upperCaseUnit);
+    assertThat(delphiProjectHelper.getFileFromBasename("Unit1.pas")).isNull();
+  }
+
+  @Test
+  void testGetFileFromAmbiguousBasenameShouldReturnNull(@TempDir Path tempDir) {
+    fs = new DefaultFileSystem(tempDir);
+    addInputFile(tempDir, "Foo/Unit1.pas");
+    addInputFile(tempDir, "Bar/Unit1.pas");
+
+    DelphiProjectHelper delphiProjectHelper =
+        new DelphiProjectHelper(settings, fs, environmentVariableProvider);
+
+    assertThat(delphiProjectHelper.getFileFromBasename("Unit1.pas")).isNull();
+  }
+
+  private InputFile addInputFile(Path baseDir, String relativePath) {
+    InputFile inputFile =
+        TestInputFileBuilder.create("", baseDir.toFile(), baseDir.resolve(relativePath).toFile())
+            .setLanguage(Delphi.KEY)
+            .build();
+    fs.add(inputFile);
+    return inputFile;
+  }
 }
@@ -20,6 +20,8 @@ package au.com.integradev.delphi.msbuild;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import au.com.integradev.delphi.enviroment.EnvironmentVariableProvider;
@@ -73,4 +75,55 @@ class ProjectPropertiesTest {
     assertThat(properties.get("BAR")).isNull();
     assertThat(properties.get("BAZ")).isEqualTo("flarp");
   }
+
+  @Test
+  void testCopiesShouldNotAffectEachOther() {
+    var properties = ProjectProperties.create(environmentVariableProvider, null);
+    var copy = properties.copy();
+
+    copy.set("FOO", "copy");
+    properties.set("BAR", "original");
+
+    assertThat(properties.get("FOO")).isNull();
+    assertThat(properties.get("BAR")).isEqualTo("original");
+    assertThat(copy.get("FOO")).isEqualTo("copy");
+    assertThat(copy.get("BAR")).isNull();
+  }
+
+  @Test
+  void testSubstitutorShouldUseCurrentProperties() {
+    var properties = ProjectProperties.create(environmentVariableProvider, null);
+    assertThat(properties.substitutor().replace("$(FOO)-$(BAZ)")).isEqualTo("-flarp");
+
+    properties.set("FOO", "foo");
+    assertThat(properties.substitutor().replace("$(FOO)-$(BAZ)")).isEqualTo("foo-flarp");
+  }
+
+  @Test
+  void testEnvironmentProjShouldBeEvaluatedOncePerCache() throws Exception {
+    Path environmentProj = DelphiUtils.getResource(ENVIRONMENT_PROJ).toPath();
+    var cache = new MSBuildCache();
+
+    var first = ProjectProperties.create(environmentVariableProvider, environmentProj, cache);
+    first.set("FOO", "modified");
+    var second = ProjectProperties.create(environmentVariableProvider, environmentProj, cache);
+
+    assertThat(second.get("FOO")).isEqualTo("foo");
+    assertThat(cache.getRootElement(environmentProj))
+        .isSameAs(cache.getRootElement(environmentProj));
+    verify(environmentVariableProvider, times(1)).getenv();
+  }
+
+  @Test
+  void testCopiesOfSnapshotShouldNotModifyIt() {
+    var snapshot = ProjectProperties.create(environmentVariableProvider, null).snapshot();
+    var copy = snapshot.copy();
+
+    copy.set("FOO", "copy");
+    copy.set("BAZ", "copy");
+
+    assertThat(snapshot.get("FOO")).isNull();
+    assertThat(snapshot.get("BAZ")).isEqualTo("flarp");
+    assertThat(snapshot.copy().get("BAZ")).isEqualTo("flarp");
+  }
 }
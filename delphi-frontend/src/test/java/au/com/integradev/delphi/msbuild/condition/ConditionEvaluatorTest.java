@@ -44,6 +44,18 @@ class ConditionEvaluatorTest {
     assertThatThrownBy(() -> evaluate("'foo'")).isInstanceOf(ConditionEvaluationError.class);
   }
 
+  @Test
+  void testRepeatedConditionShouldUseCurrentProperties() {
+    String condition = "'$(Config)'=='Debug'";
+    ProjectProperties properties = properties();
+
+    properties.set("Config", "Debug");
+    assertThat(new ConditionEvaluator(properties, tempDir).evaluate(condition)).isTrue();
+
+    properties.set("Config", "Release");
+    assertThat(new ConditionEvaluator(properties, tempDir).evaluate(condition)).isFalse();
+  }
+
   private static ProjectProperties properties() {
     var environmentVariableProvider = mock(EnvironmentVariableProvider.class);
     when(environmentVariableProvider.getenv()).thenReturn(Collections.emptyMap());
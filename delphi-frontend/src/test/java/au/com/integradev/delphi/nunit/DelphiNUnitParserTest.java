@@ -19,11 +19,16 @@
 package au.com.integradev.delphi.nunit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 import au.com.integradev.delphi.utils.DelphiUtils;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -45,7 +50,38 @@ class DelphiNUnitParserTest {
     ResultsAggregator results = getResults(getPath("v3"));
 
     assertThat(results).isNotNull();
-    assertThat(results.getTestsRun()).isEqualTo(20);
+    assertThat(results.getTestsRun()).isEqualTo(21);
+  }
+
+  @Test
+  void testParallelCollectShouldMatchSequentialCollect(@TempDir Path tempDir) throws IOException {
+    for (int i = 0; i < 64; ++i) {
+      writeReport(tempDir.resolve("report" + i + ".xml"), i + 1, "0.1");
+    }
+
+    ResultsAggregator sequential = DelphiNUnitParser.collect(tempDir.toFile(), false);
+    assertThat(sequential.getTestsRun()).isEqualTo(64 * 65 / 2);
+
+    for (int i = 0; i < 8; ++i) {
+      ResultsAggregator parallel = DelphiNUnitParser.collect(tempDir.toFile(), true);
+
+      assertThat(parallel.getTestsRun()).isEqualTo(sequential.getTestsRun());
+      assertThat(parallel.getFailures()).isEqualTo(sequential.getFailures());
+      assertThat(parallel.getSkipped()).isEqualTo(sequential.getSkipped());
+      assertThat(parallel.getDurationSeconds()).isEqualTo(sequential.getDurationSeconds());
+    }
+  }
+
+  @Test
+  void testCollectLargeReport(@TempDir Path tempDir) throws IOException {
+    writeReport(tempDir.resolve("results.xml"), 100_000, "0.001");
+
+    ResultsAggregator results = DelphiNUnitParser.collect(tempDir.toFile());
+
+    assertThat(results.getTestsRun()).isEqualTo(100_000);
+    assertThat(results.getFailures()).isZero();
+    assertThat(results.getSkipped()).isZero();
+    assertThat(results.getDurationSeconds()).isCloseTo(100.0, within(0.001));
   }
 
   @ParameterizedTest
@@ -110,6 +146,18 @@ class DelphiNUnitParserTest {
     assertThat(results.getDurationSeconds()).isZero();
   }
 
+  @ParameterizedTest
+  @ValueSource(strings = {"v2", "v3"})
+  void testParseReportWithDoctype(String version) {
+    ResultsAggregator results = getResults(getPath(version) + "/doctype");
+
+    assertThat(results).isNotNull();
+    assertThat(results.getTestsRun()).isEqualTo(1);
+    assertThat(results.getFailures()).isZero();
+    assertThat(results.getSkipped()).isZero();
+    assertThat(results.getDurationSeconds()).isEqualTo(0.704);
+  }
+
   private static ResultsAggregator getResults(String path) {
     return DelphiNUnitParser.collect(DelphiUtils.getResource(path));
   }
@@ -117,4 +165,22 @@ class DelphiNUnitParserTest {
   private static String getPath(String versionText) {
     return String.format("/au/com/integradev/delphi/nunit/reports/%s", versionText);
   }
+
+  private static void writeReport(Path path, int testCases, String duration) throws IOException {
+    StringBuilder report = new StringBuilder();
+    report.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    report.append("<test-run>\n");
+    report.append("  <test-suite type=\"TestSuite\" name=\"Suite\">\n");
+    for (int i = 0; i < testCases; ++i) {
+      report
+          .append("    <test-case name=\"Test")
+          .append(i)
+          .append("\" result=\"Passed\" duration=\"")
+          .append(duration)
+          .append("\"/>\n");
+    }
+    report.append("  </test-suite>\n");
+    report.append("</test-run>\n");
+    Files.writeString(path, report);
+  }
 }
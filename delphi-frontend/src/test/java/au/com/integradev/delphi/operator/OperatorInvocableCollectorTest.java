@@ -27,6 +27,7 @@ import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.sonar.plugins.communitydelphi.api.operator.BinaryOperator;
 import org.sonar.plugins.communitydelphi.api.operator.UnaryOperator;
+import org.sonar.plugins.communitydelphi.api.symbol.Invocable;
 import org.sonar.plugins.communitydelphi.api.type.IntrinsicType;
 import org.sonar.plugins.communitydelphi.api.type.Type;
 import org.sonar.plugins.communitydelphi.api.type.TypeFactory;
@@ -87,4 +88,20 @@ class OperatorInvocableCollectorTest {
     OperatorInvocableCollector collector = new OperatorInvocableCollector(typeFactory);
     assertThat(collector.collect(UnaryOperator.ADDRESS, TypeFactory.untypedType())).isEmpty();
   }
+
+  @Test
+  void testIntrinsicOperatorsShouldBeSharedAcrossCollectors() {
+    TypeFactory typeFactory = TypeFactoryUtils.defaultFactory();
+    Type integer = typeFactory.getIntrinsic(IntrinsicType.INTEGER);
+
+    Set<Invocable> first =
+        new OperatorInvocableCollector(typeFactory).collect(BinaryOperator.ADD, integer, integer);
+    Set<Invocable> second =
+        new OperatorInvocableCollector(typeFactory).collect(BinaryOperator.ADD, integer, integer);
+
+    assertThat(first)
+        .isNotEmpty()
+        .hasSameSizeAs(second)
+        .allMatch(invocable -> second.stream().anyMatch(other -> other == invocable));
+  }
 }
@@ -0,0 +1,65 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.preprocessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.sonar.plugins.communitydelphi.api.directive.SwitchDirective.SwitchKind;
+
+class CompilerSwitchRegistryTest {
+  @Test
+  void testEmptyRegistryShouldHaveNoActiveSwitches() {
+    var registry = new CompilerSwitchRegistry();
+    assertThat(registry.isActiveSwitch(SwitchKind.RANGECHECKS, 0)).isFalse();
+  }
+
+  @Test
+  void testIsActiveSwitch() {
+    var registry = new CompilerSwitchRegistry();
+
+    registry.addSwitch(SwitchKind.RANGECHECKS, 20, 30);
+    registry.addSwitch(SwitchKind.RANGECHECKS, 5, 10);
+    registry.addSwitch(SwitchKind.RANGECHECKS, 8, 12);
+    registry.addSwitch(SwitchKind.OVERFLOWCHECKS, 40, 50);
+    registry.index();
+
+    assertThat(registry.isActiveSwitch(SwitchKind.RANGECHECKS, 4)).isFalse();
+    assertThat(registry.isActiveSwitch(SwitchKind.RANGECHECKS, 5)).isTrue();
+    assertThat(registry.isActiveSwitch(SwitchKind.RANGECHECKS, 11)).isTrue();
+    assertThat(registry.isActiveSwitch(SwitchKind.RANGECHECKS, 12)).isTrue();
+    assertThat(registry.isActiveSwitch(SwitchKind.RANGECHECKS, 15)).isFalse();
+    assertThat(registry.isActiveSwitch(SwitchKind.RANGECHECKS, 30)).isTrue();
+    assertThat(registry.isActiveSwitch(SwitchKind.RANGECHECKS, 45)).isFalse();
+    assertThat(registry.isActiveSwitch(SwitchKind.OVERFLOWCHECKS, 45)).isTrue();
+    assertThat(registry.isActiveSwitch(SwitchKind.OVERFLOWCHECKS, 25)).isFalse();
+  }
+
+  @Test
+  void testSwitchesAddedAfterIndexingShouldBeQueryable() {
+    var registry = new CompilerSwitchRegistry();
+
+    registry.addSwitch(SwitchKind.RANGECHECKS, 5, 10);
+    registry.index();
+    registry.addSwitch(SwitchKind.RANGECHECKS, 1, 2);
+
+    assertThat(registry.isActiveSwitch(SwitchKind.RANGECHECKS, 1)).isTrue();
+    assertThat(registry.isActiveSwitch(SwitchKind.RANGECHECKS, 7)).isTrue();
+  }
+}
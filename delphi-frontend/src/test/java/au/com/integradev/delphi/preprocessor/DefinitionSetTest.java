@@ -0,0 +1,62 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi.preprocessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class DefinitionSetTest {
+  @Test
+  void testContainsShouldBeCaseInsensitive() {
+    DefinitionSet definitions = DefinitionSet.fork(Set.of("MSWINDOWS"));
+    definitions.define("Debug");
+
+    assertThat(definitions.contains("mswindows")).isTrue();
+    assertThat(definitions.contains("DEBUG")).isTrue();
+    assertThat(definitions.contains("RELEASE")).isFalse();
+  }
+
+  @Test
+  void testForksShouldNotAffectEachOther() {
+    Set<String> config = Set.of("MSWINDOWS", "CPUX64");
+    DefinitionSet first = DefinitionSet.fork(config);
+    DefinitionSet second = DefinitionSet.fork(config);
+
+    first.undefine("MSWINDOWS");
+    first.define("DEBUG");
+
+    assertThat(first.contains("MSWINDOWS")).isFalse();
+    assertThat(first.contains("DEBUG")).isTrue();
+    assertThat(second.contains("MSWINDOWS")).isTrue();
+    assertThat(second.contains("DEBUG")).isFalse();
+    assertThat(config).containsExactlyInAnyOrder("MSWINDOWS", "CPUX64");
+  }
+
+  @Test
+  void testRedefiningUndefinedSymbol() {
+    DefinitionSet definitions = DefinitionSet.fork(Set.of("MSWINDOWS"));
+
+    definitions.undefine("MSWINDOWS");
+    definitions.define("mswindows");
+
+    assertThat(definitions.contains("MSWINDOWS")).isTrue();
+  }
+}
@@ -20,6 +20,7 @@ package au.com.integradev.delphi.preprocessor;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -34,12 +35,21 @@ import au.com.integradev.delphi.preprocessor.search.SearchPath;
 import au.com.integradev.delphi.utils.DelphiUtils;
 import au.com.integradev.delphi.utils.files.DelphiFileUtils;
 import au.com.integradev.delphi.utils.types.TypeFactoryUtils;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.antlr.runtime.BufferedTokenStream;
+import org.antlr.runtime.Token;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.sonar.plugins.communitydelphi.api.token.DelphiToken;
 import org.sonar.plugins.communitydelphi.api.type.TypeFactory;
 
 class DelphiPreprocessorTest {
@@ -133,6 +143,70 @@ class DelphiPreprocessorTest {
     assertThatThrownBy(preprocessor::process).isInstanceOf(IllegalStateException.class);
   }
 
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "InactiveBranches.pas",
+        "NestedDirectives.pas",
+        "UndefineDirectives.pas",
+        "Expressions.pas",
+        "PseudoExpressions.pas",
+        "includeTest/NestedSearchPath.pas"
+      })
+  void testSkippingInactiveBranchesShouldNotChangeTokenStream(String filename) {
+    assertThat(tokenImages(preprocess(filename, true)))
+        .isEqualTo(tokenImages(preprocess(filename, false)));
+  }
+
+  @Test
+  void testSkippedInactiveBranchesShouldKeepCommentsAndDirectives() {
+    DelphiPreprocessor preprocessor = preprocess("InactiveBranches.pas", true);
+
+    assertThat(preprocessor.getRawTokens())
+        .extracting(DelphiToken::getImage)
+        .contains(
+            "// Comment in an inactive branch", "{$IFDEF NESTED}", "{$ELSEIF Defined(UNDEFINED)}")
+        .doesNotContain("'{ not a comment }'", "Inactive");
+    assertThat(tokenImages(preprocessor))
+        .contains("Active", "AlsoActive")
+        .doesNotContain("// Comment in an inactive branch", "Nested", "Inactive");
+  }
+
+  private static DelphiPreprocessor preprocess(String filename, boolean skipInactiveBranches) {
+    DelphiFileConfig config =
+        DelphiFile.createConfig(
+            UTF_8.name(),
+            new DelphiPreprocessorFactory(Platform.WINDOWS),
+            TypeFactoryUtils.defaultFactory(),
+            SearchPath.create(
+                Stream.of("includes", "nestedIncludes")
+                    .map(dir -> DelphiUtils.getResource(BASE_DIR + dir).toPath())
+                    .collect(Collectors.toList())),
+            Set.of("FAIL_IF_DEFINED", "NESTED"),
+            false,
+            false,
+            emptySet(),
+            false,
+            skipInactiveBranches);
+
+    try {
+      String filePath = DelphiUtils.getResource(BASE_DIR + filename).getAbsolutePath();
+      DelphiLexer lexer = new DelphiLexer(new DelphiFileStream(filePath, config.getEncoding()));
+      DelphiPreprocessor preprocessor =
+          config.getPreprocessorFactory().createPreprocessor(lexer, config);
+      preprocessor.process();
+      return preprocessor;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static List<String> tokenImages(DelphiPreprocessor preprocessor) {
+    return preprocessor.getTokenStream().getTokens().stream()
+        .map(Token::getText)
+        .collect(Collectors.toList());
+  }
+
   private static void executeWithDefines(String filename, String... defines) {
     DelphiFileConfig config =
         DelphiFile.createConfig(
@@ -125,9 +125,7 @@ class InvocationResolverTest {
     InvocationResolver resolver = new InvocationResolver();
 
     for (Type argumentType : argumentTypes) {
-      InvocationArgument argument = mock(InvocationArgument.class);
-      when(argument.getType()).thenReturn(argumentType);
-      resolver.addArgument(argument);
+      resolver.addArgument(mockArgument(argumentType, false));
     }
 
     candidates.forEach(resolver::addCandidate);
@@ -136,7 +134,18 @@ class InvocationResolverTest {
     resolved = resolver.chooseBest();
   }
 
+  private static InvocationArgument mockArgument(Type type, boolean resolvableByType) {
+    InvocationArgument argument = mock(InvocationArgument.class);
+    when(argument.getType()).thenReturn(type);
+    when(argument.isResolvableByType()).thenReturn(resolvableByType);
+    return argument;
+  }
+
   private static InvocationCandidate mockCandidate(List<Type> parameterTypes, boolean isVar) {
+    return new InvocationCandidate(mockInvocable(parameterTypes, isVar));
+  }
+
+  private static Invocable mockInvocable(List<Type> parameterTypes, boolean isVar) {
     Invocable invocable = mock(Invocable.class);
     List<Parameter> parameters = new ArrayList<>();
 
@@ -154,7 +163,63 @@ class InvocationResolverTest {
     when(invocable.getParametersCount()).thenCallRealMethod();
     when(invocable.getRequiredParametersCount()).thenCallRealMethod();
 
-    return new InvocationCandidate(invocable);
+    return invocable;
+  }
+
+  private static Set<Invocable> resolveWithCache(
+      TypeFactory typeFactory, boolean resolvableByType, Invocable... invocables) {
+    InvocationResolver resolver = new InvocationResolver(typeFactory);
+    resolver.addArgument(mockArgument(type(INTEGER), resolvableByType));
+    Arrays.stream(invocables).map(InvocationCandidate::new).forEach(resolver::addCandidate);
+    resolver.processCandidates();
+    return resolver.chooseBest().stream()
+        .map(InvocationCandidate::getData)
+        .collect(Collectors.toSet());
+  }
+
+  @Test
+  void testResolutionShouldBeReusedForArgumentsResolvableByType() {
+    TypeFactoryImpl typeFactory = (TypeFactoryImpl) TypeFactoryUtils.defaultFactory();
+    InvocationResolutionCache cache = typeFactory.getInvocationResolutionCache();
+    Invocable winner = mockInvocable(List.of(type(LONGINT)), false);
+    Invocable loser = mockInvocable(List.of(type(BYTE)), false);
+
+    assertThat(resolveWithCache(typeFactory, true, winner, loser)).containsOnly(winner);
+    assertThat(resolveWithCache(typeFactory, true, winner, loser)).containsOnly(winner);
+    assertThat(resolveWithCache(typeFactory, true, loser, winner)).containsOnly(winner);
+
+    assertThat(cache.hitCount()).isEqualTo(1);
+    assertThat(cache.missCount()).isEqualTo(2);
+  }
+
+  @Test
+  void testResolutionShouldNotBeReusedForArgumentsNotResolvableByType() {
+    TypeFactoryImpl typeFactory = (TypeFactoryImpl) TypeFactoryUtils.defaultFactory();
+    InvocationResolutionCache cache = typeFactory.getInvocationResolutionCache();
+    Invocable winner = mockInvocable(List.of(type(LONGINT)), false);
+    Invocable loser = mockInvocable(List.of(type(BYTE)), false);
+
+    assertThat(resolveWithCache(typeFactory, false, winner, loser)).containsOnly(winner);
+    assertThat(resolveWithCache(typeFactory, false, winner, loser)).containsOnly(winner);
+
+    assertThat(cache.hitCount()).isZero();
+    assertThat(cache.retainedCount()).isZero();
+  }
+
+  @Test
+  void testResolutionShouldNotBeReusedAfterInvalidation() {
+    TypeFactoryImpl typeFactory = (TypeFactoryImpl) TypeFactoryUtils.defaultFactory();
+    InvocationResolutionCache cache = typeFactory.getInvocationResolutionCache();
+    Invocable winner = mockInvocable(List.of(type(LONGINT)), false);
+    Invocable loser = mockInvocable(List.of(type(BYTE)), false);
+
+    assertThat(resolveWithCache(typeFactory, true, winner, loser)).containsOnly(winner);
+    cache.invalidateAll();
+    assertThat(cache.retainedCount()).isZero();
+    assertThat(resolveWithCache(typeFactory, true, winner, loser)).containsOnly(winner);
+
+    assertThat(cache.hitCount()).isZero();
+    assertThat(cache.missCount()).isEqualTo(2);
   }
 
   @Test
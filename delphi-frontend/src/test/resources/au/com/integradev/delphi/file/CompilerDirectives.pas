@@ -0,0 +1,17 @@
+unit CompilerDirectives;
+
+{$R *.dfm}
+
+interface
+
+{$IFDEF DEBUG}
+const Debug = True;
+{$ELSE}
+const Debug = False;
+{$ENDIF}
+
+implementation
+
+{$WARNINGS OFF}
+
+end.
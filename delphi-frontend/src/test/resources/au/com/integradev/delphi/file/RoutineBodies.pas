@@ -0,0 +1,42 @@
+unit RoutineBodies;
+
+interface
+
+procedure Kept;
+
+implementation
+
+procedure Kept;
+begin
+  WriteLn('Kept');
+end;
+
+function Inlined: Integer; inline;
+begin
+  Result := 123;
+end;
+
+procedure Dropped;
+begin
+  try
+    case Inlined of
+      123: WriteLn('Dropped');
+    end;
+  finally
+    WriteLn('Finally');
+  end;
+end;
+
+procedure Outer;
+  procedure Nested;
+  begin
+    WriteLn('Nested');
+  end;
+begin
+  Nested;
+end;
+
+initialization
+  Kept;
+
+end.
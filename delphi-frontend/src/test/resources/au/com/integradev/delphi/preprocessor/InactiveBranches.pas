@@ -0,0 +1,27 @@
+unit InactiveBranches;
+
+interface
+
+{$IFDEF UNDEFINED}
+// Comment in an inactive branch
+const Text = '{ not a comment }';
+{$IFDEF NESTED}
+const Nested = True;
+{$ELSE}
+const Nested = False;
+{$ENDIF}
+{$ELSEIF Defined(UNDEFINED)}
+const Text = 'ELSEIF';
+{$ELSE}
+const Active = True;
+{$ENDIF}
+
+{$IFNDEF UNDEFINED}
+const AlsoActive = True;
+{$ELSE}
+const Inactive = True;
+{$ENDIF}
+
+implementation
+
+end.
@@ -24,23 +24,35 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 
 public class DelphiTokensGenerator {
   private static final Pattern TOKENS_LINE_PATTERN =
       Pattern.compile("(?i)([a-z_][a-z_\\d]+)=(\\d+)");
   private static final String DEPRECATED_SUFFIX = "__deprecated";
+  private static final String NODE_IMPL_SUFFIX = "NodeImpl";
+  private static final Pattern ABSTRACT_MODIFIER_PATTERN = Pattern.compile("\\babstract\\b");
 
   private final File tokensFile;
   private final File outputDirectory;
+  private final NodeKindConfig nodeKindConfig;
 
   public DelphiTokensGenerator(File tokensFile, File outputDirectory) {
+    this(tokensFile, outputDirectory, null);
+  }
+
+  public DelphiTokensGenerator(
+      File tokensFile, File outputDirectory, NodeKindConfig nodeKindConfig) {
     this.tokensFile = tokensFile;
     this.outputDirectory = outputDirectory;
+    this.nodeKindConfig = nodeKindConfig;
   }
 
   public void generate() throws IOException {
@@ -59,6 +71,92 @@ public class DelphiTokensGenerator {
     List<TokenTypeRecord> tokenTypes = readTokenTypes();
     generateEnum(tokenTypes);
     generateEnumFactory(tokenTypes);
+
+    if (nodeKindConfig != null) {
+      generateNodeKind(readNodeTypes());
+    }
+  }
+
+  private List<String> readNodeTypes() throws IOException {
+    File nodesDirectory = nodeKindConfig.getNodesDirectory();
+    if (!nodesDirectory.isDirectory()) {
+      throw new FileNotFoundException("Nodes directory does not exist");
+    }
+
+    List<String> result = new ArrayList<>();
+    try (Stream<Path> files = Files.list(nodesDirectory.toPath())) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        String fileName = file.getFileName().toString();
+        String className = StringUtils.removeEnd(fileName, ".java");
+        if (className.endsWith(NODE_IMPL_SUFFIX)
+            && !className.equals(fileName)
+            && !isAbstractClass(Files.readString(file), className)) {
+          result.add(className);
+        }
+      }
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Checks the modifiers on the declaration of a class. Comments and literals are removed from the
+   * source first, so that text which only looks like a declaration is not mistaken for one.
+   *
+   * @param source the source file declaring the class
+   * @param className the simple name of the class
+   * @return true if the class is declared with the {@code abstract} modifier
+   */
+  private static boolean isAbstractClass(String source, String className) {
+    Pattern declaration =
+        Pattern.compile("((?:[\\w@]+\\s+)*)class\\s+" + Pattern.quote(className) + "\\b");
+    Matcher matcher = declaration.matcher(removeCommentsAndLiterals(source));
+    return matcher.find() && ABSTRACT_MODIFIER_PATTERN.matcher(matcher.group(1)).find();
+  }
+
+  private static String removeCommentsAndLiterals(String source) {
+    StringBuilder result = new StringBuilder(source.length());
+    int i = 0;
+    while (i < source.length()) {
+      int end = skipCommentOrLiteral(source, i);
+      if (end == i) {
+        result.append(source.charAt(i++));
+      } else {
+        result.append(' ');
+        i = end;
+      }
+    }
+    return result.toString();
+  }
+
+  private static int skipCommentOrLiteral(String source, int from) {
+    char c = source.charAt(from);
+    if (source.startsWith("//", from)) {
+      return skipTo(source, "\n", from + 2);
+    } else if (source.startsWith("/*", from)) {
+      return skipTo(source, "*/", from + 2);
+    } else if (c == '"' || c == '\'') {
+      return skipLiteral(source, c, from + 1);
+    }
+    return from;
+  }
+
+  private static int skipTo(String source, String terminator, int from) {
+    int index = source.indexOf(terminator, from);
+    return index == -1 ? source.length() : index + terminator.length();
+  }
+
+  private static int skipLiteral(String source, char quote, int from) {
+    int i = from;
+    while (i < source.length()) {
+      char c = source.charAt(i++);
+      if (c == '\\') {
+        ++i;
+      } else if (c == quote) {
+        break;
+      }
+    }
+    return i;
   }
 
   private List<TokenTypeRecord> readTokenTypes() throws IOException {
@@ -125,7 +223,7 @@ public class DelphiTokensGenerator {
         .append("    // utility class\n")
         .append("  }\n\n")
         .append("  public static DelphiTokenType createTokenType(int value) {\n")
-        .append("    switch(value) {\n");
+        .append("    switch (value) {\n");
 
     for (TokenTypeRecord tokenType : tokenTypes) {
       builder.append("      case ").append(tokenType.getValue()).append(":\n");
@@ -138,7 +236,7 @@ public class DelphiTokensGenerator {
         .append("    }\n")
         .append("  }\n\n")
         .append("  public static int getValueFromTokenType(DelphiTokenType tokenType) {\n")
-        .append("    switch(tokenType) {\n");
+        .append("    switch (tokenType) {\n");
 
     for (TokenTypeRecord tokenType : tokenTypes) {
       builder.append("      case ").append(tokenType.getName()).append(":\n");
@@ -155,6 +253,93 @@ public class DelphiTokensGenerator {
     Files.writeString(outputPath.resolve("DelphiTokenTypeFactory.java"), builder);
   }
 
+  private void generateNodeKind(List<String> nodeTypes) throws IOException {
+    String packageName = nodeKindConfig.getPackageName();
+    Path outputPath = outputDirectory.toPath().resolve(packageName.replace('.', '/'));
+
+    Files.createDirectories(outputPath);
+
+    String visitorName = StringUtils.substringAfterLast(nodeKindConfig.getVisitorType(), ".");
+    String nodeName = StringUtils.substringAfterLast(nodeKindConfig.getNodeType(), ".");
+
+    var builder = new StringBuilder().append("package ").append(packageName).append(";\n\n");
+
+    Stream.of(
+            nodeKindConfig.getVisitorType(),
+            "javax.annotation.processing.Generated",
+            nodeKindConfig.getNodeType())
+        .sorted()
+        .forEach(name -> builder.append("import ").append(name).append(";\n"));
+
+    builder
+        .append("\n@Generated(\"")
+        .append(DelphiTokensGenerator.class.getName())
+        .append("\")\n")
+        .append("public enum NodeKind {\n");
+
+    for (String nodeType : nodeTypes) {
+      builder
+          .append("  ")
+          .append(nodeKindName(nodeType))
+          .append("(")
+          .append(nodeType)
+          .append(".class),\n");
+    }
+
+    builder
+        .append("  OTHER(null);\n\n")
+        .append("  private static final ClassValue<NodeKind> KINDS =\n")
+        .append("      new ClassValue<>() {\n")
+        .append("        @Override\n")
+        .append("        protected NodeKind computeValue(Class<?> type) {\n")
+        .append("          for (NodeKind kind : values()) {\n")
+        .append("            if (kind.nodeType == type) {\n")
+        .append("              return kind;\n")
+        .append("            }\n")
+        .append("          }\n")
+        .append("          return OTHER;\n")
+        .append("        }\n")
+        .append("      };\n\n")
+        .append("  private final Class<? extends ")
+        .append(nodeName)
+        .append("> nodeType;\n\n")
+        .append("  NodeKind(Class<? extends ")
+        .append(nodeName)
+        .append("> nodeType) {\n")
+        .append("    this.nodeType = nodeType;\n")
+        .append("  }\n\n")
+        .append("  public static NodeKind of(")
+        .append(nodeName)
+        .append(" node) {\n")
+        .append("    return KINDS.get(node.getClass());\n")
+        .append("  }\n\n")
+        .append("  public static <T> T dispatch(\n")
+        .append("      ")
+        .append(visitorName)
+        .append("<T> visitor, ")
+        .append(nodeName)
+        .append(" node, T data) {\n")
+        .append("    switch (of(node)) {\n");
+
+    for (String nodeType : nodeTypes) {
+      builder.append("      case ").append(nodeKindName(nodeType)).append(":\n");
+      builder.append("        return visitor.visit((").append(nodeType).append(") node, data);\n");
+    }
+
+    builder
+        .append("      default:\n")
+        .append("        return node.accept(visitor, data);\n")
+        .append("    }\n")
+        .append("  }\n")
+        .append("}\n");
+
+    Files.writeString(outputPath.resolve("NodeKind.java"), builder);
+  }
+
+  private static String nodeKindName(String nodeType) {
+    return toConstantName(StringUtils.removeEnd(nodeType, NODE_IMPL_SUFFIX));
+  }
+
   private static TokenTypeRecord createTokenType(String line) {
     Matcher matcher = TOKENS_LINE_PATTERN.matcher(line);
     if (matcher.matches()) {
@@ -171,12 +356,15 @@ public class DelphiTokensGenerator {
   private static String antlrNameToEnumName(String antlrName) {
     antlrName = StringUtils.removeStart(antlrName, "Tk");
     antlrName = StringUtils.removeEnd(antlrName, DEPRECATED_SUFFIX);
+    return toConstantName(antlrName);
+  }
 
+  private static String toConstantName(String name) {
     StringBuilder result = new StringBuilder();
     boolean nextCapitalIsNewWord = true;
 
-    for (int i = 0; i < antlrName.length(); ++i) {
-      char c = antlrName.charAt(i);
+    for (int i = 0; i < name.length(); ++i) {
+      char c = name.charAt(i);
       if (Character.isUpperCase(c)) {
         if (nextCapitalIsNewWord
             && result.length() > 0
@@ -193,6 +381,46 @@ public class DelphiTokensGenerator {
     return result.toString();
   }
 
+  /** Describes where the {@code NodeKind} enum goes and which types it dispatches between. */
+  public static class NodeKindConfig {
+    private final File nodesDirectory;
+    private final String packageName;
+    private final String nodeType;
+    private final String visitorType;
+
+    /**
+     * Constructor.
+     *
+     * @param nodesDirectory directory containing the node implementations
+     * @param packageName package of the node implementations, where the enum is generated
+     * @param nodeType fully qualified name of the interface implemented by every node
+     * @param visitorType fully qualified name of the visitor that the nodes accept
+     */
+    public NodeKindConfig(
+        File nodesDirectory, String packageName, String nodeType, String visitorType) {
+      this.nodesDirectory = nodesDirectory;
+      this.packageName = packageName;
+      this.nodeType = nodeType;
+      this.visitorType = visitorType;
+    }
+
+    public File getNodesDirectory() {
+      return nodesDirectory;
+    }
+
+    public String getPackageName() {
+      return packageName;
+    }
+
+    public String getNodeType() {
+      return nodeType;
+    }
+
+    public String getVisitorType() {
+      return visitorType;
+    }
+  }
+
   private static class TokenTypeRecord {
     private final String name;
     private final int value;
@@ -18,6 +18,7 @@
  */
 package au.com.integradev.delphi;
 
+import au.com.integradev.delphi.DelphiTokensGenerator.NodeKindConfig;
 import java.io.File;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoFailureException;
@@ -27,7 +28,10 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 
-/** Parses {@code delphi.tokens} file and transforms it into a Java enum. */
+/**
+ * Parses {@code delphi.tokens} file and transforms it into a Java enum. Optionally generates a
+ * {@code NodeKind} enum for the AST node implementations.
+ */
 @Mojo(
     name = "generate",
     defaultPhase = LifecyclePhase.GENERATE_SOURCES,
@@ -38,6 +42,27 @@ public class DelphiTokensGeneratorMojo extends AbstractMojo {
   @Parameter(defaultValue = "${project.build.directory}/generated-sources/antlr3/Delphi.tokens")
   private File tokensFile;
 
+  /**
+   * The directory containing the AST node implementations. When set, a {@code NodeKind} enum is
+   * generated with a constant for each concrete node implementation.
+   */
+  @Parameter private File nodesDirectory;
+
+  /** The package of the AST node implementations. Required when {@code nodesDirectory} is set. */
+  @Parameter private String nodesPackage;
+
+  /**
+   * The fully qualified name of the interface implemented by every AST node. Required when {@code
+   * nodesDirectory} is set.
+   */
+  @Parameter private String nodeInterface;
+
+  /**
+   * The fully qualified name of the visitor accepted by the AST nodes. Required when {@code
+   * nodesDirectory} is set.
+   */
+  @Parameter private String nodeVisitor;
+
   /**
    * The directory where the generated source files will be stored. The directory will be registered
    * as a compile source root of the project such that the generated files will participate in later
@@ -54,7 +79,8 @@ public class DelphiTokensGeneratorMojo extends AbstractMojo {
 
   @Override
   public void execute() throws MojoFailureException {
-    DelphiTokensGenerator generator = new DelphiTokensGenerator(tokensFile, outputDirectory);
+    DelphiTokensGenerator generator =
+        new DelphiTokensGenerator(tokensFile, outputDirectory, createNodeKindConfig());
     try {
       generator.generate();
     } catch (Exception e) {
@@ -63,4 +89,17 @@ public class DelphiTokensGeneratorMojo extends AbstractMojo {
     }
     project.addCompileSourceRoot(outputDirectory.getPath());
   }
+
+  private NodeKindConfig createNodeKindConfig() throws MojoFailureException {
+    if (nodesDirectory == null) {
+      return null;
+    }
+
+    if (nodesPackage == null || nodeInterface == null || nodeVisitor == null) {
+      throw new MojoFailureException(
+          "nodesPackage, nodeInterface and nodeVisitor must be set when nodesDirectory is set");
+    }
+
+    return new NodeKindConfig(nodesDirectory, nodesPackage, nodeInterface, nodeVisitor);
+  }
 }
@@ -20,6 +20,7 @@ package au.com.integradev.delphi;
 
 import static org.assertj.core.api.Assertions.*;
 
+import au.com.integradev.delphi.DelphiTokensGenerator.NodeKindConfig;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -58,7 +59,7 @@ class DelphiTokensGeneratorTest {
                 + "  }\n"
                 + "\n"
                 + "  public static DelphiTokenType createTokenType(int value) {\n"
-                + "    switch(value) {\n"
+                + "    switch (value) {\n"
                 + "      case -1:\n"
                 + "        return DelphiTokenType.EOF;\n"
                 + "      case 0:\n"
@@ -75,7 +76,7 @@ class DelphiTokensGeneratorTest {
                 + "  }\n"
                 + "\n"
                 + "  public static int getValueFromTokenType(DelphiTokenType tokenType) {\n"
-                + "    switch(tokenType) {\n"
+                + "    switch (tokenType) {\n"
                 + "      case EOF:\n"
                 + "        return -1;\n"
                 + "      case INVALID:\n"
@@ -129,7 +130,7 @@ class DelphiTokensGeneratorTest {
                 + "  }\n"
                 + "\n"
                 + "  public static DelphiTokenType createTokenType(int value) {\n"
-                + "    switch(value) {\n"
+                + "    switch (value) {\n"
                 + "      case -1:\n"
                 + "        return DelphiTokenType.EOF;\n"
                 + "      case 0:\n"
@@ -144,7 +145,7 @@ class DelphiTokensGeneratorTest {
                 + "  }\n"
                 + "\n"
                 + "  public static int getValueFromTokenType(DelphiTokenType tokenType) {\n"
-                + "    switch(tokenType) {\n"
+                + "    switch (tokenType) {\n"
                 + "      case EOF:\n"
                 + "        return -1;\n"
                 + "      case INVALID:\n"
@@ -198,7 +199,7 @@ class DelphiTokensGeneratorTest {
                 + "  }\n"
                 + "\n"
                 + "  public static DelphiTokenType createTokenType(int value) {\n"
-                + "    switch(value) {\n"
+                + "    switch (value) {\n"
                 + "      case -1:\n"
                 + "        return DelphiTokenType.EOF;\n"
                 + "      case 0:\n"
@@ -213,7 +214,7 @@ class DelphiTokensGeneratorTest {
                 + "  }\n"
                 + "\n"
                 + "  public static int getValueFromTokenType(DelphiTokenType tokenType) {\n"
-                + "    switch(tokenType) {\n"
+                + "    switch (tokenType) {\n"
                 + "      case EOF:\n"
                 + "        return -1;\n"
                 + "      case INVALID:\n"
@@ -244,6 +245,93 @@ class DelphiTokensGeneratorTest {
                 + "}\n");
   }
 
+  @Test
+  void testNodeKinds(@TempDir Path root) throws IOException {
+    Path nodesDirectory = Files.createDirectories(root.resolve("nodes"));
+    Files.writeString(
+        nodesDirectory.resolve("FooBarNodeImpl.java"),
+        "public final class FooBarNodeImpl extends DelphiNodeImpl {}");
+    Files.writeString(
+        nodesDirectory.resolve("BazNodeImpl.java"),
+        "@SuppressWarnings(\"unused\")\n"
+            + "public abstract class BazNodeImpl extends DelphiNodeImpl {}");
+    Files.writeString(
+        nodesDirectory.resolve("QuxNodeImpl.java"),
+        "/** Not an abstract class. */\n"
+            + "public final class QuxNodeImpl extends BazNodeImpl {\n"
+            + "  // abstract class QuxNodeImpl\n"
+            + "  String text = \"abstract class QuxNodeImpl\";\n"
+            + "}");
+    Files.writeString(
+        nodesDirectory.resolve("MutableDelphiNode.java"), "public interface MutableDelphiNode {}");
+
+    generateNodeKind(root, nodesDirectory);
+
+    assertThat(getNodeKind(root))
+        .isEqualTo(
+            "package au.com.integradev.delphi.antlr.ast.node;\n"
+                + "\n"
+                + "import au.com.integradev.delphi.antlr.ast.visitors.DelphiParserVisitor;\n"
+                + "import javax.annotation.processing.Generated;\n"
+                + "import org.sonar.plugins.communitydelphi.api.ast.DelphiNode;\n"
+                + "\n"
+                + "@Generated(\"au.com.integradev.delphi.DelphiTokensGenerator\")\n"
+                + "public enum NodeKind {\n"
+                + "  FOO_BAR(FooBarNodeImpl.class),\n"
+                + "  QUX(QuxNodeImpl.class),\n"
+                + "  OTHER(null);\n"
+                + "\n"
+                + "  private static final ClassValue<NodeKind> KINDS =\n"
+                + "      new ClassValue<>() {\n"
+                + "        @Override\n"
+                + "        protected NodeKind computeValue(Class<?> type) {\n"
+                + "          for (NodeKind kind : values()) {\n"
+                + "            if (kind.nodeType == type) {\n"
+                + "              return kind;\n"
+                + "            }\n"
+                + "          }\n"
+                + "          return OTHER;\n"
+                + "        }\n"
+                + "      };\n"
+                + "\n"
+                + "  private final Class<? extends DelphiNode> nodeType;\n"
+                + "\n"
+                + "  NodeKind(Class<? extends DelphiNode> nodeType) {\n"
+                + "    this.nodeType = nodeType;\n"
+                + "  }\n"
+                + "\n"
+                + "  public static NodeKind of(DelphiNode node) {\n"
+                + "    return KINDS.get(node.getClass());\n"
+                + "  }\n"
+                + "\n"
+                + "  public static <T> T dispatch(\n"
+                + "      DelphiParserVisitor<T> visitor, DelphiNode node, T data) {\n"
+                + "    switch (of(node)) {\n"
+                + "      case FOO_BAR:\n"
+                + "        return visitor.visit((FooBarNodeImpl) node, data);\n"
+                + "      case QUX:\n"
+                + "        return visitor.visit((QuxNodeImpl) node, data);\n"
+                + "      default:\n"
+                + "        return node.accept(visitor, data);\n"
+                + "    }\n"
+                + "  }\n"
+                + "}\n");
+  }
+
+  @Test
+  void testNodesDirectoryDoesNotExist(@TempDir Path root) throws IOException {
+    File tokensFile = Files.createFile(root.resolve("Delphi.tokens")).toFile();
+    File nodesDirectory = root.resolve("nodes").toFile();
+    File outputDirectory = root.resolve("out").toFile();
+
+    NodeKindConfig nodeKindConfig = createNodeKindConfig(nodesDirectory);
+
+    DelphiTokensGenerator generator =
+        new DelphiTokensGenerator(tokensFile, outputDirectory, nodeKindConfig);
+
+    assertThatThrownBy(generator::generate).isExactlyInstanceOf(FileNotFoundException.class);
+  }
+
   @Test
   void testTokensFileDoesNotExist(@TempDir Path root) {
     File tokensFile = root.resolve("Delphi.tokens").toFile();
@@ -279,6 +367,22 @@ class DelphiTokensGeneratorTest {
     }
   }
 
+  private static void generateNodeKind(Path root, Path nodesDirectory) throws IOException {
+    File tokensFile = root.resolve("Delphi.tokens").toFile();
+    FileUtils.writeStringToFile(tokensFile, "FOO=4\n", StandardCharsets.UTF_8);
+    new DelphiTokensGenerator(
+            tokensFile, root.resolve("out").toFile(), createNodeKindConfig(nodesDirectory.toFile()))
+        .generate();
+  }
+
+  private static NodeKindConfig createNodeKindConfig(File nodesDirectory) {
+    return new NodeKindConfig(
+        nodesDirectory,
+        "au.com.integradev.delphi.antlr.ast.node",
+        "org.sonar.plugins.communitydelphi.api.ast.DelphiNode",
+        "au.com.integradev.delphi.antlr.ast.visitors.DelphiParserVisitor");
+  }
+
   private static String getTokenFactory(Path root) {
     try {
       return Files.readString(
@@ -296,4 +400,13 @@ class DelphiTokensGeneratorTest {
       throw new UncheckedIOException(e);
     }
   }
+
+  private static String getNodeKind(Path root) {
+    try {
+      return Files.readString(
+          root.resolve("out/au/com/integradev/delphi/antlr/ast/node/NodeKind.java"));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
 }
@@ -0,0 +1,58 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requests that alias type classes are generated at compile time for each of the listed type
+ * interfaces.
+ *
+ * <p>For every interface, a final class extending {@link #base()} and implementing the interface is
+ * generated in the package of the annotated type. Every abstract method that isn't implemented by
+ * the base class is delegated to {@code aliasedType()}.
+ *
+ * <p>An {@code AliasTypeFactories} class is also generated, which maps each interface to a factory
+ * for its alias type. Its entries are ordered the same way as {@link #value()}.
+ *
+ * @see TypeAliasProcessor
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateAliasTypes {
+  /**
+   * The abstract base class of the generated alias types.
+   *
+   * <p>It must declare a single type parameter for the aliased type, and a {@code (String, T,
+   * boolean)} constructor accepting the alias image, aliased type and alias strength.
+   *
+   * @return alias type base class
+   */
+  Class<?> base();
+
+  /**
+   * The type interfaces to generate alias types for, in order of precedence.
+   *
+   * @return type interfaces
+   */
+  Class<?>[] value();
+}
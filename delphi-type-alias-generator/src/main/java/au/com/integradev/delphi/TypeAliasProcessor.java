@@ -0,0 +1,324 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.IntersectionType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates alias type classes for the type interfaces listed in {@link GenerateAliasTypes}.
+ *
+ * <p>This replaces generating the alias classes at runtime, so that creating an alias type is a
+ * plain constructor call dispatched through a precomputed factory table.
+ */
+@SupportedAnnotationTypes("au.com.integradev.delphi.GenerateAliasTypes")
+public class TypeAliasProcessor extends AbstractProcessor {
+  static final String FACTORIES_CLASS_NAME = "AliasTypeFactories";
+  private static final String ALIAS_CLASS_SUFFIX = "AliasImpl";
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (Element element : roundEnv.getElementsAnnotatedWith(GenerateAliasTypes.class)) {
+      try {
+        generate((TypeElement) element);
+      } catch (IOException | IllegalArgumentException e) {
+        String message = "Failed to generate alias types: " + e.getMessage();
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+      }
+    }
+    return false;
+  }
+
+  private void generate(TypeElement annotated) throws IOException {
+    AnnotationMirror annotation = findAnnotation(annotated);
+    TypeElement base = asTypeElement(getValue(annotation, "base").getValue());
+
+    if (base.getTypeParameters().size() != 1) {
+      throw new IllegalArgumentException(base + " must declare exactly one type parameter");
+    }
+
+    TypeMirror rootType = base.getTypeParameters().get(0).getBounds().get(0);
+    String packageName =
+        processingEnv.getElementUtils().getPackageOf(annotated).getQualifiedName().toString();
+    Set<String> implemented = implementedSignatures(base);
+
+    Map<TypeElement, String> classNames = new LinkedHashMap<>();
+    for (Object value : (List<?>) getValue(annotation, "value").getValue()) {
+      TypeElement typeInterface = asTypeElement(((AnnotationValue) value).getValue());
+      String className = typeInterface.getSimpleName() + ALIAS_CLASS_SUFFIX;
+      writeAliasClass(annotated, packageName, className, base, typeInterface, implemented);
+      classNames.put(typeInterface, className);
+    }
+
+    writeFactories(annotated, packageName, base, rootType, classNames);
+  }
+
+  private static AnnotationMirror findAnnotation(TypeElement annotated) {
+    String name = GenerateAliasTypes.class.getCanonicalName();
+    for (AnnotationMirror mirror : annotated.getAnnotationMirrors()) {
+      TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+      if (type.getQualifiedName().contentEquals(name)) {
+        return mirror;
+      }
+    }
+    throw new IllegalArgumentException("Missing @" + name + " on " + annotated);
+  }
+
+  private static AnnotationValue getValue(AnnotationMirror mirror, String name) {
+    for (var entry : mirror.getElementValues().entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(name)) {
+        return entry.getValue();
+      }
+    }
+    throw new IllegalArgumentException("Missing annotation value: " + name);
+  }
+
+  private static TypeElement asTypeElement(Object value) {
+    if (!(value instanceof DeclaredType)) {
+      throw new IllegalArgumentException("Expected a class literal but found: " + value);
+    }
+    return (TypeElement) ((DeclaredType) value).asElement();
+  }
+
+  private Set<String> implementedSignatures(TypeElement base) {
+    Set<String> result = new HashSet<>();
+    for (ExecutableElement method : allMethods(base)) {
+      if (!method.getModifiers().contains(Modifier.ABSTRACT)) {
+        result.add(signature(method));
+      }
+    }
+    return result;
+  }
+
+  private List<ExecutableElement> allMethods(TypeElement type) {
+    return ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+  }
+
+  private String signature(ExecutableElement method) {
+    return method.getSimpleName()
+        + method.getParameters().stream()
+            .map(parameter -> processingEnv.getTypeUtils().erasure(parameter.asType()).toString())
+            .collect(Collectors.joining(",", "(", ")"));
+  }
+
+  private List<ExecutableElement> delegatedMethods(
+      TypeElement typeInterface, Set<String> implemented) {
+    Map<String, ExecutableElement> result = new LinkedHashMap<>();
+    for (ExecutableElement method : allMethods(typeInterface)) {
+      String signature = signature(method);
+      if (method.getModifiers().contains(Modifier.ABSTRACT) && !implemented.contains(signature)) {
+        result.putIfAbsent(signature, method);
+      }
+    }
+    return new ArrayList<>(result.values());
+  }
+
+  private void writeAliasClass(
+      TypeElement annotated,
+      String packageName,
+      String className,
+      TypeElement base,
+      TypeElement typeInterface,
+      Set<String> implemented)
+      throws IOException {
+    String interfaceName = typeInterface.getQualifiedName().toString();
+    DeclaredType interfaceType = (DeclaredType) typeInterface.asType();
+
+    try (PrintWriter out = createSourceFile(annotated, packageName, className)) {
+      writeHeader(out, packageName);
+      out.println("final class " + className);
+      out.println("    extends " + base.getQualifiedName() + "<" + interfaceName + ">");
+      out.println("    implements " + interfaceName + " {");
+      out.println(
+          "  "
+              + className
+              + "(java.lang.String aliasImage, "
+              + interfaceName
+              + " aliasedType, boolean strong) {");
+      out.println("    super(aliasImage, aliasedType, strong);");
+      out.println("  }");
+
+      for (ExecutableElement method : delegatedMethods(typeInterface, implemented)) {
+        ExecutableType executable =
+            (ExecutableType) processingEnv.getTypeUtils().asMemberOf(interfaceType, method);
+        writeDelegatingMethod(out, method, executable);
+      }
+
+      out.println("}");
+    }
+  }
+
+  private static void writeDelegatingMethod(
+      PrintWriter out, ExecutableElement method, ExecutableType executable) {
+    List<? extends VariableElement> parameters = method.getParameters();
+    List<? extends TypeMirror> parameterTypes = executable.getParameterTypes();
+
+    List<String> declarations = new ArrayList<>();
+    List<String> arguments = new ArrayList<>();
+    for (int i = 0; i < parameters.size(); ++i) {
+      String name = parameters.get(i).getSimpleName().toString();
+      declarations.add(parameterTypes.get(i) + " " + name);
+      arguments.add(name);
+    }
+
+    TypeMirror returnType = executable.getReturnType();
+    String call =
+        "aliasedType()." + method.getSimpleName() + "(" + String.join(", ", arguments) + ");";
+
+    out.println();
+    out.println("  @Override");
+    out.println(
+        "  public "
+            + typeParameters(executable)
+            + returnType
+            + " "
+            + method.getSimpleName()
+            + "("
+            + String.join(", ", declarations)
+            + ") {");
+    out.println("    " + (returnType.getKind() == TypeKind.VOID ? "" : "return ") + call);
+    out.println("  }");
+  }
+
+  private static String typeParameters(ExecutableType executable) {
+    List<? extends TypeVariable> typeVariables = executable.getTypeVariables();
+    if (typeVariables.isEmpty()) {
+      return "";
+    }
+    return typeVariables.stream()
+        .map(TypeAliasProcessor::typeParameter)
+        .collect(Collectors.joining(", ", "<", "> "));
+  }
+
+  private static String typeParameter(TypeVariable typeVariable) {
+    TypeMirror upperBound = typeVariable.getUpperBound();
+    List<? extends TypeMirror> bounds =
+        upperBound.getKind() == TypeKind.INTERSECTION
+            ? ((IntersectionType) upperBound).getBounds()
+            : List.of(upperBound);
+
+    String name = typeVariable.asElement().getSimpleName().toString();
+    if (bounds.size() == 1 && bounds.get(0).toString().equals("java.lang.Object")) {
+      return name;
+    }
+    return name
+        + " extends "
+        + bounds.stream().map(TypeMirror::toString).collect(Collectors.joining(" & "));
+  }
+
+  private void writeFactories(
+      TypeElement annotated,
+      String packageName,
+      TypeElement base,
+      TypeMirror rootType,
+      Map<TypeElement, String> classNames)
+      throws IOException {
+    String mapType = "java.util.Map<java.lang.Class<? extends " + rootType + ">, Factory>";
+
+    try (PrintWriter out = createSourceFile(annotated, packageName, FACTORIES_CLASS_NAME)) {
+      writeHeader(out, packageName);
+      out.println("final class " + FACTORIES_CLASS_NAME + " {");
+      out.println("  @FunctionalInterface");
+      out.println("  interface Factory {");
+      out.println(
+          "    "
+              + base.getQualifiedName()
+              + "<?> create(java.lang.String aliasImage, "
+              + rootType
+              + " aliased, boolean strong);");
+      out.println("  }");
+      out.println();
+      out.println("  static final " + mapType + " FACTORIES = createFactories();");
+      out.println();
+      out.println("  private " + FACTORIES_CLASS_NAME + "() {");
+      out.println("    // utility class");
+      out.println("  }");
+      out.println();
+      out.println("  private static " + mapType + " createFactories() {");
+      out.println("    " + mapType + " result = new java.util.LinkedHashMap<>();");
+
+      for (var entry : classNames.entrySet()) {
+        String interfaceName = entry.getKey().getQualifiedName().toString();
+        out.println("    result.put(");
+        out.println("        " + interfaceName + ".class,");
+        out.println("        (aliasImage, aliased, strong) ->");
+        out.println(
+            "            new "
+                + entry.getValue()
+                + "(aliasImage, ("
+                + interfaceName
+                + ") aliased, strong));");
+      }
+
+      out.println("    return java.util.Collections.unmodifiableMap(result);");
+      out.println("  }");
+      out.println("}");
+    }
+  }
+
+  private PrintWriter createSourceFile(TypeElement annotated, String packageName, String className)
+      throws IOException {
+    String qualifiedName = packageName.isEmpty() ? className : (packageName + "." + className);
+    Writer writer =
+        processingEnv.getFiler().createSourceFile(qualifiedName, annotated).openWriter();
+    return new PrintWriter(writer);
+  }
+
+  private static void writeHeader(PrintWriter out, String packageName) {
+    if (!packageName.isEmpty()) {
+      out.println("package " + packageName + ";");
+      out.println();
+    }
+    out.println("import javax.annotation.processing.Generated;");
+    out.println();
+    out.println("@Generated(\"" + TypeAliasProcessor.class.getName() + "\")");
+  }
+}
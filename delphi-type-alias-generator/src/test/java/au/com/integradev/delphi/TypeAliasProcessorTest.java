@@ -0,0 +1,145 @@
+/*
+ * Sonar Delphi Plugin
+ * Copyright (C) 2024 Integrated Application Development
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package au.com.integradev.delphi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TypeAliasProcessorTest {
+  @Test
+  void testAliasClassesShouldDelegateUnimplementedMethods(@TempDir Path tempDir)
+      throws IOException {
+    compile(tempDir);
+
+    assertThat(readGenerated(tempDir, "FooTypeAliasImpl"))
+        .contains("@Generated(\"au.com.integradev.delphi.TypeAliasProcessor\")")
+        .contains("final class FooTypeAliasImpl")
+        .contains("extends test.AliasBase<test.Type.FooType>")
+        .contains("implements test.Type.FooType")
+        .contains("return aliasedType().foo();")
+        .contains("return aliasedType().size();")
+        .contains("aliasedType().bar(value, names);")
+        .contains("public <E extends java.lang.Comparable<E>> E first(java.util.List<E> values)")
+        .contains("return aliasedType().first(values);")
+        .contains(
+            "public <K, V extends java.lang.CharSequence & java.lang.Comparable<V>> V get(K key)")
+        .doesNotContain("aliasedType().getImage()")
+        .doesNotContain("aliasedType().isDefault()");
+  }
+
+  @Test
+  void testFactoriesShouldBeGeneratedInDeclarationOrder(@TempDir Path tempDir) throws IOException {
+    compile(tempDir);
+
+    String factories = readGenerated(tempDir, TypeAliasProcessor.FACTORIES_CLASS_NAME);
+    assertThat(factories)
+        .contains("test.AliasBase<?> create(java.lang.String aliasImage, test.Type aliased,")
+        .contains("new FooTypeAliasImpl(aliasImage, (test.Type.FooType) aliased, strong)")
+        .contains("new BarTypeAliasImpl(aliasImage, (test.Type.BarType) aliased, strong)");
+    assertThat(factories.indexOf("test.Type.BarType.class"))
+        .isLessThan(factories.indexOf("test.Type.FooType.class"));
+  }
+
+  private static void compile(Path tempDir) throws IOException {
+    Path sources = Files.createDirectories(tempDir.resolve("src/test"));
+    Files.createDirectories(tempDir.resolve("classes"));
+    Files.createDirectories(tempDir.resolve("generated"));
+
+    write(
+        sources.resolve("Type.java"),
+        "package test;\n"
+            + "public interface Type {\n"
+            + "  String getImage();\n"
+            + "  int size();\n"
+            + "  default boolean isDefault() { return false; }\n"
+            + "  interface FooType extends Type {\n"
+            + "    String foo();\n"
+            + "    void bar(int value, java.util.List<String> names);\n"
+            + "    <E extends Comparable<E>> E first(java.util.List<E> values);\n"
+            + "    <K, V extends CharSequence & Comparable<V>> V get(K key);\n"
+            + "  }\n"
+            + "  interface BarType extends Type {}\n"
+            + "}\n");
+    write(
+        sources.resolve("AliasBase.java"),
+        "package test;\n"
+            + "public abstract class AliasBase<T extends Type> implements Type {\n"
+            + "  private final String aliasImage;\n"
+            + "  private final T aliasedType;\n"
+            + "  protected AliasBase(String aliasImage, T aliasedType, boolean strong) {\n"
+            + "    this.aliasImage = aliasImage;\n"
+            + "    this.aliasedType = aliasedType;\n"
+            + "  }\n"
+            + "  public T aliasedType() { return aliasedType; }\n"
+            + "  @Override public String getImage() { return aliasImage; }\n"
+            + "}\n");
+    write(
+        sources.resolve("Generator.java"),
+        "package test;\n"
+            + "@au.com.integradev.delphi.GenerateAliasTypes(\n"
+            + "    base = AliasBase.class,\n"
+            + "    value = {Type.BarType.class, Type.FooType.class})\n"
+            + "final class Generator {}\n");
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    StringWriter output = new StringWriter();
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+      Iterable<? extends JavaFileObject> units =
+          fileManager.getJavaFileObjects(
+              sources.resolve("Type.java"),
+              sources.resolve("AliasBase.java"),
+              sources.resolve("Generator.java"));
+      List<String> options =
+          List.of(
+              "-classpath",
+              System.getProperty("java.class.path"),
+              "-processor",
+              TypeAliasProcessor.class.getName(),
+              "-d",
+              tempDir.resolve("classes").toString(),
+              "-s",
+              tempDir.resolve("generated").toString());
+
+      boolean success = compiler.getTask(output, fileManager, null, options, null, units).call();
+      assertThat(success).as(output.toString()).isTrue();
+    }
+  }
+
+  private static void write(Path path, String content) throws IOException {
+    Files.writeString(path, content, StandardCharsets.UTF_8);
+  }
+
+  private static String readGenerated(Path tempDir, String className) throws IOException {
+    return Files.readString(
+        tempDir.resolve("generated/test/" + className + ".java"), StandardCharsets.UTF_8);
+  }
+}
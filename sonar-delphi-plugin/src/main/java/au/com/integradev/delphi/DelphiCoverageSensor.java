@@ -22,11 +22,15 @@ import au.com.integradev.delphi.core.Delphi;
 import au.com.integradev.delphi.coverage.DelphiCoverageParser;
 import au.com.integradev.delphi.coverage.DelphiCoverageParserFactory;
 import au.com.integradev.delphi.msbuild.DelphiProjectHelper;
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import org.slf4j.Logger;
@@ -79,19 +83,38 @@ public class DelphiCoverageSensor implements Sensor {
       LOG.info(
           "No coverage reports specified (see '{}' property)",
           DelphiProperties.COVERAGE_REPORT_KEY);
+      return;
+    }
+
+    List<File> reports =
+        Arrays.stream(paths)
+            .map(DelphiCoverageSensor::findReports)
+            .flatMap(List::stream)
+            .collect(Collectors.toList());
+
+    boolean parallel =
+        context
+            .config()
+            .getBoolean(DelphiProperties.COVERAGE_PARALLEL_KEY)
+            .orElse(DelphiProperties.COVERAGE_PARALLEL_DEFAULT);
+
+    if (parallel && reports.size() > 1) {
+      LOG.info("Parsing {} coverage reports in parallel.", reports.size());
+      reports.parallelStream().forEach(file -> parser.parse(context, file));
     } else {
-      Arrays.stream(paths).forEach(path -> addCoverage(context, path, parser));
+      reports.forEach(file -> parser.parse(context, file));
     }
   }
 
-  private static void addCoverage(SensorContext context, String path, DelphiCoverageParser parser) {
+  private static List<File> findReports(String path) {
     try (Stream<Path> coverageReportStream = Files.walk(Path.of(path))) {
-      coverageReportStream
+      return coverageReportStream
           .filter(Files::isRegularFile)
           .map(Path::toFile)
-          .forEach(file -> parser.parse(context, file));
+          .collect(Collectors.toList());
     } catch (IOException | InvalidPathException e) {
-      LOG.error("Error while parsing coverage reports:", e);
+      LOG.error("Error while searching for coverage reports:", e);
+      return Collections.emptyList();
     }
   }
 
@@ -1,25 +1,73 @@
 package au.com.integradev.delphi;
 
 import au.com.integradev.delphi.core.Delphi;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.InputFileFilter;
 import org.sonar.api.config.Configuration;
 import org.sonar.api.utils.WildcardPattern;
 
 public class DelphiExclusionsFileFilter implements InputFileFilter {
-  private final Configuration settings;
+  private final List<ExclusionPattern> exclusions;
 
   public DelphiExclusionsFileFilter(Configuration settings) {
-    this.settings = settings;
+    this.exclusions =
+        Arrays.stream(settings.getStringArray(DelphiProperties.EXCLUSIONS_KEY))
+            .distinct()
+            .map(ExclusionPattern::new)
+            .collect(Collectors.toUnmodifiableList());
   }
 
   @Override
   public boolean accept(InputFile inputFile) {
-    if (!Delphi.KEY.equals(inputFile.language())) {
+    if (!Delphi.KEY.equals(inputFile.language()) || exclusions.isEmpty()) {
       return true;
     }
-    String[] excludedPatterns = this.settings.getStringArray(DelphiProperties.EXCLUSIONS_KEY);
     String relativePath = inputFile.uri().toString();
-    return !WildcardPattern.match(WildcardPattern.create(excludedPatterns), relativePath);
+    for (ExclusionPattern exclusion : exclusions) {
+      if (exclusion.match(relativePath)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * A compiled exclusion pattern, along with the longest run of literal characters that any
+   * matching path must contain. Checking for the literal first means that the pattern only needs to
+   * be evaluated against paths that could plausibly match it.
+   */
+  private static final class ExclusionPattern {
+    private final WildcardPattern pattern;
+    private final String literal;
+
+    private ExclusionPattern(String pattern) {
+      this.pattern = WildcardPattern.create(pattern);
+      this.literal = longestLiteral(pattern);
+    }
+
+    private boolean match(String path) {
+      return path.contains(literal) && pattern.match(path);
+    }
+
+    private static String longestLiteral(String pattern) {
+      String longest = "";
+      int start = 0;
+      for (int i = 0; i <= pattern.length(); ++i) {
+        if (i == pattern.length() || isWildcardOrSeparator(pattern.charAt(i))) {
+          if (i - start > longest.length()) {
+            longest = pattern.substring(start, i);
+          }
+          start = i + 1;
+        }
+      }
+      return longest;
+    }
+
+    private static boolean isWildcardOrSeparator(char c) {
+      return c == '*' || c == '?' || c == '/' || c == '\\';
+    }
   }
 }
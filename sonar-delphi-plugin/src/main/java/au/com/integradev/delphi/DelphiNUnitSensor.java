@@ -66,21 +66,26 @@ public class DelphiNUnitSensor implements Sensor {
       return;
     }
 
+    boolean parallel =
+        configuration
+            .getBoolean(DelphiProperties.NUNIT_PARALLEL_KEY)
+            .orElse(DelphiProperties.NUNIT_PARALLEL_DEFAULT);
+
     String mainPath = context.fileSystem().baseDir().getAbsolutePath();
     Arrays.stream(paths)
         .map(path -> DelphiUtils.resolveAbsolutePath(mainPath, path))
         .forEach(
             reportDir -> {
               if (reportDir.exists()) {
-                collect(context, reportDir);
+                collect(context, reportDir, parallel);
               } else {
                 LOG.warn("Report path not found {}", reportDir.getAbsolutePath());
               }
             });
   }
 
-  private static void collect(SensorContext context, File reportsDir) {
-    save(context, DelphiNUnitParser.collect(reportsDir));
+  private static void collect(SensorContext context, File reportsDir, boolean parallel) {
+    save(context, DelphiNUnitParser.collect(reportsDir, parallel));
   }
 
   private static void save(SensorContext context, ResultsAggregator results) {
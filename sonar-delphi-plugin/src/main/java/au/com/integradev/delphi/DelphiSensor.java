@@ -39,8 +39,10 @@ import au.com.integradev.delphi.preprocessor.DelphiPreprocessorFactory;
 import au.com.integradev.delphi.preprocessor.search.SearchPath;
 import au.com.integradev.delphi.symbol.SymbolTable;
 import au.com.integradev.delphi.type.factory.TypeFactoryImpl;
+import au.com.integradev.delphi.type.generic.SpecializationCache;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -95,7 +97,8 @@ public class DelphiSensor implements Sensor {
     LOG.info("Conditional defines: {}", delphiProjectHelper.getConditionalDefines());
 
     var preprocessorFactory = new DelphiPreprocessorFactory(toolchain.platform);
-    var typeFactory = new TypeFactoryImpl(toolchain, compilerVersion);
+    var specializationCache = new SpecializationCache(delphiProjectHelper.isLazyTypeScopes());
+    var typeFactory = new TypeFactoryImpl(toolchain, compilerVersion, specializationCache);
     Iterable<InputFile> inputFiles = delphiProjectHelper.inputFiles();
     List<Path> sourceFiles = inputFilesToPaths(inputFiles);
     List<Path> referencedFiles = delphiProjectHelper.getReferencedFiles();
@@ -131,7 +134,12 @@ public class DelphiSensor implements Sensor {
             preprocessorFactory,
             typeFactory,
             searchPath,
-            delphiProjectHelper.getConditionalDefines());
+            delphiProjectHelper.getConditionalDefines(),
+            false,
+            false,
+            Collections.emptySet(),
+            delphiProjectHelper.isParserProfiling(),
+            false);
 
     boolean success = false;
 
@@ -150,6 +158,8 @@ public class DelphiSensor implements Sensor {
       success = true;
     } finally {
       stopProgressReport(progressReport, success);
+      LOG.debug("Generic specializations: {}", specializationCache);
+      LOG.debug("Invocation resolutions: {}", typeFactory.getInvocationResolutionCache());
     }
   }
 
@@ -110,4 +110,19 @@ class DelphiCoverageSensorTest {
     verify(coverageParser, times(1))
         .parse(any(), eq(DelphiUtils.getResource(COVERAGE_REPORT_PATH + "/Report.xml")));
   }
+
+  @Test
+  void testWhenParallelIsEnabledEveryReportIsParsed() {
+    context
+        .settings()
+        .setProperty(
+            DelphiProperties.COVERAGE_REPORT_KEY,
+            DelphiUtils.getResource(COVERAGE_REPORT_PATH).toString())
+        .setProperty(DelphiProperties.COVERAGE_PARALLEL_KEY, true);
+
+    sensor.execute(context);
+
+    verify(coverageParser, times(1))
+        .parse(any(), eq(DelphiUtils.getResource(COVERAGE_REPORT_PATH + "/Report.xml")));
+  }
 }
@@ -92,6 +92,22 @@ class DelphiExclusionsFileFilterTest {
     assertThat(filter.accept(inputFile("__recovery/file.pas"))).isFalse();
   }
 
+  @Test
+  void testShouldExcludeUsingAnyOfSeveralPatterns() {
+    MapSettings settings = new MapSettings();
+    settings.setProperty(DelphiProperties.EXCLUSIONS_KEY, "**/foo/**,**/ba?z/**,**/Generated*.pas");
+    InputFileFilter filter = new DelphiExclusionsFileFilter(settings.asConfig());
+
+    assertThat(filter.accept(inputFile("file.pas"))).isTrue();
+    assertThat(filter.accept(inputFile("foo/file.pas"))).isFalse();
+    assertThat(filter.accept(inputFile("barz/file.pas"))).isFalse();
+    assertThat(filter.accept(inputFile("bz/file.pas"))).isTrue();
+    assertThat(filter.accept(inputFile("bayz/file.pas"))).isFalse();
+    assertThat(filter.accept(inputFile("baz/file.pas"))).isTrue();
+    assertThat(filter.accept(inputFile("GeneratedFile.pas"))).isFalse();
+    assertThat(filter.accept(inputFile("generated/File.pas"))).isTrue();
+  }
+
   private static InputFile inputFile(String file) {
     return new TestInputFileBuilder("test", "test/" + file).setLanguage(Delphi.KEY).build();
   }